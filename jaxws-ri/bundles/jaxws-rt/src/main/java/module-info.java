@@ -26,6 +26,7 @@ module com.sun.xml.ws {
     requires java.desktop;
     requires java.logging;
     requires java.management;
+    requires java.net.http;
     requires transitive java.xml;
     requires jdk.httpserver;
     requires jdk.unsupported;
@@ -37,6 +38,7 @@ module com.sun.xml.ws {
     requires transitive jakarta.xml.soap;
     requires transitive jakarta.xml.ws;
     requires static jakarta.servlet;
+    requires static com.sun.xml.messaging.saaj;
 
     requires org.jvnet.mimepull;
     requires transitive org.jvnet.staxex;
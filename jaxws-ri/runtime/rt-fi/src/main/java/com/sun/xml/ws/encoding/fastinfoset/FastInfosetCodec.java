@@ -21,6 +21,8 @@ import com.sun.xml.ws.api.pipe.Codec;
 import com.sun.xml.ws.api.pipe.ContentType;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.encoding.ContentTypeImpl;
+import com.sun.xml.ws.util.ChannelInputStream;
+import com.sun.xml.ws.util.ChannelOutputStream;
 import java.io.BufferedInputStream;
 
 import javax.xml.stream.XMLStreamException;
@@ -92,8 +94,11 @@ public class FastInfosetCodec implements Codec {
     
     @Override
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        try (ChannelOutputStream out = new ChannelOutputStream(buffer)) {
+            return encode(packet, out);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
     
     @Override
@@ -114,7 +119,11 @@ public class FastInfosetCodec implements Codec {
     
     @Override
     public void decode(ReadableByteChannel in, String contentType, Packet response) {
-        throw new UnsupportedOperationException();
+        try {
+            decode(new ChannelInputStream(in), contentType, response);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
     
     private XMLStreamWriter getXMLStreamWriter(OutputStream out) {
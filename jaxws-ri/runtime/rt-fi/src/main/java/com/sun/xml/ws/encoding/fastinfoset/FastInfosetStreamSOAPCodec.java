@@ -20,6 +20,8 @@ import com.sun.xml.ws.api.pipe.StreamSOAPCodec;
 import com.sun.xml.ws.message.stream.StreamHeader;
 import com.sun.xml.stream.buffer.XMLStreamBuffer;
 import com.sun.xml.ws.encoding.ContentTypeImpl;
+import com.sun.xml.ws.util.ChannelInputStream;
+import com.sun.xml.ws.util.ChannelOutputStream;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
@@ -92,8 +94,11 @@ public abstract class FastInfosetStreamSOAPCodec implements Codec {
     
     @Override
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        try (ChannelOutputStream out = new ChannelOutputStream(buffer)) {
+            return encode(packet, out);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
     
     @Override
@@ -104,7 +109,11 @@ public abstract class FastInfosetStreamSOAPCodec implements Codec {
     
     @Override
     public void decode(ReadableByteChannel in, String contentType, Packet response) {
-        throw new UnsupportedOperationException();
+        try {
+            decode(new ChannelInputStream(in), contentType, response);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
     
     protected abstract StreamHeader createHeader(XMLStreamReader reader, XMLStreamBuffer mark);
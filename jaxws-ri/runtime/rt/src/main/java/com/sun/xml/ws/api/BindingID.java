@@ -242,7 +242,7 @@ public abstract class BindingID {
             return customize(lexical,X_SOAP12_HTTP);
 
         // OK, it's none of the values JAX-WS understands.
-        for( BindingIDFactory f : ServiceFinder.find(BindingIDFactory.class) ) {
+        for( BindingIDFactory f : ServiceFinder.findCached(BindingIDFactory.class) ) {
             BindingID r = f.parse(lexical);
             if(r!=null)
                 return r;
@@ -50,7 +50,7 @@ public abstract class ServiceInterceptorFactory {
         List<ServiceInterceptor> l = new ArrayList<>();
 
         // first service look-up
-        for( ServiceInterceptorFactory f : ServiceFinder.find(ServiceInterceptorFactory.class))
+        for( ServiceInterceptorFactory f : ServiceFinder.findCached(ServiceInterceptorFactory.class))
             l.add(f.create(service));
 
         // then thread-local
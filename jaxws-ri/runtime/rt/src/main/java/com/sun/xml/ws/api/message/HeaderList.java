@@ -28,9 +28,11 @@ import javax.xml.namespace.QName;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -92,6 +94,13 @@ import java.util.Set;
  * will happen. The actual implementation of the checking is more complicated,
  * for that see {@link ClientMUTube}/{@link ServerMUTube}.
  *
+ * <h2>Lookup by name</h2>
+ * <p>
+ * Once a list holds more than a few headers, the methods that look headers up
+ * by name use an index from local names to positions instead of scanning the
+ * list. The index is built on the first such lookup after the list changed.
+ * Lookups from several threads are safe as long as the list isn't changed.
+ *
  * @see Message#getHeaders()
  */
 public class HeaderList extends ArrayList<Header> implements MessageHeaders {
@@ -115,6 +124,18 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
 
     private SOAPVersion soapVersion;
 
+    /**
+     * Lists with up to this many headers are scanned rather than indexed.
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
+    /**
+     * Index of the headers by name, lazily built, and valid as long as its
+     * {@link Index#modCount} matches {@link #modCount}. It is never changed
+     * once built, so that lookups from several threads can share it.
+     */
+    private transient volatile Index index;
+
     /**
      * Creates an empty {@link HeaderList} with the given soap version
      */
@@ -186,6 +207,13 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
         return super.get(index);
     }
 
+    @Override
+    public Header set(int index, Header header) {
+        // doesn't count as a structural modification, but may change the name at the index
+        this.index = null;
+        return super.set(index, header);
+    }
+
     /**
      * Marks the {@link Header} at the specified index as
      * <a href="#MU">"understood"</a>.
@@ -262,17 +290,74 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
      */
     @Override
     public @Nullable Header get(@NotNull String nsUri, @NotNull String localName, boolean markAsUnderstood) {
+        int i = indexOf(nsUri, localName, 0);
+        if (i < 0) {
+            return null;
+        }
+        if (markAsUnderstood) {
+            understood(i);
+        }
+        return get(i);
+    }
+
+    /**
+     * Finds the first {@link Header} of the specified name at or after the given position.
+     *
+     * @return position of the header, or -1 if not found.
+     */
+    private int indexOf(@NotNull String nsUri, @NotNull String localName, int from) {
         int len = size();
-        for (int i = 0; i < len; i++) {
-            Header h = get(i);
-            if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
-                if (markAsUnderstood) {
-                    understood(i);
+        if (len <= INDEX_THRESHOLD) {
+            for (int i = from; i < len; i++) {
+                Header h = get(i);
+                if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        Index idx = index;
+        if (idx == null || idx.modCount != modCount) {
+            // threads that race here build the same index
+            idx = new Index(this);
+            index = idx;
+        }
+        int[] positions = idx.positionsByName.get(localName);
+        if (positions != null) {
+            for (int i : positions) {
+                if (i >= from && get(i).getNamespaceURI().equals(nsUri)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Positions of the headers of a list keyed by their local names.
+     */
+    private static final class Index {
+        // in ascending order
+        final Map<String, int[]> positionsByName;
+        final int modCount;
+
+        Index(HeaderList list) {
+            Map<String, int[]> m = new HashMap<>();
+            int len = list.size();
+            for (int i = 0; i < len; i++) {
+                String localName = list.get(i).getLocalPart();
+                int[] positions = m.get(localName);
+                if (positions == null) {
+                    positions = new int[] {i};
+                } else {
+                    positions = Arrays.copyOf(positions, positions.length + 1);
+                    positions[positions.length - 1] = i;
                 }
-                return h;
+                m.put(localName, positions);
             }
+            this.positionsByName = m;
+            this.modCount = list.modCount;
         }
-        return null;
     }
 
     /**
@@ -334,12 +419,12 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
             }
 
             private void fetch() {
-                while (idx < size()) {
-                    Header h = get(idx++);
-                    if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
-                        next = h;
-                        break;
-                    }
+                int i = indexOf(nsUri, localName, idx);
+                if (i >= 0) {
+                    next = get(i);
+                    idx = i + 1;
+                } else {
+                    idx = size();
                 }
             }
 
@@ -589,14 +674,8 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
     @Nullable
     @Override
     Header remove(@NotNull String nsUri, @NotNull String localName) {
-        int len = size();
-        for (int i = 0; i < len; i++) {
-            Header h = get(i);
-            if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
-                return remove(i);
-            }
-        }
-        return null;
+        int i = indexOf(nsUri, localName, 0);
+        return i < 0 ? null : remove(i);
     }
     
     /**
@@ -612,35 +691,27 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
      */
     @Override
     public boolean addOrReplace(Header header) {
-        for (int i=0; i < size(); i++) {
-          Header hdr = get(i);
-          if (hdr.getNamespaceURI().equals(header.getNamespaceURI()) &&
-              hdr.getLocalPart().equals(header.getLocalPart())) {
+        int i = indexOf(header.getNamespaceURI(), header.getLocalPart(), 0);
+        if (i >= 0) {
             // Put the new header in the old position. Call super versions
             // internally to avoid UnsupportedOperationException
             removeInternal(i);
             addInternal(i, header);
             return true;
-          }
         }
         return add(header);
     }
     
     @Override
     public void replace(Header old, Header header) {
-        for (int i=0; i < size(); i++) {
-            Header hdr = get(i);
-            if (hdr.getNamespaceURI().equals(header.getNamespaceURI()) &&
-                hdr.getLocalPart().equals(header.getLocalPart())) {
-              // Put the new header in the old position. Call super versions
-              // internally to avoid UnsupportedOperationException
-              removeInternal(i);
-              addInternal(i, header);
-              return;
-            }
-          }
-        
-          throw new IllegalArgumentException();
+        int i = indexOf(header.getNamespaceURI(), header.getLocalPart(), 0);
+        if (i < 0) {
+            throw new IllegalArgumentException();
+        }
+        // Put the new header in the old position. Call super versions
+        // internally to avoid UnsupportedOperationException
+        removeInternal(i);
+        addInternal(i, header);
     }
 
     protected void addInternal(int index, Header header) {
@@ -836,13 +907,8 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
     
     @Override
     public boolean isUnderstood(String nsUri, String localName) {
-        for (int i = 0; i < size(); i++) {
-            Header h = get(i);
-            if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
-                return isUnderstood(i);
-            }
-        }
-        return false;
+        int i = indexOf(nsUri, localName, 0);
+        return i >= 0 && isUnderstood(i);
     }
     
     @Override
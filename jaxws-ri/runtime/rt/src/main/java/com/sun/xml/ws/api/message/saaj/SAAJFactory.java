@@ -28,6 +28,8 @@ import com.sun.xml.ws.api.message.Attachment;
 import com.sun.xml.ws.api.message.AttachmentEx;
 import com.sun.xml.ws.api.message.Message;
 import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.message.StreamingSOAP;
+import com.sun.xml.ws.message.saaj.LazySOAPBody;
 import com.sun.xml.ws.message.saaj.SAAJMessage;
 import com.sun.xml.ws.util.ServiceFinder;
 import com.sun.xml.ws.util.xml.XmlUtil;
@@ -64,7 +66,7 @@ public class SAAJFactory {
      * @see SAAJMetaFactory
      */
 	public static MessageFactory getMessageFactory(String protocol) throws SOAPException {
-		for (SAAJFactory s : ServiceFinder.find(SAAJFactory.class)) {
+		for (SAAJFactory s : ServiceFinder.findCached(SAAJFactory.class)) {
 			MessageFactory mf = s.createMessageFactory(protocol);
 			if (mf != null)
 				return mf;
@@ -92,7 +94,7 @@ public class SAAJFactory {
      * @see SAAJMetaFactory
      */
 	public static SOAPFactory getSOAPFactory(String protocol) throws SOAPException {
-		for (SAAJFactory s : ServiceFinder.find(SAAJFactory.class)) {
+		for (SAAJFactory s : ServiceFinder.findCached(SAAJFactory.class)) {
 			SOAPFactory sf = s.createSOAPFactory(protocol);
 			if (sf != null)
 				return sf;
@@ -107,7 +109,7 @@ public class SAAJFactory {
 	 * @return created Message
 	 */
 	public static Message create(SOAPMessage saaj) {
-		for (SAAJFactory s : ServiceFinder.find(SAAJFactory.class)) {
+		for (SAAJFactory s : ServiceFinder.findCached(SAAJFactory.class)) {
 			Message m = s.createMessage(saaj);
 			if (m != null)
 				return m;
@@ -124,7 +126,7 @@ public class SAAJFactory {
 	 * @throws SOAPException if SAAJ processing fails
 	 */
 	public static SOAPMessage read(SOAPVersion soapVersion, Message message) throws SOAPException {
-		for (SAAJFactory s : ServiceFinder.find(SAAJFactory.class)) {
+		for (SAAJFactory s : ServiceFinder.findCached(SAAJFactory.class)) {
 			SOAPMessage msg = s.readAsSOAPMessage(soapVersion, message);
 			if (msg != null)
 				return msg;
@@ -133,6 +135,27 @@ public class SAAJFactory {
     	return instance.readAsSOAPMessage(soapVersion, message);
 	}
 	
+	/**
+	 * Reads Message as SOAPMessage whose body is only parsed once it is accessed.
+	 * After this call message is consumed.
+	 * Only the body is deferred, the headers and the attachments of the
+	 * message are still read right away.
+	 * @param soapVersion SOAP version
+	 * @param message Message
+	 * @return Created SOAPMessage, or null if the message can't be read lazily
+	 * @throws SOAPException if SAAJ processing fails
+	 * @see #readAsLazySOAPMessage(SOAPVersion, Message)
+	 */
+	public static SOAPMessage readLazily(SOAPVersion soapVersion, Message message) throws SOAPException {
+		for (SAAJFactory s : ServiceFinder.findCached(SAAJFactory.class)) {
+			SOAPMessage msg = s.readAsLazySOAPMessage(soapVersion, message);
+			if (msg != null)
+				return msg;
+		}
+
+		return instance.readAsLazySOAPMessage(soapVersion, message);
+	}
+
 	/**
      * Reads Message as SOAPMessage.  After this call message is consumed.
      * @param soapVersion SOAP version
@@ -147,7 +170,7 @@ public class SAAJFactory {
             SOAPMessage msg = saajfac.readAsSOAPMessage(soapVersion, message, packet);
             if (msg != null) return msg;
         }
-        for (SAAJFactory s : ServiceFinder.find(SAAJFactory.class)) {
+        for (SAAJFactory s : ServiceFinder.findCached(SAAJFactory.class)) {
             SOAPMessage msg = s.readAsSOAPMessage(soapVersion, message, packet);
             if (msg != null)
                 return msg;
@@ -172,8 +195,8 @@ public class SAAJFactory {
         // in the ServiceFinder is such that find(Class) is not equivalent
         // to find (Class, null), so the ternary operator is needed.
         ServiceFinder<SAAJFactory> factories = (packet.component != null ?
-                ServiceFinder.find(SAAJFactory.class, packet.component) :
-                ServiceFinder.find(SAAJFactory.class));
+                ServiceFinder.findCached(SAAJFactory.class, packet.component) :
+                ServiceFinder.findCached(SAAJFactory.class));
         for (SAAJFactory s : factories) {
             SAAJMessage msg = s.readAsSAAJ(packet);
             if (msg != null) return msg;
@@ -273,6 +296,35 @@ public class SAAJFactory {
         return msg;
 	}
 	
+    /**
+     * Reads Message as SOAPMessage whose body is only parsed once it is accessed.
+     * After this call message is consumed, unless null is returned.
+     *
+     * The envelope and headers are read right away. The body is left in the
+     * message, and is parsed by SAAJ on first access, so that code which only
+     * looks at headers, such as most SOAP handlers, doesn't pay for a DOM of the
+     * payload. A body that is never accessed is streamed from the message when
+     * the SOAPMessage is written out through a {@link SAAJMessage}.
+     *
+     * This needs both a message that implements {@link StreamingSOAP}, and the
+     * SAAJ reference implementation.
+     * @param soapVersion SOAP version
+     * @param message Message
+     * @return Created SOAPMessage, or null if the message can't be read lazily
+     * @throws SOAPException if SAAJ processing fails
+     */
+    public SOAPMessage readAsLazySOAPMessage(final SOAPVersion soapVersion, final Message message) throws SOAPException {
+        if (!(message instanceof StreamingSOAP) || !LazySOAPBody.isSupported()) {
+            return null;
+        }
+        SOAPMessage msg = soapVersion.getMessageFactory().createMessage();
+        if (!LazySOAPBody.setContent(msg, (StreamingSOAP) message)) {
+            return null;
+        }
+        addAttachmentsToSOAPMessage(msg, message);
+        return msg;
+    }
+
     public SOAPMessage readAsSOAPMessageSax2Dom(final SOAPVersion soapVersion, final Message message) throws SOAPException {
         SOAPMessage msg = soapVersion.getMessageFactory().createMessage();
         SAX2DOMEx s2d = new SAX2DOMEx(msg.getSOAPPart());
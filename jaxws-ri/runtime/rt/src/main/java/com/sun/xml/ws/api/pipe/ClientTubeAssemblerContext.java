@@ -25,7 +25,13 @@ import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.helper.PipeAdapter;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.client.ClientResponseCacheTube;
 import com.sun.xml.ws.client.ClientSchemaValidationTube;
+import com.sun.xml.ws.client.HedgingTube;
+import com.sun.xml.ws.client.LoadBalancingTube;
+import com.sun.xml.ws.developer.HedgingFeature;
+import com.sun.xml.ws.developer.LoadBalancingFeature;
+import com.sun.xml.ws.developer.ResponseCacheFeature;
 import com.sun.xml.ws.developer.SchemaValidationFeature;
 import com.sun.xml.ws.developer.WSBindingProvider;
 import com.sun.xml.ws.handler.ClientLogicalHandlerTube;
@@ -284,6 +290,47 @@ public class ClientTubeAssemblerContext {
             return next;
     }
 
+    /**
+     * Creates a {@link Tube} that answers requests of the operations cached
+     * by {@link ResponseCacheFeature} without sending them, and sends identical
+     * requests made at the same time only once.
+     * It should be the head of the tubeline.
+     */
+    public Tube createResponseCacheTube(Tube next) {
+        ResponseCacheFeature f = binding.getFeature(ResponseCacheFeature.class);
+        if (binding instanceof SOAPBinding && f != null && f.isEnabled() && !f.getOperations().isEmpty())
+            return new ClientResponseCacheTube(rootOwner, f, binding, next);
+        else
+            return next;
+    }
+
+    /**
+     * Creates a {@link Tube} that sends requests of the idempotent operations
+     * of {@link HedgingFeature} more than once when they are slow or fail.
+     * It should be right in front of the transport tube, or of the tube
+     * created by {@link #createLoadBalancingTube(Tube)}.
+     */
+    public Tube createHedgingTube(Tube next) {
+        HedgingFeature f = binding.getFeature(HedgingFeature.class);
+        if (f != null && f.isEnabled() && !f.getOperations().isEmpty())
+            return new HedgingTube(f, container, next);
+        else
+            return next;
+    }
+
+    /**
+     * Creates a {@link Tube} that spreads requests over the endpoint addresses
+     * of {@link LoadBalancingFeature}.
+     * It should be right in front of the transport tube.
+     */
+    public Tube createLoadBalancingTube(Tube next) {
+        LoadBalancingFeature f = binding.getFeature(LoadBalancingFeature.class);
+        if (f != null && f.isEnabled())
+            return new LoadBalancingTube(f, next);
+        else
+            return next;
+    }
+
     /**
      * Creates a transport pipe (for client), which becomes the terminal pipe.
      */
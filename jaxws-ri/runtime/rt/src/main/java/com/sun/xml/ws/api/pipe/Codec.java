@@ -116,8 +116,8 @@ public interface Codec {
      * that writes to NIO {@link ByteBuffer}.
      *
      * <p>
-     * TODO: for the convenience of implementation, write
-     * an adapter that wraps {@link WritableByteChannel} to {@link OutputStream}.
+     * Implementations that work on streams can adapt the channel with
+     * {@link com.sun.xml.ws.util.ChannelOutputStream}.
      */
     ContentType encode( Packet packet, WritableByteChannel buffer );
 
@@ -14,22 +14,41 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.api.server.ContainerResolver;
+import com.sun.xml.ws.developer.VirtualThreadsFeature;
 
 /**
  * Collection of {@link Fiber}s.
  * Owns an {@link Executor} to run them.
  *
+ * <p>
+ * Unless an {@link Executor} is given, the engine lazily creates its own
+ * pool of daemon threads. An engine in the virtual threads mode instead runs
+ * its fibers on virtual threads of an executor shared by all such engines,
+ * see {@link VirtualThreadsFeature}.
+ *
  * @author Kohsuke Kawaguchi
  * @author Jitendra Kotamraju
  */
 public class Engine {
+
+    private static final Logger LOGGER = Logger.getLogger(Engine.class.getName());
+
+    /**
+     * System-wide default for the virtual threads mode, used when
+     * {@link VirtualThreadsFeature} is not set on the binding.
+     */
+    public static final boolean VIRTUAL_THREADS = Boolean.getBoolean(Engine.class.getName() + ".virtualThreads");
+
     private volatile Executor threadPool;
     public final String id;
     private final Container container;
+    private final boolean virtualThreads;
 
     String getId() { return id; }
     Container getContainer() { return container; }
@@ -40,7 +59,17 @@ public class Engine {
     }
     
     public Engine(String id, Container container, Executor threadPool) {
-        this(id, container);
+        this(id, container, threadPool, VIRTUAL_THREADS);
+    }
+
+    /**
+     * @param virtualThreads if fibers are run on virtual threads when
+     *                       no {@link Executor} is set on this engine
+     */
+    public Engine(String id, Container container, Executor threadPool, boolean virtualThreads) {
+        this.id = id;
+        this.container = container;
+        this.virtualThreads = virtualThreads;
         this.threadPool = threadPool != null ? wrap(threadPool) : null;
     }
 
@@ -49,21 +78,44 @@ public class Engine {
     }
     
     public Engine(String id, Container container) {
-        this.id = id;
-        this.container = container;
+        this(id, container, null);
     }
 
     public void setExecutor(Executor threadPool) {
         this.threadPool = threadPool != null ? wrap(threadPool) : null;
     }
 
+    /**
+     * Returns true if this engine runs its fibers on virtual threads
+     * when no {@link Executor} is set.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
     void addRunnable(Fiber fiber) {
-        if(threadPool==null) {
+        Executor ex = threadPool;
+        if (ex == null) {
             synchronized(this) {
-                threadPool = wrap(Executors.newCachedThreadPool(new DaemonThreadFactory()));
+                ex = threadPool;
+                if (ex == null) {
+                    ex = wrap(createExecutor());
+                    threadPool = ex;
+                }
+            }
+        }
+        ex.execute(fiber);
+    }
+
+    private Executor createExecutor() {
+        if (virtualThreads) {
+            Executor ex = ThreadHelper.getVirtualThreadExecutor();
+            if (ex != null) {
+                return ex;
             }
+            LOGGER.log(Level.WARNING, "Virtual threads are not supported by this JVM, engine {0} falls back to a thread pool", id);
         }
-        threadPool.execute(fiber);
+        return Executors.newCachedThreadPool(new DaemonThreadFactory());
     }
     
     private Executor wrap(Executor ex) {
@@ -28,6 +28,7 @@ import com.sun.xml.ws.api.server.ContainerResolver;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
@@ -116,7 +117,7 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
         void fiberResumed(Fiber fiber);
     }
 
-    private final List<Listener> _listeners = new ArrayList<>();
+    private final CopyOnWriteArrayList<Listener> _listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Adds suspend/resume callback listener
@@ -125,11 +126,7 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
      * @deprecated
      */
     public void addListener(Listener listener) {
-        synchronized(_listeners) {
-            if (!_listeners.contains(listener)) {
-                _listeners.add(listener);
-            }
-        }
+        _listeners.addIfAbsent(listener);
     }
 
     /**
@@ -139,21 +136,15 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
      * @deprecated
      */
     public void removeListener(Listener listener) {
-        synchronized(_listeners) {
-            _listeners.remove(listener);
-        }
+        _listeners.remove(listener);
     }
 
     List<Listener> getCurrentListeners() {
-      synchronized(_listeners) {
-         return new ArrayList<>(_listeners);
-      }
+        return new ArrayList<>(_listeners);
     }
 
     private void clearListeners() {
-        synchronized(_listeners) {
-            _listeners.clear();
-        }
+        _listeners.clear();
     }
 
     /**
@@ -247,6 +238,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition condition = lock.newCondition();
 
+    /**
+     * Guards {@link #currentThread} and {@link #interceptors}. This used to be
+     * the monitor of this fiber; a lock is used instead so that a fiber running
+     * on a virtual thread never pins its carrier thread while contending for it.
+     */
+    private final ReentrantLock stateLock = new ReentrantLock();
+
     private volatile boolean isCanceled;
     
     /**
@@ -588,10 +586,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     public void cancel(boolean mayInterrupt) {
         isCanceled = true;
         if (mayInterrupt) {
-            // synchronized(this) is used as Thread running Fiber will be holding lock
-            synchronized(this) {
+            // stateLock is used as Thread running Fiber will be holding lock
+            stateLock.lock();
+            try {
                 if (currentThread != null)
                     currentThread.interrupt();
+            } finally {
+                stateLock.unlock();
             }
         }
     }
@@ -644,10 +645,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
             // synchronous use cases cannot disconnect from the current thread
             if (!synchronous) { 
                 /* INTENTIONALLY UNLOCKING EARLY */
-                synchronized(this) {
-                    // currentThread is protected by the monitor for this fiber so 
+                stateLock.lock();
+                try {
+                    // currentThread is protected by stateLock of this fiber so 
                     // that it is accessible to cancel() even when the lock is held
                     currentThread = null;
+                } finally {
+                    stateLock.unlock();
                 }
                 lock.unlock();
                 assert(!lock.isHeldByCurrentThread());
@@ -702,14 +706,19 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
      * <li>Y.processRequest()
      * </ol>
      */
-    public synchronized void addInterceptor(@NotNull FiberContextSwitchInterceptor interceptor) {
-        if (interceptors == null) {
-            interceptors = new ArrayList<>();
-        } else {
-            List<FiberContextSwitchInterceptor> l = new ArrayList<>(interceptors);
-            interceptors = l;
+    public void addInterceptor(@NotNull FiberContextSwitchInterceptor interceptor) {
+        stateLock.lock();
+        try {
+            if (interceptors == null) {
+                interceptors = new ArrayList<>();
+            } else {
+                List<FiberContextSwitchInterceptor> l = new ArrayList<>(interceptors);
+                interceptors = l;
+            }
+            interceptors.add(interceptor);
+        } finally {
+            stateLock.unlock();
         }
-        interceptors.add(interceptor);
     }
 
     /**
@@ -735,18 +744,23 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
      * @return true if the specified interceptor was removed. False if
      *         the specified interceptor was not registered with this fiber to begin with.
      */
-    public synchronized boolean removeInterceptor(@NotNull FiberContextSwitchInterceptor interceptor) {
-        if (interceptors != null) {
-            boolean result = interceptors.remove(interceptor);
-            if (interceptors.isEmpty())
-                interceptors = null;
-            else {
-                List<FiberContextSwitchInterceptor> l = new ArrayList<>(interceptors);
-                interceptors = l;
+    public boolean removeInterceptor(@NotNull FiberContextSwitchInterceptor interceptor) {
+        stateLock.lock();
+        try {
+            if (interceptors != null) {
+                boolean result = interceptors.remove(interceptor);
+                if (interceptors.isEmpty())
+                    interceptors = null;
+                else {
+                    List<FiberContextSwitchInterceptor> l = new ArrayList<>(interceptors);
+                    interceptors = l;
+                }
+                return result;
             }
-            return result;
+            return false;
+        } finally {
+            stateLock.unlock();
         }
-        return false;
     }
 
     /**
@@ -994,10 +1008,11 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
         try {
             List<FiberContextSwitchInterceptor> ints;
             ClassLoader old;
-            synchronized(this) {
+            stateLock.lock();
+            try {
                 ints = interceptors;
                 
-                // currentThread is protected by the monitor for this fiber so 
+                // currentThread is protected by stateLock of this fiber so 
                 // that it is accessible to cancel() even when the lock is held
                 currentThread = Thread.currentThread();
                 if (isTraceEnabled()) {
@@ -1006,6 +1021,8 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     
                 old = currentThread.getContextClassLoader();
                 currentThread.setContextClassLoader(contextClassLoader);
+            } finally {
+                stateLock.unlock();
             }
 
             try {
@@ -1024,10 +1041,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
                         }
                     }
                     
-                    synchronized(this) {
+                    stateLock.lock();
+                    try {
                         needsToReenter = (ints != interceptors);
                         if (needsToReenter)
                             ints = interceptors;
+                    } finally {
+                        stateLock.unlock();
                     }
                 } while (needsToReenter);
             } catch(OnExitRunnableException o) {
@@ -1051,8 +1071,11 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
             return false;
         } finally {
             if (isRequireUnlock.value) {
-                synchronized(this) {
+                stateLock.lock();
+                try {
                     currentThread = null;
+                } finally {
+                    stateLock.unlock();
                 }
                 lock.unlock();
             }
@@ -1235,15 +1258,21 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
                     interrupted = true;
                 }
             
-            synchronized(this) {
+            stateLock.lock();
+            try {
                 return interceptors == originalInterceptors;
+            } finally {
+                stateLock.unlock();
             }
         }
         else {
             if (suspendedCount>0)
                 return false;
-            synchronized(this) {
+            stateLock.lock();
+            try {
                 return interceptors == originalInterceptors;
+            } finally {
+                stateLock.unlock();
             }
         }
     }
@@ -12,6 +12,7 @@ package com.sun.xml.ws.api.pipe;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -86,6 +87,15 @@ public class PipeClonerImpl extends PipeCloner {
 	public <T extends Tube> T copy(T t) {
         Tube r = (Tube)master2copy.get(t);
         if(r==null) {
+            if (t instanceof ReentrantTube) {
+                Set<Tube> shared = followReentrant(t, master2copy);
+                if (shared != null) {
+                    for (Tube s : shared) {
+                        master2copy.putIfAbsent(s, s);
+                    }
+                    return t;
+                }
+            }
             if (t != null) {
               r = t.copy(this);
             } else {
@@ -64,7 +64,7 @@ public abstract class PipelineAssemblerFactory {
      *      Always non-null, since we fall back to our default {@link PipelineAssembler}.
      */
     public static PipelineAssembler create(ClassLoader classLoader, BindingID bindingId) {
-        for (PipelineAssemblerFactory factory : ServiceFinder.find(PipelineAssemblerFactory.class,classLoader)) {
+        for (PipelineAssemblerFactory factory : ServiceFinder.findCached(PipelineAssemblerFactory.class, classLoader)) {
             PipelineAssembler assembler = factory.doCreate(bindingId);
             if(assembler!=null) {
                 logger.fine(factory.getClass()+" successfully created "+assembler);
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.pipe;
+
+import com.sun.istack.Nullable;
+
+/**
+ * {@link Tube} that can process any number of packets concurrently.
+ *
+ * <p>
+ * A tube implementing this interface keeps no state of a request in its
+ * fields between {@link #processRequest}, {@link #processResponse} and
+ * {@link #processException}. {@link TubeCloner} then doesn't copy such a
+ * tube, but reuses the same instance in every copy of the tubeline, as long
+ * as the tube that follows it is reused as well. A tubeline that consists of
+ * reentrant tubes only isn't copied at all, and the pools of the runtime
+ * hand out the same instance to every request.
+ *
+ * <p>
+ * A reentrant tube must refer to at most one other tube, the one returned
+ * by {@link #getNext()}.
+ *
+ * @see TubeCloner#isReentrant(Tube)
+ */
+public interface ReentrantTube extends Tube {
+    /**
+     * Returns the tube that this tube passes packets to.
+     *
+     * @return the next tube, or null if this tube is terminal
+     */
+    @Nullable Tube getNext();
+}
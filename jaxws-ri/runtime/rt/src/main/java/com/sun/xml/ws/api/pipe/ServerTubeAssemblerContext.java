@@ -14,6 +14,7 @@ import com.sun.istack.NotNull;
 import com.sun.istack.Nullable;
 import com.sun.xml.ws.addressing.W3CWsaServerTube;
 import com.sun.xml.ws.addressing.v200408.MemberSubmissionWsaServerTube;
+import com.sun.xml.ws.api.Component;
 import com.sun.xml.ws.api.addressing.AddressingVersion;
 import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
@@ -21,17 +22,21 @@ import com.sun.xml.ws.api.pipe.helper.PipeAdapter;
 import com.sun.xml.ws.api.server.ServerPipelineHook;
 import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.developer.ResponseCacheFeature;
 import com.sun.xml.ws.developer.SchemaValidationFeature;
 import com.sun.xml.ws.handler.HandlerTube;
 import com.sun.xml.ws.handler.ServerLogicalHandlerTube;
 import com.sun.xml.ws.handler.ServerMessageHandlerTube;
 import com.sun.xml.ws.handler.ServerSOAPHandlerTube;
 import com.sun.xml.ws.protocol.soap.ServerMUTube;
+import com.sun.xml.ws.server.ResponseCacheTube;
 import com.sun.xml.ws.server.ServerSchemaValidationTube;
+import com.sun.xml.ws.util.ResponseCacheImpl;
 import com.sun.xml.ws.util.pipe.DumpTube;
 
 import jakarta.xml.ws.soap.SOAPBinding;
 import java.io.PrintStream;
+import java.util.Set;
 
 /**
  * Factory for well-known server {@link Tube} implementations
@@ -189,6 +194,42 @@ public class ServerTubeAssemblerContext {
             return next;
     }
 
+    /**
+     * Creates a {@link Tube} that answers requests of the operations cached
+     * by {@link ResponseCacheFeature} without invoking the endpoint.
+     * It should be right in front of the terminal tube.
+     */
+    public Tube createResponseCacheTube(Tube next) {
+        ResponseCacheFeature f = binding.getFeature(ResponseCacheFeature.class);
+        if (binding instanceof SOAPBinding && f != null && f.isEnabled() && !f.getOperations().isEmpty()) {
+            return new ResponseCacheTube(getResponseCache(f), binding, wsdlModel, seiModel, next);
+        }
+        return next;
+    }
+
+    /**
+     * @return the cache the endpoint keeps for the feature, shared by the
+     *         tubelines assembled for it, created if there is none yet
+     */
+    private ResponseCacheImpl getResponseCache(ResponseCacheFeature f) {
+        Set<Component> components = ((WSEndpoint<?>) endpoint).getComponents();
+        synchronized (components) {
+            for (Component c : components) {
+                if (c instanceof ResponseCacheImpl && ((ResponseCacheImpl) c).getFeature() == f) {
+                    return (ResponseCacheImpl) c;
+                }
+            }
+            ResponseCacheImpl cache = new ResponseCacheImpl(f);
+            try {
+                // also for the monitoring of the endpoint
+                components.add(cache);
+            } catch (UnsupportedOperationException e) {
+                // the endpoint has no component registry
+            }
+            return cache;
+        }
+    }
+
     /**
      * Creates WS-Addressing pipe
      */
@@ -11,8 +11,11 @@
 package com.sun.xml.ws.api.pipe;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 
 /**
@@ -65,6 +68,40 @@ final class ThreadHelper {
         return threadFactory.newThread(r);
     }
 
+    /**
+     * Returns the executor starting a new virtual thread for each task,
+     * shared by all the {@link Engine}s, or {@code null} if the JDK doesn't
+     * support virtual threads.
+     */
+    static Executor getVirtualThreadExecutor() {
+        return VirtualThreadExecutorHolder.EXECUTOR;
+    }
+
+    // Initialized on first use only, so that engines on platform threads
+    // don't pay for the lookup
+    private static final class VirtualThreadExecutorHolder {
+        static final Executor EXECUTOR = AccessController.doPrivileged(
+                new PrivilegedAction<>() {
+                    @Override
+                    public Executor run() {
+                        try {
+                            // Thread.ofVirtual().name(..., 0).factory() is new in Java SE 21
+                            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                            builder = builderClass.getMethod("name", String.class, long.class)
+                                    .invoke(builder, "jaxws-engine-virtual-thread-", 1L);
+                            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+                            Method m = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                            return (Executor) m.invoke(null, factory);
+                        } catch (ReflectiveOperationException | RuntimeException ignored) {
+                            // not available or a preview feature which is not enabled
+                        }
+                        return null;
+                    }
+                }
+        );
+    }
+
     // A Thread factory backed by the Thread constructor that
     // suppresses inheriting of inheritable thread-locals.
     private static class JDK9ThreadFactory implements ThreadFactory {
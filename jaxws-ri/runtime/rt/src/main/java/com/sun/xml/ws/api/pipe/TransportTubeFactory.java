@@ -99,7 +99,7 @@ public abstract class TransportTubeFactory {
      *      Always non-null, since we fall back to our default {@link Tube}.
      */
     public static Tube create(@Nullable ClassLoader classLoader, @NotNull ClientTubeAssemblerContext context) {
-        for (TransportTubeFactory factory : ServiceFinder.find(TransportTubeFactory.class,classLoader, context.getContainer())) {
+        for (TransportTubeFactory factory : ServiceFinder.findCached(TransportTubeFactory.class, classLoader, context.getContainer())) {
             Tube tube = factory.doCreate(context);
             if (tube !=null) {
                 if (logger.isLoggable(Level.FINE)) {
@@ -114,7 +114,7 @@ public abstract class TransportTubeFactory {
                 context.getAddress(), context.getWsdlModel(), context.getService(),
                 context.getBinding(), context.getContainer());
         ctxt.setCodec(context.getCodec());
-        for (TransportPipeFactory factory : ServiceFinder.find(TransportPipeFactory.class,classLoader)) {
+        for (TransportPipeFactory factory : ServiceFinder.findCached(TransportPipeFactory.class, classLoader)) {
             Pipe pipe = factory.doCreate(ctxt);
             if (pipe!=null) {
                 if (logger.isLoggable(Level.FINE)) {
@@ -10,7 +10,10 @@
 
 package com.sun.xml.ws.api.pipe;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Clones the whole pipeline.
@@ -45,6 +48,46 @@ public abstract class TubeCloner {
         return new PipeClonerImpl().copy(p);
     }
 
+    /**
+     * Tells whether the given tubeline can be used by any number of requests
+     * at the same time, so that {@link #clone(Tube)} returns it as is.
+     *
+     * <p>
+     * That is the case when the tube and all the tubes that follow it
+     * implement {@link ReentrantTube}.
+     *
+     * @param p
+     *      The entry point of a pipeline. must not be null.
+     * @return
+     *      true if the tubeline doesn't need to be copied.
+     */
+    public static boolean isReentrant(Tube p) {
+        return followReentrant(p, Collections.emptyMap()) != null;
+    }
+
+    /**
+     * Walks the tubes starting from the given one, as long as they are reentrant.
+     *
+     * @param master2copy tubes copied so far; a walk reaching one of them ends
+     *      there, and succeeds if that tube was reused rather than copied
+     * @return the reentrant tubes walked, or null if a tube that needs
+     *      copying was reached
+     */
+    static Set<Tube> followReentrant(Tube t, Map<Object,Object> master2copy) {
+        Set<Tube> walked = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (t != null && walked.add(t)) {
+            Object copy = master2copy.get(t);
+            if (copy != null) {
+                return copy == t ? walked : null;
+            }
+            if (!(t instanceof ReentrantTube)) {
+                return null;
+            }
+            t = ((ReentrantTube) t).getNext();
+        }
+        return walked;
+    }
+
     // no need to be constructed publicly. always use the static clone method.
     /*package*/ TubeCloner(Map<Object,Object> master2copy) {
     	this.master2copy = master2copy;
@@ -62,6 +105,8 @@ public abstract class TubeCloner {
      * this method simply returns that reference. Otherwise it copies
      * a tube, make a note, and returns a copied tube. This additional
      * step ensures that a graph is cloned isomorphically correctly.
+     * A {@link ReentrantTube} is not copied if the tubes following it
+     * don't need to be copied either; the tube itself is returned instead.
      *
      * <p>
      * (Think about what happens when a graph is A-{@literal >}B, A-{@literal >}C,
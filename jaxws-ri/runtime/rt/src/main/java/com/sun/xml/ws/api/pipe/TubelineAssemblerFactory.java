@@ -77,7 +77,7 @@ public abstract class TubelineAssemblerFactory {
             }
         }
 
-        for (TubelineAssemblerFactory factory : ServiceFinder.find(TubelineAssemblerFactory.class, classLoader)) {
+        for (TubelineAssemblerFactory factory : ServiceFinder.findCached(TubelineAssemblerFactory.class, classLoader)) {
             TubelineAssembler assembler = factory.doCreate(bindingId);
             if (assembler != null) {
                 TubelineAssemblerFactory.logger.log(Level.FINE, "{0} successfully created {1}", new Object[]{factory.getClass(), assembler});
@@ -86,7 +86,7 @@ public abstract class TubelineAssemblerFactory {
         }
 
         // See if there is a PipelineAssembler out there and use it for compatibility.
-        for (PipelineAssemblerFactory factory : ServiceFinder.find(PipelineAssemblerFactory.class,classLoader)) {
+        for (PipelineAssemblerFactory factory : ServiceFinder.findCached(PipelineAssemblerFactory.class, classLoader)) {
             PipelineAssembler assembler = factory.doCreate(bindingId);
             if(assembler!=null) {
                 logger.log(Level.FINE, "{0} successfully created {1}", new Object[]{factory.getClass(), assembler});
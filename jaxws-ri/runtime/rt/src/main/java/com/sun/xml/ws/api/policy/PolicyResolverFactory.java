@@ -28,7 +28,7 @@ public abstract class PolicyResolverFactory {
     public abstract PolicyResolver doCreate();
 
     public static PolicyResolver create(){
-        for (PolicyResolverFactory factory : ServiceFinder.find(PolicyResolverFactory.class)) {
+        for (PolicyResolverFactory factory : ServiceFinder.findCached(PolicyResolverFactory.class)) {
             PolicyResolver policyResolver = factory.doCreate();
             if (policyResolver != null) {
                 return policyResolver;
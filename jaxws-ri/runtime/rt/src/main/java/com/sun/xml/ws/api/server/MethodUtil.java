@@ -10,14 +10,16 @@
 
 package com.sun.xml.ws.api.server;
 
+import com.sun.xml.ws.util.CompiledMethod;
+
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Utility class to invoke com.sun.xml.ws.util.MethodUtil.invoke() if available. If not (other then Oracle JDK) fallbacks
- * to java.lang,reflect.Method.invoke()
+ * Utility class to invoke methods through their {@link CompiledMethod}, which
+ * falls back to com.sun.xml.ws.util.MethodUtil.invoke() for methods it can't compile.
  *
  * Be careful, copy of this class exists in several packages, iny modification must be done to other copies too!
  */
@@ -26,12 +28,11 @@ class MethodUtil {
     private static final Logger LOGGER = Logger.getLogger(MethodUtil.class.getName());
 
     static Object invoke(Object target, Method method, Object[] args) throws IllegalAccessException, InvocationTargetException {
-        // com.sun.xml.ws.util.MethodUtil.invoke(method, owner, args)
         if (LOGGER.isLoggable(Level.FINE)) {
-            LOGGER.log(Level.FINE, "Invoking method using com.sun.xml.ws.util.MethodUtil");
+            LOGGER.log(Level.FINE, "Invoking method using com.sun.xml.ws.util.CompiledMethod");
         }
         try {
-            return com.sun.xml.ws.util.MethodUtil.invoke(method, target, args);
+            return CompiledMethod.of(method).invoke(target, args);
         } catch (InvocationTargetException ite) {
             // unwrap invocation exception added by reflection code ...
             throw unwrapException(ite);
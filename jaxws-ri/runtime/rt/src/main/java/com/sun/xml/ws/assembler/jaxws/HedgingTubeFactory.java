@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.assembler.jaxws;
+
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.assembler.dev.ClientTubelineAssemblyContext;
+import com.sun.xml.ws.assembler.dev.ServerTubelineAssemblyContext;
+import com.sun.xml.ws.assembler.dev.TubeFactory;
+
+import jakarta.xml.ws.WebServiceException;
+
+/**
+ * TubeFactory implementation creating the tube that sends requests of
+ * idempotent operations more than once, see
+ * {@link com.sun.xml.ws.developer.HedgingFeature}.
+ * There is no such tube on the endpoint side.
+ */
+public final class HedgingTubeFactory implements TubeFactory {
+
+    @Override
+    public Tube createTube(ClientTubelineAssemblyContext context) throws WebServiceException {
+        return context.getWrappedContext().createHedgingTube(context.getTubelineHead());
+    }
+
+    @Override
+    public Tube createTube(ServerTubelineAssemblyContext context) throws WebServiceException {
+        return context.getTubelineHead();
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.Component;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.WSService;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.api.pipe.ContentType;
+import com.sun.xml.ws.api.pipe.Fiber;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.StreamSOAPCodec;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractFilterTubeImpl;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.developer.ResponseCacheFeature;
+import com.sun.xml.ws.resources.ClientMessages;
+import com.sun.xml.ws.util.BackgroundExecutor;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+import com.sun.xml.ws.util.ResponseCacheImpl;
+
+import javax.xml.namespace.QName;
+import jakarta.xml.ws.WebServiceException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link Tube} that answers requests of the operations cached by
+ * {@link ResponseCacheFeature} on the client side, and that sends identical
+ * requests made at the same time only once.
+ *
+ * <p>
+ * This tube is the head of the tubeline, so that it sees the requests as
+ * {@link Stub#process} and {@link Stub#processAsync} make them, and a cached
+ * response skips the handlers and the network altogether. Requests are
+ * identified by their operation, endpoint address and a digest of their
+ * payload and of the SOAP headers listed in the feature.
+ *
+ * <p>
+ * While a synchronous request is on its way, identical requests suspend their
+ * fiber until its response comes back, and then get a copy of it, or the
+ * exception it failed with. They wait no longer than their
+ * {@link BindingProviderProperties#REQUEST_TIMEOUT}, if they have one, after
+ * which they fail as if they had timed out themselves. Asynchronous requests
+ * wait for synchronous ones, but don't make others wait for them, as they can
+ * be cancelled, after which their response is never processed. Responses that
+ * cannot be shared, for e.g. with attachments, send the waiting requests on
+ * their way.
+ *
+ * <p>
+ * Proxies and dispatches of the same {@link WSService} and port, created with
+ * the same {@link ResponseCacheFeature} instance, share their responses.
+ */
+public class ClientResponseCacheTube extends AbstractFilterTubeImpl {
+
+    private static final Logger LOGGER = Logger.getLogger(ClientResponseCacheTube.class.getName());
+
+    private final Shared shared;
+    private final StreamSOAPCodec codec;
+
+    // request waiting for its response, a tube processes one at a time
+    private ResponseCacheImpl.Key pendingKey;
+    private Flight pendingFlight;
+    private long pendingTtl;
+    // request waiting for the response to an identical one
+    private Packet waiting;
+
+    /**
+     * @param owner service the port belongs to, its responses are kept there
+     */
+    public ClientResponseCacheTube(@NotNull WSService owner, @NotNull ResponseCacheFeature feature,
+            @NotNull WSBinding binding, Tube next) {
+        super(next);
+        this.shared = Shared.of(owner, feature);
+        this.codec = Codecs.createSOAPEnvelopeXmlCodec(binding.getFeatures());
+    }
+
+    /**
+     * Copy constructor.
+     */
+    protected ClientResponseCacheTube(ClientResponseCacheTube that, TubeCloner cloner) {
+        super(that, cloner);
+        this.shared = that.shared;
+        this.codec = (StreamSOAPCodec) that.codec.copy();
+    }
+
+    @Override
+    public ClientResponseCacheTube copy(TubeCloner cloner) {
+        return new ClientResponseCacheTube(this, cloner);
+    }
+
+    /**
+     * @return responses kept for the port
+     */
+    public @NotNull ResponseCacheImpl getCache() {
+        return shared.cache;
+    }
+
+    @Override
+    public @NotNull NextAction processRequest(@NotNull Packet request) {
+        pendingKey = null;
+        pendingFlight = null;
+        waiting = null;
+        Message msg = request.getMessage();
+        QName operation = msg != null && !Boolean.FALSE.equals(request.expectReply)
+                ? request.getWSDLOperation() : null;
+        ResponseCacheImpl cache = shared.cache;
+        long ttl = operation != null ? cache.getTimeToLive(operation.getLocalPart()) : 0;
+        if (ttl <= 0 || !msg.getAttachments().isEmpty()) {
+            return super.processRequest(request);
+        }
+
+        ResponseCacheImpl.Key key = new ResponseCacheImpl.Key(operation,
+                request.endpointAddress != null ? request.endpointAddress.toString() : null,
+                ResponseCacheImpl.digest(msg, cache.getHeaders()));
+        ResponseCacheImpl.Entry entry = cache.get(key);
+        if (entry != null) {
+            try {
+                return doReturnWith(request.createClientResponse(decode(entry)));
+            } catch (WebServiceException e) {
+                LOGGER.log(Level.FINE, "Cannot decode cached response, sending the request", e);
+            }
+        }
+
+        Flight flight = shared.flights.get(key);
+        if (flight == null && Fiber.isSynchronous()) {
+            Flight mine = new Flight();
+            flight = shared.flights.putIfAbsent(key, mine);
+            if (flight == null) {
+                pendingKey = key;
+                pendingFlight = mine;
+                pendingTtl = ttl;
+                return super.processRequest(request);
+            }
+            // another request has just taken off, this one waits for it
+        }
+        if (flight != null) {
+            Waiter w = flight.join(Fiber.current(), request);
+            if (w != null) {
+                waiting = request;
+                int timeout = timeout(request);
+                if (timeout > 0) {
+                    final Flight f = flight;
+                    w.expiry = BackgroundExecutor.get(shared.container)
+                            .schedule(() -> expire(f, w, timeout), timeout, TimeUnit.MILLISECONDS);
+                }
+                return doSuspend();
+            }
+            // the flight has just landed
+        }
+        pendingKey = key;
+        pendingTtl = ttl;
+        return super.processRequest(request);
+    }
+
+    /**
+     * @return request timeout in milliseconds, 0 if there is none
+     */
+    private static int timeout(Packet request) {
+        Object timeout = request.invocationProperties.get(BindingProviderProperties.REQUEST_TIMEOUT);
+        return timeout instanceof Integer && (Integer) timeout > 0 ? (Integer) timeout : 0;
+    }
+
+    /**
+     * Stops the wait of a request for the response to an identical one,
+     * unless the response has already come back.
+     */
+    private static void expire(Flight flight, Waiter w, int timeout) {
+        if (flight.leave(w)) {
+            w.fiber.resume(new ClientTransportException(
+                    ClientMessages.localizableHTTP_CLIENT_COALESCED_TIMEOUT(timeout)), w.request);
+        }
+    }
+
+    @Override
+    public @NotNull NextAction processResponse(@NotNull Packet response) {
+        Packet request = waiting;
+        waiting = null;
+        if (request != null && response == request) {
+            // the response to the identical request cannot be shared
+            return doInvoke(next, request);
+        }
+
+        ResponseCacheImpl.Key key = pendingKey;
+        Flight flight = pendingFlight;
+        pendingKey = null;
+        pendingFlight = null;
+        if (key == null) {
+            return super.processResponse(response);
+        }
+        ResponseCacheImpl.Entry entry = null;
+        try {
+            Message msg = response.getMessage();
+            if (msg != null && msg.getAttachments().isEmpty()) {
+                ByteArrayBuffer buf = new ByteArrayBuffer();
+                ContentType ct;
+                try {
+                    ct = codec.encode(new Packet(msg), buf);
+                } catch (IOException e) {
+                    throw new WebServiceException(e);
+                }
+                entry = new ResponseCacheImpl.Entry(buf.toByteArray(), ct.getContentType(), 0);
+                // the response has been consumed, it is replaced by its encoded form
+                response.setMessage(decode(entry));
+                if (!msg.isFault()) {
+                    shared.cache.put(key, entry.data, entry.contentType, pendingTtl);
+                }
+            }
+        } finally {
+            if (flight != null) {
+                shared.flights.remove(key, flight);
+                land(flight, entry);
+            }
+        }
+        return super.processResponse(response);
+    }
+
+    @Override
+    public @NotNull NextAction processException(@NotNull Throwable t) {
+        ResponseCacheImpl.Key key = pendingKey;
+        Flight flight = pendingFlight;
+        pendingKey = null;
+        pendingFlight = null;
+        waiting = null;
+        if (flight != null) {
+            shared.flights.remove(key, flight);
+            for (Waiter w : flight.land()) {
+                w.cancelExpiry();
+                w.fiber.resume(t, w.request);
+            }
+        }
+        return super.processException(t);
+    }
+
+    /**
+     * Gives the waiting requests a copy of the response, or sends them on
+     * their way if there is none.
+     */
+    private void land(Flight flight, @Nullable ResponseCacheImpl.Entry entry) {
+        for (Waiter w : flight.land()) {
+            w.cancelExpiry();
+            Packet response = w.request;
+            if (entry != null) {
+                try {
+                    response = w.request.createClientResponse(decode(entry));
+                } catch (WebServiceException e) {
+                    LOGGER.log(Level.FINE, "Cannot decode shared response, sending the request", e);
+                }
+            }
+            w.fiber.resume(response);
+        }
+    }
+
+    private @NotNull Message decode(ResponseCacheImpl.Entry entry) {
+        Packet p = new Packet();
+        try {
+            codec.decode(new ByteArrayBuffer(entry.data).newInputStream(), entry.contentType, p);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
+        return p.getMessage();
+    }
+
+    /**
+     * Responses and requests on their way for the ports of a {@link WSService}
+     * with the same feature.
+     */
+    private static final class Shared implements Component {
+        private final ResponseCacheFeature feature;
+        private final ResponseCacheImpl cache;
+        private final Container container;
+        private final ConcurrentMap<ResponseCacheImpl.Key, Flight> flights = new ConcurrentHashMap<>();
+
+        private Shared(ResponseCacheFeature feature, Container container) {
+            this.feature = feature;
+            this.cache = new ResponseCacheImpl(feature);
+            this.container = container;
+        }
+
+        static Shared of(WSService owner, ResponseCacheFeature feature) {
+            Set<Component> components = owner.getComponents();
+            synchronized (components) {
+                for (Component c : components) {
+                    if (c instanceof Shared && ((Shared) c).feature == feature) {
+                        return (Shared) c;
+                    }
+                }
+                Shared s = new Shared(feature, owner.getContainer());
+                components.add(s);
+                return s;
+            }
+        }
+
+        @Override
+        public @Nullable <S> S getSPI(@NotNull Class<S> spiType) {
+            return null;
+        }
+    }
+
+    /**
+     * Request on its way, and the identical requests waiting for it.
+     */
+    private static final class Flight {
+        // null once landed
+        private List<Waiter> waiters = new ArrayList<>();
+
+        /**
+         * @return null if the flight has already landed
+         */
+        synchronized Waiter join(Fiber fiber, Packet request) {
+            if (waiters == null) {
+                return null;
+            }
+            Waiter w = new Waiter(fiber, request);
+            waiters.add(w);
+            return w;
+        }
+
+        /**
+         * @return false if the flight has already landed
+         */
+        synchronized boolean leave(Waiter w) {
+            return waiters != null && waiters.remove(w);
+        }
+
+        synchronized List<Waiter> land() {
+            List<Waiter> w = waiters;
+            waiters = null;
+            return w;
+        }
+    }
+
+    private static final class Waiter {
+        final Fiber fiber;
+        final Packet request;
+        // end of the wait, if the request has a timeout
+        volatile ScheduledFuture<?> expiry;
+
+        Waiter(Fiber fiber, Packet request) {
+            this.fiber = fiber;
+            this.request = request;
+        }
+
+        void cancelExpiry() {
+            ScheduledFuture<?> f = expiry;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+    }
+}
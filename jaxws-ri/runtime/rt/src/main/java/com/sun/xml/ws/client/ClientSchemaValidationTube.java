@@ -22,12 +22,10 @@ import com.sun.xml.ws.util.MetadataUtil;
 import com.sun.xml.ws.util.pipe.AbstractSchemaValidationTube;
 import org.xml.sax.SAXException;
 
-import javax.xml.transform.Source;
 import javax.xml.validation.Schema;
 import javax.xml.validation.Validator;
 import jakarta.xml.ws.WebServiceException;
 import java.util.Map;
-import java.util.logging.Logger;
 
 /**
  * {@link Tube} that does the schema validation on the client side.
@@ -36,8 +34,6 @@ import java.util.logging.Logger;
  */
 public class ClientSchemaValidationTube extends AbstractSchemaValidationTube {
 
-    private static final Logger LOGGER = Logger.getLogger(ClientSchemaValidationTube.class.getName());
-
     private final Schema schema;
     private final Validator validator;
     private final boolean noValidation;
@@ -51,19 +47,10 @@ public class ClientSchemaValidationTube extends AbstractSchemaValidationTube {
             MetadataResolverImpl mdresolver = new MetadataResolverImpl();
             Map<String, SDDocument> docs = MetadataUtil.getMetadataClosure(primaryWsdl, mdresolver, true);
             mdresolver = new MetadataResolverImpl(docs.values());
-            Source[] sources = getSchemaSources(docs.values(), mdresolver);
-            for(Source source : sources) {
-                LOGGER.fine("Constructing client validation schema from = "+source.getSystemId());
-                //printDOM((DOMSource)source);
-            }
-            if (sources.length != 0) {
+            Schema s = getSchema(docs.values(), mdresolver);
+            if (s != null) {
                 noValidation = false;
-                sf.setResourceResolver(mdresolver);
-                try {
-                    schema = sf.newSchema(sources);
-                } catch(SAXException e) {
-                    throw new WebServiceException(e);
-                }
+                schema = s;
                 validator = schema.newValidator();
                 return;
             }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.oracle.webservices.api.message.BasePropertySet;
+import com.oracle.webservices.api.message.PropertySet;
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.message.Packet;
+
+/**
+ * {@link PropertySet} that lets a tube abort the exchange of a request
+ * {@link Packet} while the transport is sending it, from another thread.
+ *
+ * <p>
+ * A transport that supports it registers how to abort its exchange, for
+ * example by closing the connection, with {@link #onCancel(Runnable)}, and
+ * clears it with {@link #done()} once the response has been handed back.
+ * The thread the transport runs on is never interrupted, as it may be shared
+ * by other work.
+ *
+ * @see HedgingTube
+ */
+public final class ExchangeCancellation extends BasePropertySet {
+
+    // guarded by this
+    private Runnable abort;
+    private boolean cancelled;
+
+    public ExchangeCancellation() {
+    }
+
+    /**
+     * Registers how the exchange is aborted. Runs it at once if the request
+     * has already been cancelled.
+     */
+    public void onCancel(@NotNull Runnable abort) {
+        synchronized (this) {
+            if (!cancelled) {
+                this.abort = abort;
+                return;
+            }
+        }
+        abort.run();
+    }
+
+    /**
+     * Called by the transport once the exchange no longer has to be aborted.
+     */
+    public synchronized void done() {
+        abort = null;
+    }
+
+    /**
+     * Aborts the exchange in progress, if any, and any exchange of the
+     * request started after this.
+     */
+    public void cancel() {
+        Runnable a;
+        synchronized (this) {
+            cancelled = true;
+            a = abort;
+            abort = null;
+        }
+        if (a != null) {
+            a.run();
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    protected PropertyMap getPropertyMap() {
+        return model;
+    }
+
+    private static final PropertyMap model;
+
+    static {
+        model = parse(ExchangeCancellation.class);
+    }
+}
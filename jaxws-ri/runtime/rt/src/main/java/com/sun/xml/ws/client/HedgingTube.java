@@ -0,0 +1,509 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Fiber;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractFilterTubeImpl;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.developer.HedgingFeature;
+import com.sun.xml.ws.resources.ClientMessages;
+import com.sun.xml.ws.util.BackgroundExecutor;
+
+import javax.xml.namespace.QName;
+import jakarta.xml.ws.WebServiceException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link Tube} in front of the transport that sends the requests of the
+ * idempotent operations of {@link HedgingFeature} more than once, when the
+ * first attempt is slow or fails.
+ *
+ * <p>
+ * The fiber of the request is suspended, and each attempt is sent by a
+ * {@link Fiber} of its own, started on the same engine with a copy of the
+ * request, through the next tube of this one. When an attempt has been waiting
+ * for longer than the percentile of the recent latencies of its operation,
+ * another one is sent through a copy of the next tube, which this tube keeps
+ * for its later requests. Each attempt has its own copy of the properties of
+ * the request. The first response resumes the fiber of the request. The
+ * exchange of any other attempt still running is aborted through its
+ * {@link ExchangeCancellation}, the response of an attempt that completes
+ * anyway is read and discarded, and its tubes are used again. Attempts that
+ * fail with an {@link IOException} are retried after a short random backoff,
+ * as long as there is time left before the deadline.
+ *
+ * <p>
+ * The attempts are timed on the {@link BackgroundExecutor} of the container.
+ */
+public class HedgingTube extends AbstractFilterTubeImpl {
+
+    private static final Logger LOGGER = Logger.getLogger(HedgingTube.class.getName());
+
+    // backoff before the first retry, doubled for each one after it
+    private static final long BACKOFF = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final HedgingFeature feature;
+    private final Shared shared;
+
+    // next tubes not in use by an attempt, guarded by itself
+    private final Deque<Tube> idle = new ArrayDeque<>();
+    // copies of the next tube made for hedged attempts, guarded by idle
+    private final List<Tube> copies = new ArrayList<>();
+    private boolean destroyed;
+    // next tube a request is sent through as is, a tube processes one at a time
+    private Tube invoked;
+
+    public HedgingTube(@NotNull HedgingFeature feature, @NotNull Container container, @NotNull Tube next) {
+        super(next);
+        this.feature = feature;
+        this.shared = new Shared(BackgroundExecutor.get(container), feature.getPercentile());
+        idle.add(next);
+    }
+
+    /**
+     * Copy constructor.
+     */
+    protected HedgingTube(HedgingTube that, TubeCloner cloner) {
+        super(that, cloner);
+        this.feature = that.feature;
+        this.shared = that.shared;
+        idle.add(next);
+    }
+
+    @Override
+    public HedgingTube copy(TubeCloner cloner) {
+        return new HedgingTube(this, cloner);
+    }
+
+    @Override
+    public void preDestroy() {
+        List<Tube> destroy;
+        synchronized (idle) {
+            destroyed = true;
+            // copies still used by an attempt are destroyed when it completes
+            destroy = new ArrayList<>(copies);
+            destroy.retainAll(idle);
+            idle.clear();
+        }
+        for (Tube t : destroy) {
+            t.preDestroy();
+        }
+        super.preDestroy();
+    }
+
+    /**
+     * @return the next tube, or a copy of it if it is in use by another attempt
+     */
+    private Tube take() {
+        synchronized (idle) {
+            Tube t = idle.poll();
+            if (t != null) {
+                return t;
+            }
+        }
+        Tube t = TubeCloner.clone(next);
+        synchronized (idle) {
+            copies.add(t);
+        }
+        return t;
+    }
+
+    private void release(Tube t) {
+        synchronized (idle) {
+            if (!destroyed) {
+                idle.push(t);
+                return;
+            }
+            if (t == next) {
+                // already destroyed by preDestroy
+                return;
+            }
+        }
+        t.preDestroy();
+    }
+
+    @Override
+    public @NotNull NextAction processRequest(@NotNull Packet request) {
+        QName operation = request.getMessage() != null && !Boolean.FALSE.equals(request.expectReply)
+                ? request.getWSDLOperation() : null;
+        if (operation == null || !feature.isIdempotent(operation.getLocalPart())) {
+            // the next tube may still be in use by an attempt of an earlier request
+            invoked = take();
+            return doInvoke(invoked, request);
+        }
+        Call call = new Call(Fiber.current(), request, shared.latency(operation), deadline(request));
+        // attempts are sent once the fiber is suspended
+        return doSuspend(call::start);
+    }
+
+    @Override
+    public @NotNull NextAction processResponse(@NotNull Packet response) {
+        releaseInvoked();
+        return super.processResponse(response);
+    }
+
+    @Override
+    public @NotNull NextAction processException(@NotNull Throwable t) {
+        releaseInvoked();
+        return super.processException(t);
+    }
+
+    private void releaseInvoked() {
+        Tube t = invoked;
+        invoked = null;
+        if (t != null) {
+            release(t);
+        }
+    }
+
+    /**
+     * @return time the attempts of the request have to be answered by, in
+     *         {@link System#nanoTime()}, or 0 if there is no request timeout
+     */
+    private static long deadline(Packet request) {
+        Object timeout = request.invocationProperties.get(BindingProviderProperties.REQUEST_TIMEOUT);
+        if (!(timeout instanceof Integer) || (Integer) timeout <= 0) {
+            return 0;
+        }
+        long budget = (Integer) timeout;
+        Object connectTimeout = request.invocationProperties.get(BindingProviderProperties.CONNECT_TIMEOUT);
+        if (connectTimeout instanceof Integer && (Integer) connectTimeout > 0) {
+            budget += (Integer) connectTimeout;
+        }
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget);
+    }
+
+    private static boolean isRetryable(Throwable t) {
+        return t instanceof WebServiceException && t.getCause() instanceof IOException;
+    }
+
+    /**
+     * Invocation of an idempotent operation, and its attempts.
+     */
+    private final class Call {
+        private final Fiber fiber;
+        private final Packet request;
+        private final Latency latency;
+        private final long deadline;
+        private final long started = System.nanoTime();
+
+        // guarded by this
+        private final List<Attempt> attempts = new ArrayList<>();
+        private int sent;
+        private int retries;
+        private boolean done;
+        private Future<?> hedge;
+        private Future<?> expiry;
+
+        Call(Fiber fiber, Packet request, Latency latency, long deadline) {
+            this.fiber = fiber;
+            this.request = request;
+            this.latency = latency;
+            this.deadline = deadline;
+        }
+
+        void start() {
+            synchronized (this) {
+                if (deadline != 0) {
+                    expiry = schedule(this::expire, deadline - System.nanoTime());
+                }
+            }
+            sendOrFail();
+        }
+
+        private void sendOrFail() {
+            RuntimeException failure;
+            List<Attempt> losers;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                try {
+                    send();
+                    return;
+                } catch (RuntimeException e) {
+                    failure = e;
+                    losers = finish();
+                }
+            }
+            cancel(losers);
+            fiber.resume(failure, request);
+        }
+
+        /**
+         * Sends an attempt, and schedules the next one for when it is slow.
+         * Call with the lock held, so that the attempt doesn't complete before
+         * it is added.
+         */
+        private void send() {
+            Attempt a = new Attempt(this);
+            a.start();
+            attempts.add(a);
+            sent++;
+            long threshold = latency.getThreshold();
+            if (threshold > 0 && attempts.size() == 1) {
+                hedge = schedule(this::hedge, threshold);
+            }
+        }
+
+        private synchronized void hedge() {
+            if (!done && attempts.size() == 1) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Hedging request to {0}", request.endpointAddress);
+                }
+                try {
+                    send();
+                } catch (RuntimeException e) {
+                    // the first attempt is still on its way
+                    LOGGER.log(Level.FINE, "Cannot hedge request", e);
+                }
+            }
+        }
+
+        void succeeded(Attempt a, Packet response) {
+            List<Attempt> losers;
+            synchronized (this) {
+                attempts.remove(a);
+                losers = done ? null : finish();
+            }
+            if (losers == null) {
+                // lost, or answered after the deadline
+                discard(response);
+                return;
+            }
+            cancel(losers);
+            fiber.resume(response);
+        }
+
+        void failed(Attempt a, Throwable t) {
+            List<Attempt> losers;
+            synchronized (this) {
+                attempts.remove(a);
+                if (done || !attempts.isEmpty()) {
+                    // another attempt is still on its way
+                    return;
+                }
+                if (hedge != null) {
+                    hedge.cancel(false);
+                }
+                if (isRetryable(t) && retries < feature.getMaxRetries()) {
+                    long backoff = ThreadLocalRandom.current().nextLong(BACKOFF << retries) + 1;
+                    if (deadline == 0 || System.nanoTime() + backoff - deadline < 0) {
+                        retries++;
+                        if (LOGGER.isLoggable(Level.FINE)) {
+                            LOGGER.log(Level.FINE, "Retrying request to " + request.endpointAddress, t);
+                        }
+                        schedule(this::sendOrFail, backoff);
+                        return;
+                    }
+                }
+                losers = finish();
+            }
+            cancel(losers);
+            fiber.resume(t, request);
+        }
+
+        private void expire() {
+            List<Attempt> losers;
+            int attempted;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                losers = finish();
+                attempted = sent;
+            }
+            cancel(losers);
+            fiber.resume(new ClientTransportException(ClientMessages.localizableHTTP_CLIENT_DEADLINE_EXCEEDED(
+                    TimeUnit.NANOSECONDS.toMillis(deadline - started), attempted)), request);
+        }
+
+        // call with the lock held
+        private List<Attempt> finish() {
+            done = true;
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            if (expiry != null) {
+                expiry.cancel(false);
+            }
+            List<Attempt> losers = new ArrayList<>(attempts);
+            attempts.clear();
+            return losers;
+        }
+
+        private void cancel(List<Attempt> losers) {
+            for (Attempt a : losers) {
+                a.abort();
+            }
+        }
+    }
+
+    /**
+     * Reads the response of an attempt that isn't used, so that its
+     * connection can be used again.
+     */
+    private static void discard(Packet response) {
+        Message message = response.getInternalMessage();
+        if (message == null) {
+            return;
+        }
+        try {
+            message.consume();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Cannot read the response of a hedged request", e);
+        }
+    }
+
+    /**
+     * Request sent by a fiber of its own.
+     */
+    private final class Attempt implements Fiber.CompletionCallback {
+        private final Call call;
+        private final Fiber fiber;
+        private final Tube tube;
+        private final ExchangeCancellation cancellation = new ExchangeCancellation();
+        private final long started = System.nanoTime();
+
+        Attempt(Call call) {
+            this.call = call;
+            this.fiber = call.fiber.owner.createFiber();
+            this.fiber.setContextClassLoader(call.fiber.getContextClassLoader());
+            this.tube = take();
+        }
+
+        void start() {
+            try {
+                fiber.start(tube, copy(call.request), this);
+            } catch (RuntimeException e) {
+                release(tube);
+                throw e;
+            }
+        }
+
+        /**
+         * @return copy of the request with properties of its own, as the
+         *         tubes of an attempt may change them while another one is
+         *         sent
+         */
+        private Packet copy(Packet request) {
+            Message message = request.getInternalMessage();
+            Packet p = new Packet(message != null ? message.copy() : null);
+            request.copyPropertiesTo(p);
+            p.soapAction = request.soapAction;
+            p.setState(request.getState());
+            p.addSatellite(cancellation);
+            return p;
+        }
+
+        /**
+         * Aborts the exchange of the attempt, if the transport supports it.
+         * The attempt still completes, but its response is not used.
+         */
+        void abort() {
+            cancellation.cancel();
+        }
+
+        @Override
+        public void onCompletion(@NotNull Packet response) {
+            release(tube);
+            call.latency.record(System.nanoTime() - started);
+            call.succeeded(this, response);
+        }
+
+        @Override
+        public void onCompletion(@NotNull Throwable error) {
+            release(tube);
+            call.failed(this, error);
+        }
+    }
+
+    private Future<?> schedule(Runnable task, long delay) {
+        return shared.timer.schedule(task, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * State shared by the copies of the tube.
+     */
+    private static final class Shared {
+        private final ScheduledExecutorService timer;
+        private final ConcurrentMap<QName, Latency> latencies = new ConcurrentHashMap<>();
+
+        private final int percentile;
+
+        Shared(ScheduledExecutorService timer, int percentile) {
+            this.timer = timer;
+            this.percentile = percentile;
+        }
+
+        Latency latency(QName operation) {
+            return latencies.computeIfAbsent(operation, op -> new Latency(percentile));
+        }
+    }
+
+    /**
+     * Recent latencies of an operation.
+     */
+    private static final class Latency {
+        private static final int SAMPLES = 256;
+        // the percentile is computed again after this many samples
+        private static final int PERIOD = 32;
+
+        private final int percentile;
+        // guarded by this
+        private final long[] samples = new long[SAMPLES];
+        private int count;
+        private int recorded;
+        private volatile long threshold;
+
+        Latency(int percentile) {
+            this.percentile = percentile;
+        }
+
+        synchronized void record(long nanos) {
+            samples[recorded % SAMPLES] = nanos;
+            recorded++;
+            count = Math.min(count + 1, SAMPLES);
+            if (percentile > 0 && recorded % PERIOD == 0) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                threshold = sorted[(int) Math.ceil(percentile / 100.0 * count) - 1];
+            }
+        }
+
+        /**
+         * @return the percentile of the latency in nanoseconds, 0 until
+         *         there are enough samples
+         */
+        long getThreshold() {
+            return threshold;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.EndpointAddress;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractFilterTubeImpl;
+import com.sun.xml.ws.developer.LoadBalancingFeature;
+
+import jakarta.xml.ws.WebServiceException;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link Tube} in front of the transport that sets the
+ * {@link Packet#endpointAddress} of each request to one of the addresses of
+ * {@link LoadBalancingFeature}, whatever address the request had.
+ *
+ * <p>
+ * The address is the better of two picked at random among the ones that are
+ * not left out, so that the state of the addresses is only read, and a busy
+ * address doesn't get all the requests of a burst. An address that has just
+ * been put back loses to the other one in proportion to the time left before
+ * it is fully back.
+ *
+ * <p>
+ * {@link com.sun.xml.ws.transport.DeferredTransportPipe} keeps a transport for
+ * each address, so their connections are reused.
+ */
+public class LoadBalancingTube extends AbstractFilterTubeImpl {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadBalancingTube.class.getName());
+
+    // weight of the latest latency in the moving average
+    private static final double ALPHA = 0.3;
+
+    private final LoadBalancingFeature.Policy policy;
+    private final long ejectionTime;
+    private final Instance[] instances;
+
+    // address of the request on its way, a tube processes one at a time
+    private Instance pending;
+    private long started;
+
+    public LoadBalancingTube(@NotNull LoadBalancingFeature feature, @NotNull Tube next) {
+        super(next);
+        this.policy = feature.getPolicy();
+        this.ejectionTime = TimeUnit.SECONDS.toNanos(feature.getEjectionTime());
+        this.instances = new Instance[feature.getAddresses().size()];
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = new Instance(EndpointAddress.create(feature.getAddresses().get(i)),
+                    feature.getMaxFailures(), ejectionTime);
+        }
+    }
+
+    /**
+     * Copy constructor.
+     */
+    protected LoadBalancingTube(LoadBalancingTube that, TubeCloner cloner) {
+        super(that, cloner);
+        this.policy = that.policy;
+        this.ejectionTime = that.ejectionTime;
+        this.instances = that.instances;
+    }
+
+    @Override
+    public LoadBalancingTube copy(TubeCloner cloner) {
+        return new LoadBalancingTube(this, cloner);
+    }
+
+    @Override
+    public @NotNull NextAction processRequest(@NotNull Packet request) {
+        long now = System.nanoTime();
+        Instance instance = choose(now);
+        instance.outstanding.incrementAndGet();
+        pending = instance;
+        started = now;
+        request.endpointAddress = instance.address;
+        return super.processRequest(request);
+    }
+
+    @Override
+    public @NotNull NextAction processResponse(@NotNull Packet response) {
+        Instance instance = pending;
+        pending = null;
+        if (instance != null) {
+            instance.outstanding.decrementAndGet();
+            instance.succeeded(System.nanoTime() - started);
+        }
+        return super.processResponse(response);
+    }
+
+    @Override
+    public @NotNull NextAction processException(@NotNull Throwable t) {
+        Instance instance = pending;
+        pending = null;
+        if (instance != null) {
+            instance.outstanding.decrementAndGet();
+            if (t instanceof WebServiceException && t.getCause() instanceof IOException) {
+                instance.failed(System.nanoTime());
+            }
+        }
+        return super.processException(t);
+    }
+
+    private Instance choose(long now) {
+        if (instances.length == 1) {
+            return instances[0];
+        }
+        Instance a = pick(now, null);
+        Instance b = pick(now, a);
+        if (b == null) {
+            return a;
+        }
+        if (score(b) < score(a)) {
+            Instance t = a;
+            a = b;
+            b = t;
+        }
+        double weight = a.weight(now, ejectionTime);
+        return weight < 1 && ThreadLocalRandom.current().nextDouble() >= weight ? b : a;
+    }
+
+    /**
+     * Picks an address at random among the ones that are not left out, or
+     * among all of them if they all are.
+     *
+     * @return null if there is no other address than the given one
+     */
+    private Instance pick(long now, Instance other) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int n = instances.length;
+        int start = random.nextInt(n);
+        Instance fallback = null;
+        for (int i = 0; i < n; i++) {
+            Instance instance = instances[(start + i) % n];
+            if (instance == other) {
+                continue;
+            }
+            if (!instance.isEjected(now)) {
+                return instance;
+            }
+            if (fallback == null) {
+                fallback = instance;
+            }
+        }
+        return other == null || other.isEjected(now) ? fallback : null;
+    }
+
+    private double score(Instance instance) {
+        int outstanding = instance.outstanding.get();
+        if (policy == LoadBalancingFeature.Policy.EWMA) {
+            return (instance.latency + 1) * (outstanding + 1);
+        }
+        return outstanding;
+    }
+
+    /**
+     * Endpoint address, and what is known about it.
+     */
+    static final class Instance {
+        final EndpointAddress address;
+        private final int maxFailures;
+        private final long ejectionTime;
+        final AtomicInteger outstanding = new AtomicInteger();
+        // moving average in nanoseconds
+        volatile double latency;
+
+        // guarded by this
+        private int failures;
+        private int ejections;
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+
+        Instance(EndpointAddress address, int maxFailures, long ejectionTime) {
+            this.address = address;
+            this.maxFailures = maxFailures;
+            this.ejectionTime = ejectionTime;
+        }
+
+        boolean isEjected(long now) {
+            return ejected && ejectedUntil - now > 0;
+        }
+
+        /**
+         * @return share of its requests the address gets back, growing from
+         *         0 to 1 over the given time once it is no longer left out
+         */
+        double weight(long now, long rampUp) {
+            if (!ejected) {
+                return 1;
+            }
+            long back = now - ejectedUntil;
+            return back >= rampUp ? 1 : Math.max(0, (double) back / rampUp);
+        }
+
+        synchronized void succeeded(long nanos) {
+            failures = 0;
+            latency = latency == 0 ? nanos : latency + ALPHA * (nanos - latency);
+            if (ejected && weight(System.nanoTime(), ejectionTime) >= 1) {
+                ejected = false;
+                ejections = 0;
+            }
+        }
+
+        synchronized void failed(long now) {
+            if (isEjected(now) || ++failures < maxFailures) {
+                return;
+            }
+            failures = 0;
+            ejections = Math.min(ejections + 1, 10);
+            ejectedUntil = now + ejectionTime * ejections;
+            ejected = true;
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Leaving {0} out for {1} s", new Object[] {address,
+                        TimeUnit.NANOSECONDS.toSeconds(ejectionTime * ejections)});
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ package com.sun.xml.ws.client;
 
 import com.sun.xml.ws.api.model.wsdl.WSDLService;
 import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.util.Pool;
 
 import java.util.Map;
 
@@ -65,6 +66,13 @@ public final class MonitorRootClient extends com.sun.xml.ws.server.MonitorBase {
     @ManagedAttribute
     private WSDLService wsdlService() { return stub.owner.getWsdlService(); }
 
+    //
+    // From Stub
+    //
+
+    @ManagedAttribute
+    private Pool<?> tubelinePool() { return stub.getTubes(); }
+
     
         
 }
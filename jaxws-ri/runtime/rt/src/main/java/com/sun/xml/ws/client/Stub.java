@@ -44,6 +44,8 @@ import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.api.server.ContainerResolver;
 import com.sun.xml.ws.binding.BindingImpl;
 import com.sun.xml.ws.developer.JAXWSProperties;
+import com.sun.xml.ws.developer.TubelineWarmUpFeature;
+import com.sun.xml.ws.developer.VirtualThreadsFeature;
 import com.sun.xml.ws.developer.WSBindingProvider;
 import com.sun.xml.ws.model.wsdl.WSDLDirectProperties;
 import com.sun.xml.ws.model.wsdl.WSDLPortProperties;
@@ -262,7 +264,7 @@ public abstract class Stub implements WSBindingProvider, ResponseContextReceiver
             } else {
                 this.requestContext.setEndpointAddress(defaultEndPointAddress);
             }
-            this.engine = new Engine(getStringId(), owner.getContainer(), owner.getExecutor());
+            this.engine = new Engine(getStringId(), owner.getContainer(), owner.getExecutor(), VirtualThreadsFeature.isEnabled(binding));
             this.endpointReference = epr;
             wsdlProperties = (wsdlPort == null) ? new WSDLDirectProperties(owner.getServiceName(), portname) : new WSDLPortProperties(wsdlPort);
             
@@ -284,6 +286,9 @@ public abstract class Stub implements WSBindingProvider, ResponseContextReceiver
             // This needs to happen after createPipeline.
             // TBD: Check if it needs to happen outside the Stub constructor.
             managedObjectManager.resumeJMXRegistration();
+
+            // proxies may be created per call, so only the ones asking for it are warmed up
+            tubes.fillInBackground(TubelineWarmUpFeature.getSize(binding, 0), owner.getContainer());
         } finally {
             ContainerResolver.getDefault().exitContainer(old);
         }
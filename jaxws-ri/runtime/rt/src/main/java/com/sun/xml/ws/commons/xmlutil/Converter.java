@@ -71,6 +71,45 @@ public final class Converter {
         return toString(packet.getMessage());
     }
     
+    /**
+     * Converts the message of a packet to String, rendering no more than the
+     * given number of characters. A longer message is cut short, and followed
+     * by "..." on a new line.
+     *
+     * @param limit maximum number of characters of the message to render
+     */
+    public static String toString(Packet packet, int limit) {
+        if (packet == null) {
+            return "[ Null packet ]";
+        } else if (packet.getMessage() == null) {
+            return "[ Empty packet ]";
+        }
+
+        LimitedWriter out = new LimitedWriter(limit);
+        XMLStreamWriter writer = null;
+        try {
+            writer = createIndenter(xmlOutputFactory.get().createXMLStreamWriter(out));
+            // the copy is still made in full, on the calling thread;
+            // only the rendering stops at the limit
+            packet.getMessage().copy().writeTo(writer);
+            writer.flush();
+        } catch (Exception e) {
+            // rendering is aborted once the limit is reached
+            if (!out.isFull()) {
+                LOGGER.log(Level.WARNING, "Unexpected exception occured while dumping message", e);
+            }
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (XMLStreamException ignored) {
+                    LOGGER.finest("Unexpected exception occured while closing XMLStreamWriter", ignored);
+                }
+            }
+        }
+        return out.isFull() ? out + System.lineSeparator() + "..." : out.toString();
+    }
+
     public static String toStringNoIndent(Packet packet) {
         if (packet == null) {
             return "[ Null packet ]";
@@ -177,6 +216,50 @@ public final class Converter {
         }
     }
 
+    /**
+     * {@link Writer} that keeps the first characters written to it, and
+     * fails once it has got more.
+     */
+    private static final class LimitedWriter extends Writer {
+        private final StringBuilder sb = new StringBuilder();
+        private final int limit;
+        private boolean full;
+
+        LimitedWriter(int limit) {
+            this.limit = Math.max(limit, 0);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (full) {
+                throw new IOException("Dump limit reached");
+            }
+            int n = Math.min(len, limit - sb.length());
+            sb.append(cbuf, off, n);
+            if (n < len) {
+                full = true;
+                throw new IOException("Dump limit reached");
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        boolean isFull() {
+            return full;
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+
     /**
      * Wraps {@link javax.xml.stream.XMLStreamWriter} by an indentation engine if possible.
      *
@@ -58,7 +58,8 @@ public final class DatabindingImpl implements Databinding {
 //    QNameMap<TieHandler> wsdlOpMap = new QNameMap<TieHandler>();
     Map<JavaMethodImpl, TieHandler> wsdlOpMap = new HashMap<>();
     Map<Method, TieHandler> tieHandlers = new HashMap<>();
-    OperationDispatcher operationDispatcher;
+    // published once by freeze, read without locking
+    volatile OperationDispatcher operationDispatcher;
     OperationDispatcher operationDispatcherNoWsdl;
     boolean clientConfig = false;
     Codec codec;
@@ -147,11 +148,10 @@ public final class DatabindingImpl implements Databinding {
     JavaMethodImpl resolveJavaMethod(Packet req) throws DispatchException {
         WSDLOperationMapping m = req.getWSDLOperationMapping();
         if (m == null) {
-            synchronized (this) {
-                m = (operationDispatcher != null)
-                        ? operationDispatcher.getWSDLOperationMapping(req)
-                        : operationDispatcherNoWsdl.getWSDLOperationMapping(req);
-            }
+            OperationDispatcher dispatcher = operationDispatcher;
+            m = (dispatcher != null)
+                    ? dispatcher.getWSDLOperationMapping(req)
+                    : operationDispatcherNoWsdl.getWSDLOperationMapping(req);
         }
         return (JavaMethodImpl) m.getJavaMethod();
     }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.pipe.Fiber;
+
+import jakarta.xml.ws.WebServiceFeature;
+import java.net.http.HttpClient;
+
+/**
+ * Makes a proxy or a {@link jakarta.xml.ws.Dispatch} use the non-blocking
+ * HTTP transport built on {@link HttpClient}. While the request is on the
+ * wire, the {@link Fiber} of an asynchronous invocation is suspended and
+ * doesn't hold any thread; it is resumed when the response has arrived.
+ *
+ * <p>
+ * The transport uses an {@link HttpClient} shared by all the proxies, unless
+ * one is passed to this feature. Since {@link HttpClient} is configured as
+ * a whole, per-request properties like {@link JAXWSProperties#SSL_SOCKET_FACTORY},
+ * {@link JAXWSProperties#HOSTNAME_VERIFIER} or {@link JAXWSProperties#CONNECT_TIMEOUT}
+ * are not honoured; configure the passed client instead.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ */
+public final class AsyncHttpTransportFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link AsyncHttpTransportFeature} feature.
+     */
+    public static final String ID = "http://jax-ws.java.net/features/async-http-transport";
+
+    private final HttpClient httpClient;
+
+    /**
+     * Creates the feature using the shared {@link HttpClient}.
+     */
+    public AsyncHttpTransportFeature() {
+        this(null);
+    }
+
+    /**
+     * Creates the feature using the given {@link HttpClient}.
+     *
+     * @param httpClient client used to send the requests,
+     *                   null for the shared one
+     */
+    public AsyncHttpTransportFeature(@Nullable HttpClient httpClient) {
+        this.enabled = true;
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public String getID() {
+        return ID;
+    }
+
+    /**
+     * @return the {@link HttpClient} given to this feature, null for the shared one
+     */
+    public @Nullable HttpClient getHttpClient() {
+        return httpClient;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import jakarta.xml.ws.spi.WebServiceFeatureAnnotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the number of requests an HTTP endpoint processes at the same time.
+ *
+ * <pre>
+ * for e.g.:
+ *
+ * &#64;WebService
+ * &#64;ConcurrencyLimit(maxLimit=200, priorities={"audit=30"})
+ * public class QuoteImpl {
+ *   ...
+ * }
+ * </pre>
+ *
+ * @see ConcurrencyLimitFeature
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD})
+@Documented
+@WebServiceFeatureAnnotation(id = ConcurrencyLimitFeature.ID, bean = ConcurrencyLimitFeature.class)
+public @interface ConcurrencyLimit {
+
+    /**
+     * Limit to start with.
+     */
+    int initialLimit() default 20;
+
+    /**
+     * Lowest limit.
+     */
+    int minLimit() default 1;
+
+    /**
+     * Highest limit.
+     */
+    int maxLimit() default 1000;
+
+    /**
+     * Operation priorities in the form {@code operationName=priority}, where
+     * priority is the percentage of the limit available to the operation.
+     */
+    String[] priorities() default {};
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+
+import jakarta.xml.ws.WebServiceFeature;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits the number of requests an HTTP endpoint processes at the same time,
+ * and rejects the excess ones with HTTP 503 (Service Unavailable) and a SOAP
+ * Server fault before they are parsed.
+ *
+ * <p>
+ * The limit is not fixed. It starts at {@link #getInitialLimit()} and is
+ * adjusted from the observed latency of the requests: it grows while latency
+ * stays close to its long-term average, and shrinks when latency goes up,
+ * which is what happens when requests start to queue up. It never leaves
+ * the range given by {@link #getMinLimit()} and {@link #getMaxLimit()}.
+ *
+ * <p>
+ * Operations can be given a priority between 1 and 100 (the default).
+ * Requests for an operation are admitted while the number of requests in
+ * progress is below that percentage of the current limit, so lower priority
+ * operations are shed first. Operations are recognized by their SOAP action,
+ * as the request is not parsed yet when it is admitted; operations without a
+ * distinct SOAP action get the default priority.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @see ConcurrencyLimit
+ */
+public class ConcurrencyLimitFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link ConcurrencyLimitFeature}
+     */
+    public static final String ID = "http://jax-ws.java.net/features/concurrency-limit";
+
+    /**
+     * Priority of operations that have no priority set.
+     */
+    public static final int DEFAULT_PRIORITY = 100;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Map<String, Integer> priorities = new HashMap<>();
+
+    /**
+     * Creates an enabled {@code ConcurrencyLimitFeature} with a limit
+     * between 1 and 1000, starting at 20.
+     */
+    public ConcurrencyLimitFeature() {
+        this(20, 1, 1000, new String[0]);
+    }
+
+    /**
+     * Creates an enabled {@code ConcurrencyLimitFeature}.
+     *
+     * @param initialLimit limit to start with
+     * @param minLimit lowest limit
+     * @param maxLimit highest limit
+     * @param priorities operation priorities in the form
+     *        {@code operationName=priority}, for e.g. {@code "getQuote=50"}
+     */
+    @FeatureConstructor({"initialLimit", "minLimit", "maxLimit", "priorities"})
+    public ConcurrencyLimitFeature(int initialLimit, int minLimit, int maxLimit, String[] priorities) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits: initial " + initialLimit
+                    + ", min " + minLimit + ", max " + maxLimit);
+        }
+        this.enabled = true;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        for (String p : priorities) {
+            int i = p.lastIndexOf('=');
+            if (i <= 0) {
+                throw new IllegalArgumentException("Invalid priority, operationName=priority expected: " + p);
+            }
+            try {
+                setPriority(p.substring(0, i).trim(), Integer.parseInt(p.substring(i + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid priority, operationName=priority expected: " + p, e);
+            }
+        }
+    }
+
+    @Override
+    public String getID() {
+        return ID;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Sets the priority of an operation.
+     *
+     * @param operationName local name of the WSDL operation
+     * @param priority percentage of the limit available to the operation, between 1 and 100
+     */
+    public void setPriority(String operationName, int priority) {
+        if (priority < 1 || priority > 100) {
+            throw new IllegalArgumentException("Priority must be between 1 and 100: " + priority);
+        }
+        priorities.put(operationName, priority);
+    }
+
+    /**
+     * @param operationName local name of the WSDL operation
+     * @return the priority of the operation, {@link #DEFAULT_PRIORITY} if none is set
+     */
+    public int getPriority(String operationName) {
+        Integer p = priorities.get(operationName);
+        return p != null ? p : DEFAULT_PRIORITY;
+    }
+
+    /**
+     * @return priorities set so far, keyed by operation name
+     */
+    public Map<String, Integer> getPriorities() {
+        return Collections.unmodifiableMap(priorities);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import jakarta.xml.ws.spi.WebServiceFeatureAnnotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the requests of idempotent operations of a port more than once when
+ * that is likely to get their response sooner.
+ *
+ * <pre>
+ * for e.g.:
+ *
+ * &#64;WebServiceRef
+ * &#64;Hedging(operations={"getCountry", "getRates"})
+ * ReferenceDataService service;
+ * </pre>
+ *
+ * @see HedgingFeature
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD})
+@Documented
+@WebServiceFeatureAnnotation(id = HedgingFeature.ID, bean = HedgingFeature.class)
+public @interface Hedging {
+
+    /**
+     * Local names of the idempotent WSDL operations.
+     */
+    String[] operations();
+
+    /**
+     * Percentile of the latency of an operation past which its requests are
+     * sent again, from 1 to 99, 0 not to hedge requests.
+     */
+    int percentile() default 95;
+
+    /**
+     * Number of times a request that fails to reach the endpoint is sent again.
+     */
+    int maxRetries() default 2;
+}
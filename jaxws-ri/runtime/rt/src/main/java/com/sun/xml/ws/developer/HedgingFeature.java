@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+import com.sun.xml.ws.api.message.Packet;
+
+import jakarta.xml.ws.BindingProvider;
+import jakarta.xml.ws.WebServiceFeature;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Sends the requests of idempotent operations of a proxy or a
+ * {@link jakarta.xml.ws.Dispatch} more than once when that is likely to get
+ * their response sooner.
+ *
+ * <p>
+ * When a request of one of the operations listed has been waiting for longer
+ * than {@link #getPercentile() the given percentile} of the recent latencies
+ * of its operation, a second, identical request is sent. The first response
+ * wins, and the {@link com.sun.xml.ws.api.pipe.Fiber} of the other request
+ * is cancelled. A request that fails to reach the endpoint, for e.g. because
+ * the connection is refused or times out, is sent again up to
+ * {@link #getMaxRetries()} times.
+ *
+ * <p>
+ * When the {@link JAXWSProperties#REQUEST_TIMEOUT}
+ * is set, all the attempts of a request have to be answered within it, plus
+ * the {@link JAXWSProperties#CONNECT_TIMEOUT} if it is set too; the time a
+ * single attempt could take. Otherwise, only the number of retries is bounded.
+ *
+ * <p>
+ * Only operations that can safely be invoked more than once should be listed.
+ * Requests are copied with {@link Packet#copy(boolean)} before they are sent,
+ * after the handlers and the other tubes of the port have processed them, so
+ * identical copies go out; endpoints that reject replayed messages will
+ * reject the duplicates.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @see Hedging
+ * @see BindingProvider#getRequestContext()
+ */
+public class HedgingFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link HedgingFeature}
+     */
+    public static final String ID = "http://jax-ws.java.net/features/hedging";
+
+    private final Set<String> operations = new HashSet<>();
+    private final int percentile;
+    private final int maxRetries;
+
+    /**
+     * Creates an enabled {@code HedgingFeature} that hedges requests of the
+     * given operations past the 95th percentile of their latency, and retries
+     * them twice.
+     *
+     * @param operations local names of the idempotent WSDL operations
+     */
+    public HedgingFeature(String... operations) {
+        this(operations, 95, 2);
+    }
+
+    /**
+     * Creates an enabled {@code HedgingFeature}.
+     *
+     * @param operations local names of the idempotent WSDL operations
+     * @param percentile percentile of the latency of an operation past which
+     *        its requests are sent again, from 1 to 99, 0 not to hedge requests
+     * @param maxRetries number of times a request that fails to reach the
+     *        endpoint is sent again
+     */
+    @FeatureConstructor({"operations", "percentile", "maxRetries"})
+    public HedgingFeature(String[] operations, int percentile, int maxRetries) {
+        if (percentile < 0 || percentile > 99 || maxRetries < 0) {
+            throw new IllegalArgumentException("Invalid percentile " + percentile
+                    + " or maxRetries " + maxRetries);
+        }
+        this.enabled = true;
+        this.percentile = percentile;
+        this.maxRetries = maxRetries;
+        for (String op : operations) {
+            this.operations.add(op.trim());
+        }
+    }
+
+    @Override
+    public String getID() {
+        return ID;
+    }
+
+    /**
+     * @param operationName local name of the WSDL operation
+     * @return true if the requests of the operation may be sent more than once
+     */
+    public boolean isIdempotent(String operationName) {
+        return operations.contains(operationName);
+    }
+
+    /**
+     * @return local names of the idempotent WSDL operations
+     */
+    public Set<String> getOperations() {
+        return Collections.unmodifiableSet(operations);
+    }
+
+    /**
+     * @return percentile of the latency of an operation past which its
+     *         requests are sent again, 0 if they are not
+     */
+    public int getPercentile() {
+        return percentile;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+}
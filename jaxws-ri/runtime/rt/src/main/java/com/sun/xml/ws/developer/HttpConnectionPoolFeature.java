@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.transport.http.client.HttpConnectionPool;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedData;
+
+import jakarta.xml.ws.WebServiceFeature;
+import java.net.http.HttpClient;
+
+/**
+ * Makes a proxy or a {@link jakarta.xml.ws.Dispatch} use the non-blocking
+ * HTTP transport (see {@link AsyncHttpTransportFeature}) with a connection
+ * pool shared by all the ports configured with the same settings.
+ *
+ * <p>
+ * With {@link HttpClient.Version#HTTP_2}, which is the default, HTTP/2 is
+ * negotiated with ALPN for {@code https} endpoints and requested with
+ * an {@code h2c} upgrade for {@code http} ones, and many exchanges to
+ * a host are multiplexed over one connection; servers which don't support
+ * HTTP/2 are talked to with HTTP/1.1.
+ *
+ * <p>
+ * The statistics of the pool are available from {@link #getConnectionPool()}.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ */
+@ManagedData
+public final class HttpConnectionPoolFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link HttpConnectionPoolFeature} feature.
+     */
+    public static final String ID = "http://jax-ws.java.net/features/http-connection-pool";
+
+    private final HttpClient.Version version;
+    private final int maxConnectionsPerHost;
+    private final int connectTimeout;
+    private final int maxQueuedRequestsPerHost;
+
+    /**
+     * Creates the feature for HTTP/2 without limits.
+     */
+    public HttpConnectionPoolFeature() {
+        this(HttpClient.Version.HTTP_2, 0, 0);
+    }
+
+    /**
+     * Creates the feature.
+     *
+     * @param version preferred HTTP version
+     * @param maxConnectionsPerHost maximum of exchanges in flight per host,
+     *                              further requests wait for a free slot;
+     *                              0 for no limit
+     * @param connectTimeout connect timeout in milliseconds, 0 for none
+     */
+    public HttpConnectionPoolFeature(@NotNull HttpClient.Version version, int maxConnectionsPerHost, int connectTimeout) {
+        this(version, maxConnectionsPerHost, connectTimeout, HttpConnectionPool.DEFAULT_MAX_QUEUED_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * Creates the feature.
+     *
+     * @param version preferred HTTP version
+     * @param maxConnectionsPerHost maximum of exchanges in flight per host,
+     *                              further requests wait for a free slot;
+     *                              0 for no limit
+     * @param connectTimeout connect timeout in milliseconds, 0 for none
+     * @param maxQueuedRequestsPerHost maximum of requests waiting for a free
+     *                                 slot per host, further requests fail
+     */
+    public HttpConnectionPoolFeature(@NotNull HttpClient.Version version, int maxConnectionsPerHost, int connectTimeout,
+                                     int maxQueuedRequestsPerHost) {
+        if (maxConnectionsPerHost < 0 || connectTimeout < 0 || maxQueuedRequestsPerHost < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.enabled = true;
+        this.version = version;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.connectTimeout = connectTimeout;
+        this.maxQueuedRequestsPerHost = maxQueuedRequestsPerHost;
+    }
+
+    @Override
+    @ManagedAttribute
+    public String getID() {
+        return ID;
+    }
+
+    public @NotNull HttpClient.Version getVersion() {
+        return version;
+    }
+
+    @ManagedAttribute
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    @ManagedAttribute
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    @ManagedAttribute
+    public int getMaxQueuedRequestsPerHost() {
+        return maxQueuedRequestsPerHost;
+    }
+
+    /**
+     * @return the pool the ports with this feature use
+     */
+    @ManagedAttribute
+    public @NotNull HttpConnectionPool getConnectionPool() {
+        return HttpConnectionPool.get(version, connectTimeout, maxConnectionsPerHost, maxQueuedRequestsPerHost);
+    }
+}
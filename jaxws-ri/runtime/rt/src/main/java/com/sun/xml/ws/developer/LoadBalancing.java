@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import jakarta.xml.ws.spi.WebServiceFeatureAnnotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Spreads the requests of a port over several endpoint addresses, which
+ * take the place of {@link jakarta.xml.ws.BindingProvider#ENDPOINT_ADDRESS_PROPERTY}.
+ *
+ * <pre>
+ * for e.g.:
+ *
+ * &#64;WebServiceRef
+ * &#64;LoadBalancing(addresses={"http://ref1:8080/data", "http://ref2:8080/data"})
+ * ReferenceDataService service;
+ * </pre>
+ *
+ * @see LoadBalancingFeature
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD})
+@Documented
+@WebServiceFeatureAnnotation(id = LoadBalancingFeature.ID, bean = LoadBalancingFeature.class)
+public @interface LoadBalancing {
+
+    /**
+     * Endpoint addresses.
+     */
+    String[] addresses();
+
+    /**
+     * How the address of a request is chosen.
+     */
+    LoadBalancingFeature.Policy policy() default LoadBalancingFeature.Policy.LEAST_OUTSTANDING;
+
+    /**
+     * Number of failures in a row after which an address is left out.
+     */
+    int maxFailures() default 3;
+
+    /**
+     * Number of seconds an address is left out for the first time, and over
+     * which it is then put back.
+     */
+    int ejectionTime() default 30;
+}
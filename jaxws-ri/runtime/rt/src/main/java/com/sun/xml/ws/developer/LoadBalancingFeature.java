@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+
+import jakarta.xml.ws.BindingProvider;
+import jakarta.xml.ws.WebServiceFeature;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Spreads the requests of a proxy or a {@link jakarta.xml.ws.Dispatch} over
+ * several endpoint addresses, in place of the one of the WSDL or of
+ * {@link BindingProvider#ENDPOINT_ADDRESS_PROPERTY}.
+ *
+ * <p>
+ * Each request goes to the better of two addresses picked at random, the one
+ * with the fewest requests on their way with {@link Policy#LEAST_OUTSTANDING},
+ * or with the lowest average latency weighted by its requests on their way
+ * with {@link Policy#EWMA}. An address that fails {@link #getMaxFailures()}
+ * requests in a row, as the connection is refused or times out, is left out
+ * for {@link #getEjectionTime()} seconds, longer each time it is left out
+ * again. It then gets a growing share of the requests over as many seconds.
+ * When all the addresses are left out, they are all used.
+ *
+ * <p>
+ * The address of every request is overwritten, so
+ * {@link BindingProvider#ENDPOINT_ADDRESS_PROPERTY}, whether it is set on the
+ * request context or by a handler, is ignored while the feature is enabled.
+ * To send requests to another address, create the proxy or the dispatch
+ * without this feature, or with other addresses.
+ *
+ * <p>
+ * The transports, and so the connections, of the addresses are kept and
+ * reused as usual.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @see LoadBalancing
+ */
+public class LoadBalancingFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link LoadBalancingFeature}
+     */
+    public static final String ID = "http://jax-ws.java.net/features/load-balancing";
+
+    /**
+     * How the address of a request is chosen.
+     */
+    public enum Policy {
+        /**
+         * The address with the fewest requests on their way.
+         */
+        LEAST_OUTSTANDING,
+        /**
+         * The address with the lowest exponentially weighted moving average
+         * of its latency, times the number of requests on their way plus one.
+         */
+        EWMA
+    }
+
+    private final List<String> addresses = new ArrayList<>();
+    private final Policy policy;
+    private final int maxFailures;
+    private final int ejectionTime;
+
+    /**
+     * Creates an enabled {@code LoadBalancingFeature} that sends requests to
+     * the address with the fewest requests on their way, and leaves an address
+     * out for 30 seconds after 3 failures in a row.
+     *
+     * @param addresses endpoint addresses
+     */
+    public LoadBalancingFeature(String... addresses) {
+        this(addresses, Policy.LEAST_OUTSTANDING, 3, 30);
+    }
+
+    /**
+     * Creates an enabled {@code LoadBalancingFeature}.
+     *
+     * @param addresses endpoint addresses
+     * @param policy how the address of a request is chosen
+     * @param maxFailures number of failures in a row after which an address
+     *        is left out
+     * @param ejectionTime number of seconds an address is left out for the
+     *        first time, and over which it is then put back
+     */
+    @FeatureConstructor({"addresses", "policy", "maxFailures", "ejectionTime"})
+    public LoadBalancingFeature(String[] addresses, Policy policy, int maxFailures, int ejectionTime) {
+        if (addresses.length == 0 || policy == null || maxFailures < 1 || ejectionTime < 1) {
+            throw new IllegalArgumentException("Invalid load balancing: " + addresses.length + " addresses, policy "
+                    + policy + ", maxFailures " + maxFailures + ", ejectionTime " + ejectionTime);
+        }
+        this.enabled = true;
+        this.policy = policy;
+        this.maxFailures = maxFailures;
+        this.ejectionTime = ejectionTime;
+        for (String a : addresses) {
+            this.addresses.add(a.trim());
+        }
+    }
+
+    @Override
+    public String getID() {
+        return ID;
+    }
+
+    public List<String> getAddresses() {
+        return Collections.unmodifiableList(addresses);
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    /**
+     * @return number of seconds an address is left out for the first time
+     */
+    public int getEjectionTime() {
+        return ejectionTime;
+    }
+}
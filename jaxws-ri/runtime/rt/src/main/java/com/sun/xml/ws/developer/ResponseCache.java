@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import jakarta.xml.ws.spi.WebServiceFeatureAnnotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the responses of read-only operations of an endpoint, or of a port
+ * when used on a client.
+ *
+ * <pre>
+ * for e.g.:
+ *
+ * &#64;WebService
+ * &#64;ResponseCache(operations={"getCountry", "getRates=10"})
+ * public class ReferenceDataImpl {
+ *   ...
+ * }
+ * </pre>
+ *
+ * @see ResponseCacheFeature
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD})
+@Documented
+@WebServiceFeatureAnnotation(id = ResponseCacheFeature.ID, bean = ResponseCacheFeature.class)
+public @interface ResponseCache {
+
+    /**
+     * Operations to cache, either {@code operationName} to use the default
+     * time to live, or {@code operationName=seconds}.
+     */
+    String[] operations();
+
+    /**
+     * Default time to live of responses, in seconds.
+     */
+    int ttl() default 60;
+
+    /**
+     * Maximum number of responses kept.
+     */
+    int maxEntries() default 1000;
+
+    /**
+     * Maximum number of bytes of the responses kept.
+     */
+    long maxSize() default 16 * 1024 * 1024;
+
+    /**
+     * SOAP headers that requests are told apart by, as {@code {namespace}localName}.
+     */
+    String[] headers() default {};
+
+}
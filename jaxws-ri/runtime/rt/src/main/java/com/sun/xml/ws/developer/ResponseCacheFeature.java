@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+
+import jakarta.xml.ws.WebServiceFeature;
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the responses of read-only operations of an endpoint, so that
+ * requests identical to a recent one are answered without invoking the
+ * endpoint again.
+ *
+ * <p>
+ * Only the operations listed are cached. Requests are identical when they
+ * are for the same operation, have the same payload, and have the same
+ * values for the SOAP headers listed in {@link #getHeaders()}; other
+ * headers are ignored. Responses are kept for the time to live of their
+ * operation, and the least recently used ones are dropped once there are
+ * more than {@link #getMaxEntries()} of them, or once they take more than
+ * {@link #getMaxSize()} bytes. Faults, responses with attachments and
+ * one-way operations are never cached. The identity of the caller doesn't
+ * tell requests apart, so only operations whose responses are the same for
+ * every caller should be cached.
+ *
+ * <p>
+ * Handlers and the other tubes of the endpoint still see every request and
+ * response. Only the endpoint implementation is skipped, so operations that
+ * set transport properties of their response, for e.g. HTTP headers, should
+ * not be cached.
+ *
+ * <p>
+ * On a client port, this caches the responses of the operations listed,
+ * sent to the same endpoint address, and also sends identical requests made
+ * at the same time only once, see {@link com.sun.xml.ws.client.ClientResponseCacheTube}.
+ * Handlers of the port don't see the requests that are answered from the
+ * cache. Proxies and dispatches created from the same service with the same
+ * instance of this feature share their responses.
+ *
+ * <p>
+ * A response that is answered from the cache, or shared with an identical
+ * request made at the same time, doesn't go back through the handlers or the
+ * security tube of the port either. Only the request that went over the
+ * network gets the response as it came back. The request context, for e.g.
+ * credentials or HTTP headers set for the request, doesn't tell requests
+ * apart, so only operations whose responses don't depend on it should be
+ * cached.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @see ResponseCache
+ */
+public class ResponseCacheFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link ResponseCacheFeature}
+     */
+    public static final String ID = "http://jax-ws.java.net/features/response-cache";
+
+    private final int ttl;
+    private final int maxEntries;
+    private final long maxSize;
+    // time to live in seconds keyed by operation name
+    private final Map<String, Integer> operations = new HashMap<>();
+    private final List<QName> headers = new ArrayList<>();
+
+    /**
+     * Creates an enabled {@code ResponseCacheFeature} that caches no operation
+     * until {@link #setTimeToLive(String, int)} is called.
+     */
+    public ResponseCacheFeature() {
+        this(new String[0], 60, 1000, 16 * 1024 * 1024, new String[0]);
+    }
+
+    /**
+     * Creates an enabled {@code ResponseCacheFeature}.
+     *
+     * @param operations operations to cache, either {@code operationName} to
+     *        use the default time to live, or {@code operationName=seconds}
+     * @param ttl default time to live of responses, in seconds
+     * @param maxEntries maximum number of responses kept
+     * @param maxSize maximum number of bytes of the responses kept
+     * @param headers SOAP headers that requests are told apart by, as
+     *        {@code {namespace}localName}
+     */
+    @FeatureConstructor({"operations", "ttl", "maxEntries", "maxSize", "headers"})
+    public ResponseCacheFeature(String[] operations, int ttl, int maxEntries, long maxSize, String[] headers) {
+        if (ttl < 1 || maxEntries < 1 || maxSize < 1) {
+            throw new IllegalArgumentException("Invalid bounds: ttl " + ttl
+                    + ", maxEntries " + maxEntries + ", maxSize " + maxSize);
+        }
+        this.enabled = true;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.maxSize = maxSize;
+        for (String op : operations) {
+            int i = op.lastIndexOf('=');
+            if (i < 0) {
+                setTimeToLive(op.trim(), ttl);
+                continue;
+            }
+            try {
+                setTimeToLive(op.substring(0, i).trim(), Integer.parseInt(op.substring(i + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid operation, operationName=seconds expected: " + op, e);
+            }
+        }
+        for (String h : headers) {
+            this.headers.add(QName.valueOf(h.trim()));
+        }
+    }
+
+    @Override
+    public String getID() {
+        return ID;
+    }
+
+    /**
+     * @return default time to live of responses, in seconds
+     */
+    public int getTimeToLive() {
+        return ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Caches the responses of an operation.
+     *
+     * @param operationName local name of the WSDL operation
+     * @param seconds time to live of its responses
+     */
+    public void setTimeToLive(String operationName, int seconds) {
+        if (operationName.isEmpty() || seconds < 1) {
+            throw new IllegalArgumentException("Invalid time to live of '" + operationName + "': " + seconds);
+        }
+        operations.put(operationName, seconds);
+    }
+
+    /**
+     * @param operationName local name of the WSDL operation
+     * @return time to live of the responses of the operation in seconds,
+     *         0 if they are not cached
+     */
+    public int getTimeToLive(String operationName) {
+        Integer s = operations.get(operationName);
+        return s != null ? s : 0;
+    }
+
+    /**
+     * @return operations cached so far, with their time to live in seconds
+     */
+    public Map<String, Integer> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    /**
+     * @return SOAP headers that requests are told apart by
+     */
+    public List<QName> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+}
@@ -70,6 +70,14 @@ public @interface SchemaValidation {
      */
     boolean outbound() default true;
 
+    /**
+     * Validates inbound requests of an endpoint while databinding reads them,
+     * instead of reading them once more beforehand.
+     *
+     * @see SchemaValidationFeature#isStreaming()
+     */
+    boolean streaming() default false;
+
     /*
       Does validation for bound headers in a SOAP message.
 
@@ -35,6 +35,7 @@ public class SchemaValidationFeature extends WebServiceFeature {
     private final Class<? extends ValidationErrorHandler> clazz;
     private final boolean inbound;
     private final boolean outbound;
+    private final boolean streaming;
 
     public SchemaValidationFeature() {
         this(true, true, DraconianValidationErrorHandler.class);
@@ -58,12 +59,22 @@ public class SchemaValidationFeature extends WebServiceFeature {
     /**
      * @since JAX-WS RI 2.2.2
      */
-    @FeatureConstructor({"inbound", "outbound", "handler"})
     public SchemaValidationFeature(boolean inbound, boolean outbound, Class<? extends ValidationErrorHandler> clazz) {
+        this(inbound, outbound, clazz, false);
+    }
+
+    /**
+     * @param streaming whether requests of an endpoint are validated while
+     *                  databinding reads them, see {@link #isStreaming()}
+     */
+    @FeatureConstructor({"inbound", "outbound", "handler", "streaming"})
+    public SchemaValidationFeature(boolean inbound, boolean outbound, Class<? extends ValidationErrorHandler> clazz,
+            boolean streaming) {
         this.enabled = true;
         this.inbound = inbound;
         this.outbound = outbound;
         this.clazz = clazz;
+        this.streaming = streaming;
     }
 
     @ManagedAttribute
@@ -99,4 +110,20 @@ public class SchemaValidationFeature extends WebServiceFeature {
     public boolean isOutbound() {
         return outbound;
     }
+
+    /**
+     * Validates the inbound requests of an endpoint as databinding reads their
+     * payload, so that it is parsed only once. An invalid request gets the
+     * same fault, and the endpoint method is not called.
+     *
+     * <p>
+     * Only requests without attachments that are read as a stream are
+     * validated this way. Others, and requests whose payload is read in
+     * another way, for e.g. by a {@link jakarta.xml.ws.Provider} or as a
+     * {@link jakarta.xml.soap.SOAPMessage}, are validated before they are
+     * read, as without this mode.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
 }
@@ -59,4 +59,10 @@ public @interface StreamingAttachment {
      */
     long memoryThreshold() default 1048576L;
 
+    /**
+     * Attachment parts are moved to files in {@link #dir()} and
+     * accessed through memory mappings of those files.
+     */
+    boolean memoryMapped() default false;
+
 }
@@ -48,16 +48,22 @@ public final class StreamingAttachmentFeature extends WebServiceFeature {
     private String dir;
     private boolean parseEagerly;
     private long memoryThreshold;
+    private boolean memoryMapped;
 
     public StreamingAttachmentFeature() {
     }
 
-    @FeatureConstructor({"dir","parseEagerly","memoryThreshold"})
     public StreamingAttachmentFeature(@Nullable String dir, boolean parseEagerly, long memoryThreshold) {
+        this(dir, parseEagerly, memoryThreshold, false);
+    }
+
+    @FeatureConstructor({"dir","parseEagerly","memoryThreshold","memoryMapped"})
+    public StreamingAttachmentFeature(@Nullable String dir, boolean parseEagerly, long memoryThreshold, boolean memoryMapped) {
         this.enabled = true;
         this.dir = dir;
         this.parseEagerly = parseEagerly;
         this.memoryThreshold = memoryThreshold;
+        this.memoryMapped = memoryMapped;
     }
 
     @Override
@@ -105,4 +111,26 @@ public final class StreamingAttachmentFeature extends WebServiceFeature {
         this.memoryThreshold = memoryThreshold;
     }
 
+    /**
+     * Attachment parts are moved to files in the configured directory and
+     * read through memory mappings of those files, so that forwarding or
+     * streaming them doesn't copy their content to the heap. The files are
+     * deleted once the attachment and all the streams opened on it are gone.
+     */
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
+    @ManagedAttribute
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * @return directory in which large attachments are stored, null for the default
+     */
+    public String getDir() {
+        return dir;
+    }
+
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.util.Pool;
+
+import jakarta.xml.ws.WebServiceFeature;
+
+/**
+ * Creates copies of the {@link Tube}line of a client port or an endpoint
+ * ahead of the first requests.
+ *
+ * <p>
+ * When this feature is present with a positive size, the runtime fills the
+ * tubeline {@link Pool} of the port or endpoint, as well as the pool of
+ * HTTP adapter toolkits of the endpoint, with the given number of copies
+ * on a background thread once the port or endpoint is created. The first
+ * concurrent requests then don't pay for the cloning of the tubeline.
+ * The number of copies kept is still bounded by the maximum idle
+ * count of the pool.
+ *
+ * <p>
+ * When the feature isn't present on the binding of an endpoint, the
+ * system-wide default given by the
+ * {@code com.sun.xml.ws.developer.TubelineWarmUpFeature.size} system property
+ * is used, which is 0 unless set. Client ports are only warmed up when they
+ * have the feature, as applications may create a proxy per call.
+ *
+ * <p>
+ * The copies are created on the {@link com.sun.xml.ws.util.BackgroundExecutor}
+ * of the container.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @see TubelineWarmUp
+ */
+public class TubelineWarmUpFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link TubelineWarmUpFeature}
+     */
+    public static final String ID = "http://jax-ws.java.net/features/tubeline-warm-up";
+
+    private static final int DEFAULT_SIZE =
+            Integer.getInteger(TubelineWarmUpFeature.class.getName() + ".size", 0);
+
+    private final int size;
+
+    /**
+     * Creates an enabled {@code TubelineWarmUpFeature}.
+     *
+     * @param size number of tubeline copies to create up front
+     */
+    @FeatureConstructor({"size"})
+    public TubelineWarmUpFeature(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size: " + size);
+        }
+        this.enabled = true;
+        this.size = size;
+    }
+
+    @Override
+    public String getID() {
+        return ID;
+    }
+
+    /**
+     * @return number of tubeline copies to create up front
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Tells how many tubeline copies should be created up front for the given binding.
+     *
+     * @param binding binding of the port or endpoint
+     * @return the size of the feature if it is enabled on the binding,
+     *         0 if it is disabled, otherwise the system-wide default
+     */
+    public static int getSize(WSBinding binding) {
+        return getSize(binding, DEFAULT_SIZE);
+    }
+
+    /**
+     * Tells how many tubeline copies should be created up front for the given binding.
+     *
+     * @param binding binding of the port or endpoint
+     * @param defaultSize size to use when the feature is not on the binding
+     * @return the size of the feature if it is enabled on the binding,
+     *         0 if it is disabled, otherwise the given default
+     */
+    public static int getSize(WSBinding binding, int defaultSize) {
+        TubelineWarmUpFeature f = binding.getFeature(TubelineWarmUpFeature.class);
+        if (f == null) {
+            return defaultSize;
+        }
+        return f.isEnabled() ? f.getSize() : 0;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.pipe.Engine;
+import com.sun.xml.ws.api.pipe.Fiber;
+
+import jakarta.xml.ws.WebServiceFeature;
+
+/**
+ * Runs the {@link Fiber}s of a client port or an endpoint on virtual threads.
+ *
+ * <p>
+ * When this feature is enabled, the {@link Engine} of the port or endpoint
+ * doesn't create its own thread pool, but dispatches fibers to a single
+ * virtual thread executor shared by all engines in the runtime. If the JDK
+ * doesn't support virtual threads, the regular thread pool is used.
+ *
+ * <p>
+ * When the feature isn't present on the binding, the system-wide default
+ * given by the {@code com.sun.xml.ws.api.pipe.Engine.virtualThreads}
+ * system property is used.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @see VirtualThreads
+ */
+public class VirtualThreadsFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link VirtualThreadsFeature}
+     */
+    public static final String ID = "http://jax-ws.java.net/features/virtual-threads";
+
+    /**
+     * Create an {@code VirtualThreadsFeature}.
+     * The instance created will be enabled.
+     */
+    public VirtualThreadsFeature() {
+        this(true);
+    }
+
+    /**
+     * Creates an {@code VirtualThreadsFeature}.
+     *
+     * @param enabled specifies whether fibers run on virtual threads
+     */
+    @FeatureConstructor({"enabled"})
+    public VirtualThreadsFeature(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String getID() {
+        return ID;
+    }
+
+    /**
+     * Tells whether the fibers of the given binding should run on virtual threads.
+     *
+     * @param binding binding of the port or endpoint
+     * @return the value of the feature if it is present on the binding,
+     *         otherwise the system-wide default
+     */
+    public static boolean isEnabled(WSBinding binding) {
+        VirtualThreadsFeature f = binding.getFeature(VirtualThreadsFeature.class);
+        return f != null ? f.isEnabled() : Engine.VIRTUAL_THREADS;
+    }
+}
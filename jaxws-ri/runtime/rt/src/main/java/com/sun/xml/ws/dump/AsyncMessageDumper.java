@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.dump;
+
+import com.oracle.webservices.api.message.BasePropertySet;
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.message.Packet;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dumps messages off the request thread.
+ *
+ * <p>
+ * When enabled, the message dumps of {@link com.sun.xml.ws.transport.http.HttpAdapter},
+ * {@link com.sun.xml.ws.transport.http.client.HttpTransportPipe}, {@link MessageDumpingTube}
+ * and {@link LoggingDumpTube} are taken for one exchange out of every {@link #sampleRate},
+ * request and response alike, and only the first {@link #threshold} bytes of each are kept, as they go through a stream that
+ * the message is read from or written to anyway. Formatting and writing the
+ * dumps is left to a single background thread. Dumps that don't fit in its
+ * queue are dropped, so that a slow log never holds requests up.
+ *
+ * <p>
+ * This is turned on with the {@code com.sun.xml.ws.dump.AsyncMessageDumper.enabled}
+ * system property; {@code com.sun.xml.ws.dump.AsyncMessageDumper.sampleRate},
+ * {@code com.sun.xml.ws.dump.AsyncMessageDumper.threshold}
+ * and {@code com.sun.xml.ws.dump.AsyncMessageDumper.queueSize} tune it.
+ * The dumps themselves are still turned on as before.
+ */
+public final class AsyncMessageDumper {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncMessageDumper.class.getName());
+
+    /**
+     * Whether dumps are sampled and written in the background.
+     */
+    public static volatile boolean enabled = false;
+
+    /**
+     * One message out of this many is dumped.
+     */
+    public static volatile int sampleRate = 1;
+
+    /**
+     * Maximum number of bytes of a message kept in its dump.
+     */
+    public static volatile int threshold = 4096;
+
+    /**
+     * Maximum number of dumps waiting to be written, read once.
+     */
+    public static final int queueSize;
+
+    private static final AtomicLong COUNTER = new AtomicLong();
+    private static final LongAdder DUMPED = new LongAdder();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    static {
+        int size = 1000;
+        try {
+            enabled = Boolean.getBoolean(AsyncMessageDumper.class.getName() + ".enabled");
+            sampleRate = Math.max(1, Integer.getInteger(AsyncMessageDumper.class.getName() + ".sampleRate", 1));
+            threshold = Math.max(0, Integer.getInteger(AsyncMessageDumper.class.getName() + ".threshold", 4096));
+            size = Math.max(1, Integer.getInteger(AsyncMessageDumper.class.getName() + ".queueSize", 1000));
+        } catch (SecurityException se) {
+            if (LOGGER.isLoggable(Level.CONFIG)) {
+                LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                        new Object[] {AsyncMessageDumper.class.getName() + ".enabled"});
+            }
+        }
+        queueSize = size;
+    }
+
+    private AsyncMessageDumper() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        AsyncMessageDumper.enabled = enabled;
+    }
+
+    public static void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive number");
+        }
+        AsyncMessageDumper.sampleRate = sampleRate;
+    }
+
+    public static void setThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must be positive number");
+        }
+        AsyncMessageDumper.threshold = threshold;
+    }
+
+    /**
+     * Decides whether the next message is dumped.
+     *
+     * @return true for one call out of every {@link #sampleRate}
+     */
+    public static boolean sample() {
+        int rate = sampleRate;
+        return rate <= 1 || COUNTER.getAndIncrement() % rate == 0;
+    }
+
+    /**
+     * Decides whether the exchange of the given packet is dumped. The decision
+     * is taken once, and kept as a satellite of the packet that goes on to its
+     * response, so that the request and the response of an exchange are dumped
+     * together or not at all.
+     *
+     * @param packet request or response of the exchange
+     */
+    public static boolean sample(@NotNull Packet packet) {
+        Sampled sampled = packet.getSatellite(Sampled.class);
+        if (sampled == null) {
+            sampled = Sampled.of(sample());
+            packet.addSatellite(sampled);
+        }
+        return sampled.value;
+    }
+
+    /**
+     * Records a decision taken by {@link #sample()} in the request of the
+     * exchange, for {@link #sample(Packet)} to reuse.
+     */
+    public static void setSampled(@NotNull Packet packet, boolean sampled) {
+        packet.addSatellite(Sampled.of(sampled));
+    }
+
+    /**
+     * Runs the given task on the background thread, unless too many are
+     * already waiting, in which case it is dropped.
+     *
+     * @return false if the task was dropped
+     */
+    public static boolean submit(@NotNull Runnable task) {
+        try {
+            WriterHolder.WRITER.execute(() -> {
+                try {
+                    task.run();
+                    DUMPED.increment();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Failed to dump message", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // the queue is full
+        }
+        DROPPED.increment();
+        return false;
+    }
+
+    /**
+     * Dumps the first bytes of the given data in the background.
+     *
+     * @param limit maximum number of bytes to dump
+     * @return false if the dump was dropped
+     */
+    public static boolean dump(@NotNull byte[] data, int length, int limit, @NotNull Sink sink) {
+        final byte[] prefix = Arrays.copyOf(data, Math.min(length, limit));
+        final boolean truncated = length > limit;
+        return submit(() -> write(sink, prefix, truncated));
+    }
+
+    /**
+     * Wraps a stream the message is read from, to dump the first bytes read
+     * from it in the background. The dump is submitted as soon as more than
+     * {@code limit} bytes have been read, or the stream is exhausted or closed,
+     * after which the stream is a mere pass-through.
+     */
+    public static @NotNull InputStream capture(@NotNull InputStream in, int limit, @NotNull Sink sink) {
+        return new CapturingInputStream(in, limit, sink);
+    }
+
+    /**
+     * Wraps a stream the message is written to, to dump the first bytes written
+     * to it in the background. The dump is submitted as soon as more than
+     * {@code limit} bytes have been written, or the stream is closed, after
+     * which the stream is a mere pass-through.
+     */
+    public static @NotNull OutputStream capture(@NotNull OutputStream out, int limit, @NotNull Sink sink) {
+        return new CapturingOutputStream(out, limit, sink);
+    }
+
+    /**
+     * @return number of dumps written
+     */
+    public static long getDumpedCount() {
+        return DUMPED.sum();
+    }
+
+    /**
+     * @return number of dumps dropped as the queue was full
+     */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    private static void write(Sink sink, byte[] data, boolean truncated) {
+        try {
+            sink.dump(data, data.length, truncated);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to dump message", e);
+        }
+    }
+
+    /**
+     * Formats and writes a captured dump, on the background thread.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * @param data bytes captured
+         * @param length number of bytes captured
+         * @param truncated true if the message goes on past the captured bytes
+         */
+        void dump(byte[] data, int length, boolean truncated) throws IOException;
+    }
+
+    /**
+     * Keeps the first bytes that go through a stream.
+     */
+    private static final class Capture {
+        private final int limit;
+        private final Sink sink;
+        // null once the dump is submitted
+        private byte[] buf;
+        private int count;
+
+        Capture(int limit, Sink sink) {
+            this.limit = Math.max(limit, 0);
+            this.sink = sink;
+            this.buf = new byte[Math.min(this.limit, 8192)];
+        }
+
+        boolean isDone() {
+            return buf == null;
+        }
+
+        void add(int b) {
+            if (count == limit) {
+                done(true);
+                return;
+            }
+            ensureCapacity(count + 1);
+            buf[count++] = (byte) b;
+        }
+
+        void add(byte[] b, int off, int len) {
+            int n = Math.min(len, limit - count);
+            ensureCapacity(count + n);
+            System.arraycopy(b, off, buf, count, n);
+            count += n;
+            if (n < len) {
+                done(true);
+            }
+        }
+
+        void done(boolean truncated) {
+            if (buf != null) {
+                byte[] data = count == buf.length ? buf : Arrays.copyOf(buf, count);
+                buf = null;
+                submit(() -> write(sink, data, truncated));
+            }
+        }
+
+        private void ensureCapacity(int size) {
+            if (size > buf.length) {
+                buf = Arrays.copyOf(buf, Math.min(limit, Math.max(size, buf.length * 2)));
+            }
+        }
+    }
+
+    private static final class CapturingInputStream extends FilterInputStream {
+        private final Capture capture;
+
+        CapturingInputStream(InputStream in, int limit, Sink sink) {
+            super(in);
+            this.capture = new Capture(limit, sink);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (!capture.isDone()) {
+                if (b < 0) {
+                    capture.done(false);
+                } else {
+                    capture.add(b);
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (!capture.isDone()) {
+                if (n < 0) {
+                    capture.done(false);
+                } else {
+                    capture.add(b, off, n);
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // keeps the bytes skipped in the dump
+            byte[] b = new byte[(int) Math.min(n, 8192)];
+            int read = n > 0 ? read(b, 0, b.length) : 0;
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                capture.done(false);
+            }
+        }
+    }
+
+    private static final class CapturingOutputStream extends FilterOutputStream {
+        private final Capture capture;
+
+        CapturingOutputStream(OutputStream out, int limit, Sink sink) {
+            super(out);
+            this.capture = new Capture(limit, sink);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (!capture.isDone()) {
+                capture.add(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (!capture.isDone()) {
+                capture.add(b, off, len);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.close();
+            } finally {
+                capture.done(false);
+            }
+        }
+    }
+
+    /**
+     * Decision of {@link #sample(Packet)}. It is a satellite rather than an
+     * invocation property, so that it doesn't show in the message contexts.
+     */
+    private static final class Sampled extends BasePropertySet {
+        private static final Sampled TRUE = new Sampled(true);
+        private static final Sampled FALSE = new Sampled(false);
+
+        private final boolean value;
+
+        private Sampled(boolean value) {
+            this.value = value;
+        }
+
+        static Sampled of(boolean value) {
+            return value ? TRUE : FALSE;
+        }
+
+        @Override
+        protected PropertyMap getPropertyMap() {
+            return model;
+        }
+
+        private static final PropertyMap model;
+        static {
+            model = parse(Sampled.class);
+        }
+    }
+
+    // the thread is started on first use only
+    private static final class WriterHolder {
+        static final ThreadPoolExecutor WRITER = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "jaxws-message-dumper");
+                    t.setDaemon(true);
+                    t.setContextClassLoader(AsyncMessageDumper.class.getClassLoader());
+                    return t;
+                });
+    }
+}
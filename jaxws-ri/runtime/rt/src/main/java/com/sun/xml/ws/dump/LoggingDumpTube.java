@@ -82,7 +82,12 @@ public class LoggingDumpTube extends AbstractFilterTubeImpl {
 
     @Override
     public NextAction processRequest(Packet request) {
-        if (messageDumper.isLoggable()) {
+        if (messageDumper.isLoggable() && AsyncMessageDumper.isEnabled()) {
+            if (AsyncMessageDumper.sample(request)) {
+                // Converter renders a copy of the message, the packet is left as is
+                messageDumper.dumpLater(MessageDumper.MessageType.Request, position.requestState, Converter.toString(request, AsyncMessageDumper.threshold), tubeId, Fiber.current().owner.id);
+            }
+        } else if (messageDumper.isLoggable()) {
             Packet dumpPacket = (request != null) ? request.copy(true) : null;
             messageDumper.dump(MessageDumper.MessageType.Request, position.requestState, Converter.toString(dumpPacket), tubeId, Fiber.current().owner.id);
         }
@@ -92,7 +97,11 @@ public class LoggingDumpTube extends AbstractFilterTubeImpl {
 
     @Override
     public NextAction processResponse(Packet response) {
-        if (messageDumper.isLoggable()) {
+        if (messageDumper.isLoggable() && AsyncMessageDumper.isEnabled()) {
+            if (AsyncMessageDumper.sample(response)) {
+                messageDumper.dumpLater(MessageDumper.MessageType.Response, position.responseState, Converter.toString(response, AsyncMessageDumper.threshold), tubeId, Fiber.current().owner.id);
+            }
+        } else if (messageDumper.isLoggable()) {
             Packet dumpPacket = (response != null) ? response.copy(true) : null;
             messageDumper.dump(MessageDumper.MessageType.Response, position.responseState, Converter.toString(dumpPacket), tubeId, Fiber.current().owner.id);
         }
@@ -102,7 +111,9 @@ public class LoggingDumpTube extends AbstractFilterTubeImpl {
 
     @Override
     public NextAction processException(Throwable t) {
-        if (messageDumper.isLoggable()) {
+        if (messageDumper.isLoggable() && AsyncMessageDumper.isEnabled()) {
+            messageDumper.dumpLater(MessageDumper.MessageType.Exception, position.responseState, Converter.toString(t), tubeId, Fiber.current().owner.id);
+        } else if (messageDumper.isLoggable()) {
             messageDumper.dump(MessageDumper.MessageType.Exception, position.responseState, Converter.toString(t), tubeId, Fiber.current().owner.id);
         }
 
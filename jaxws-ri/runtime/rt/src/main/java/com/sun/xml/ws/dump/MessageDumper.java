@@ -73,20 +73,39 @@ final class MessageDumper {
     }
 
     String createLogMessage(MessageType messageType, ProcessingState processingState, int tubeId, String engineId, String message) {
+        return createLogMessage(messageType, processingState, tubeId, engineId, Thread.currentThread().getName(), message);
+    }
+
+    String createLogMessage(MessageType messageType, ProcessingState processingState, int tubeId, String engineId, String threadName, String message) {
         return String.format("%s %s in Tube [ %s ] Instance [ %d ] Engine [ %s ] Thread [ %s ]:%n%s",
                 messageType,
                 processingState,
                 tubeName,
                 tubeId,
                 engineId,
-                Thread.currentThread().getName(),
+                threadName,
                 message);
     }
 
     String dump(MessageType messageType, ProcessingState processingState, String message, int tubeId, String engineId) {
         String logMessage = createLogMessage(messageType, processingState, tubeId, engineId, message);
-        logger.log(loggingLevel, logMessage);
+        dump(logMessage);
 
         return logMessage;
     }
+
+    void dump(String logMessage) {
+        logger.log(loggingLevel, logMessage);
+    }
+
+    /**
+     * Logs the message on the background thread of {@link AsyncMessageDumper},
+     * dropping it if too many are waiting already.
+     */
+    void dumpLater(MessageType messageType, ProcessingState processingState, String message, int tubeId, String engineId) {
+        final String threadName = Thread.currentThread().getName();
+        final Level level = loggingLevel;
+        AsyncMessageDumper.submit(() -> logger.log(level,
+                createLogMessage(messageType, processingState, tubeId, engineId, threadName, message)));
+    }
 }
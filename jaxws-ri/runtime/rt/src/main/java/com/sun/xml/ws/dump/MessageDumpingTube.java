@@ -13,6 +13,7 @@ package com.sun.xml.ws.dump;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.pipe.Fiber;
 import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.ReentrantTube;
 import com.sun.xml.ws.api.pipe.Tube;
 import com.sun.xml.ws.api.pipe.TubeCloner;
 import com.sun.xml.ws.api.pipe.helper.AbstractFilterTubeImpl;
@@ -26,7 +27,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * @author Marek Potociar (marek.potociar at sun.com)
  */
-final class MessageDumpingTube extends AbstractFilterTubeImpl {
+final class MessageDumpingTube extends AbstractFilterTubeImpl implements ReentrantTube {
     static final String DEFAULT_MSGDUMP_LOGGING_ROOT = com.sun.xml.ws.util.Constants.LoggingDomain + ".messagedump";
     private static final AtomicInteger ID_GENERATOR = new AtomicInteger(0);
     //
@@ -66,34 +67,63 @@ final class MessageDumpingTube extends AbstractFilterTubeImpl {
         return new MessageDumpingTube(this, cloner);
     }
 
+    @Override
+    public Tube getNext() {
+        return next;
+    }
+
     @Override
     public NextAction processRequest(Packet request) {
-        dump(MessageType.Request, Converter.toString(request), Fiber.current().owner.id);
+        if (!AsyncMessageDumper.isEnabled()) {
+            dump(MessageType.Request, Converter.toString(request), Fiber.current().owner.id);
+        } else if (AsyncMessageDumper.sample(request)) {
+            dumpLater(MessageType.Request, Converter.toString(request, AsyncMessageDumper.threshold), Fiber.current().owner.id);
+        }
         return super.processRequest(request);
     }
 
     @Override
     public NextAction processResponse(Packet response) {
-        dump(MessageType.Response, Converter.toString(response), Fiber.current().owner.id);
+        if (!AsyncMessageDumper.isEnabled()) {
+            dump(MessageType.Response, Converter.toString(response), Fiber.current().owner.id);
+        } else if (AsyncMessageDumper.sample(response)) {
+            dumpLater(MessageType.Response, Converter.toString(response, AsyncMessageDumper.threshold), Fiber.current().owner.id);
+        }
         return super.processResponse(response);
     }
 
     @Override
     public NextAction processException(Throwable t) {
-        dump(MessageType.Exception, Converter.toString(t), Fiber.current().owner.id);
+        if (!AsyncMessageDumper.isEnabled()) {
+            dump(MessageType.Exception, Converter.toString(t), Fiber.current().owner.id);
+        } else {
+            // exceptions are dumped whatever the sampling
+            dumpLater(MessageType.Exception, Converter.toString(t), Fiber.current().owner.id);
+        }
 
         return super.processException(t);
     }
 
     protected void dump(MessageType messageType, String message, String engineId) {
-        String logMessage;
+        dump(messageType, message, engineId, Thread.currentThread().getName());
+    }
+
+    private void dump(MessageType messageType, String message, String engineId, String threadName) {
+        String logMessage = messageDumper.createLogMessage(messageType, ProcessingState.Received, tubeId, engineId, threadName, message);
         if (messageDumpingFeature.getMessageLoggingStatus()) {
             messageDumper.setLoggingLevel(messageDumpingFeature.getMessageLoggingLevel());
-            logMessage = messageDumper.dump(messageType, ProcessingState.Received, message, tubeId, engineId);
-        } else {
-            logMessage = messageDumper.createLogMessage(messageType, ProcessingState.Received, tubeId, engineId, message);
+            messageDumper.dump(logMessage);
         }
         messageDumpingFeature.offerMessage(logMessage);
     }
+
+    /**
+     * Same as {@link #dump(MessageType, String, String)}, on the background
+     * thread of {@link AsyncMessageDumper}.
+     */
+    private void dumpLater(MessageType messageType, String message, String engineId) {
+        final String threadName = Thread.currentThread().getName();
+        AsyncMessageDumper.submit(() -> dump(messageType, message, engineId, threadName));
+    }
 }
 
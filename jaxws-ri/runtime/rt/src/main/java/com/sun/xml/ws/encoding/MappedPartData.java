@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.encoding;
+
+import com.sun.xml.ws.developer.StreamingAttachmentFeature;
+import com.sun.xml.ws.util.ChannelOutputStream;
+
+import org.jvnet.mimepull.MIMEPart;
+
+import jakarta.activation.DataSource;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Content of a MIME part that is kept in a file and served from a
+ * memory mapping of it.
+ *
+ * <p>
+ * Used by {@link MimeMultipartParser} when
+ * {@link StreamingAttachmentFeature#isMemoryMapped()} is set. Streams and
+ * writes are served from slices of the mapping, so the content is never
+ * copied to the heap unless {@link #toByteArray()} is called.
+ *
+ * <p>
+ * The file is reference counted. The owning attachment holds one reference
+ * until it becomes unreachable, and every stream handed out holds another
+ * one until it is closed, or until it becomes unreachable in case of data
+ * sources. The file is deleted when the last reference goes away.
+ */
+final class MappedPartData {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final File file;
+    private final long size;
+    // null if the file is too large to be mapped at once
+    private final ByteBuffer data;
+    private final AtomicInteger refs = new AtomicInteger(1);
+
+    private MappedPartData(File file, long size, ByteBuffer data) {
+        this.file = file;
+        this.size = size;
+        this.data = data;
+    }
+
+    /**
+     * Moves the content of the part to a new file and maps it.
+     *
+     * @param owner the reference held by the returned object is released
+     *              once the owner becomes unreachable
+     * @param part part whose content is moved; it can't be read afterwards
+     * @param dir directory for the file, or null for the default temp directory
+     */
+    static MappedPartData create(Object owner, MIMEPart part, File dir) throws IOException {
+        File file = File.createTempFile("MIME", ".att", dir);
+        MappedPartData mpd;
+        try {
+            part.moveTo(file);
+            try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long size = fc.size();
+                ByteBuffer data = size <= Integer.MAX_VALUE
+                        ? fc.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                        : null;
+                mpd = new MappedPartData(file, size, data);
+            }
+        } catch (IOException | RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+        CLEANER.register(owner, mpd::release);
+        return mpd;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * @return a new stream over the content, holding a reference until it is closed
+     */
+    InputStream newInputStream() throws IOException {
+        acquire();
+        try {
+            InputStream in = (data != null)
+                    ? new ByteBufferInputStream(data.duplicate())
+                    : Files.newInputStream(file.toPath());
+            return new FilterInputStream(in) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (!closed) {
+                        closed = true;
+                        try {
+                            super.close();
+                        } finally {
+                            release();
+                        }
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the content to the stream. Channel-backed streams get the
+     * mapped buffer, or the file, directly.
+     */
+    void writeTo(OutputStream os) throws IOException {
+        acquire();
+        try {
+            if (os instanceof ChannelOutputStream) {
+                ChannelOutputStream cos = (ChannelOutputStream) os;
+                if (data != null) {
+                    cos.write(data);
+                } else {
+                    try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                        cos.transferFrom(fc);
+                    }
+                }
+            } else if (data != null) {
+                ByteBuffer src = data.duplicate();
+                byte[] temp = new byte[8192];
+                while (src.hasRemaining()) {
+                    int len = Math.min(temp.length, src.remaining());
+                    src.get(temp, 0, len);
+                    os.write(temp, 0, len);
+                }
+            } else {
+                Files.copy(file.toPath(), os);
+            }
+        } finally {
+            release();
+        }
+    }
+
+    byte[] toByteArray() throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Attachment too large for a byte array: " + size);
+        }
+        acquire();
+        try {
+            if (data != null) {
+                byte[] buf = new byte[(int) size];
+                data.duplicate().get(buf);
+                return buf;
+            }
+            return Files.readAllBytes(file.toPath());
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * @return a {@link DataSource} for the content with the given content type,
+     *         holding a reference until it becomes unreachable
+     */
+    DataSource asDataSource(String contentType) {
+        acquire();
+        MappedDataSource ds = new MappedDataSource(contentType);
+        CLEANER.register(ds, this::release);
+        return ds;
+    }
+
+    private void acquire() {
+        int n;
+        do {
+            n = refs.get();
+            if (n <= 0) {
+                throw new IllegalStateException("Attachment data is already released: " + file);
+            }
+        } while (!refs.compareAndSet(n, n + 1));
+    }
+
+    void release() {
+        if (refs.decrementAndGet() == 0) {
+            delete(file);
+        }
+    }
+
+    private static void delete(File file) {
+        if (!file.delete()) {
+            // a mapping may still be open on some platforms
+            LOGGER.log(Level.FINE, "Cannot delete {0}, deleting on exit", file);
+            file.deleteOnExit();
+        }
+    }
+
+    final class MappedDataSource implements DataSource {
+        private final String contentType;
+
+        MappedDataSource(String contentType) {
+            this.contentType = contentType;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return newInputStream();
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public String getName() {
+            return "";
+        }
+
+        void writeTo(OutputStream os) throws IOException {
+            MappedPartData.this.writeTo(os);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buf.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buf.remaining()));
+            buf.position(buf.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(MappedPartData.class.getName());
+}
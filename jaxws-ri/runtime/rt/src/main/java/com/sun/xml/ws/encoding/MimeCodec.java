@@ -19,11 +19,16 @@ import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.pipe.Codec;
 import com.sun.xml.ws.api.pipe.ContentType;
 import com.sun.xml.ws.developer.StreamingAttachmentFeature;
+import com.sun.xml.ws.util.ChannelInputStream;
+import com.sun.xml.ws.util.ChannelOutputStream;
+
+import jakarta.xml.ws.WebServiceException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.UUID;
 
@@ -114,6 +119,15 @@ abstract class MimeCodec implements Codec {
         return hasAttachments ? ctImpl : primaryCt;
     }
     
+    @Override
+    public ContentType encode(Packet packet, WritableByteChannel buffer) {
+        try (ChannelOutputStream out = new ChannelOutputStream(buffer)) {
+            return encode(packet, out);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
     private void writeCustomMimeHeaders(Attachment att, OutputStream out) throws IOException {
         if (att instanceof AttachmentEx) {
             Iterator<AttachmentEx.MimeHeader> allMimeHeaders = ((AttachmentEx) att).getMimeHeaders();
@@ -171,7 +185,11 @@ abstract class MimeCodec implements Codec {
 
     @Override
     public void decode(ReadableByteChannel in, String contentType, Packet packet) {
-        throw new UnsupportedOperationException();
+        try {
+            decode(new ChannelInputStream(in), contentType, packet);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
 
     /**
@@ -30,6 +30,7 @@ import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import jakarta.xml.ws.WebServiceException;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -59,6 +60,10 @@ public final class MimeMultipartParser {
 
     private boolean gotAll;
 
+    // directory for memory mapped attachments, only used if mapped is true
+    private final File mappedDir;
+    private final boolean mapped;
+
     public MimeMultipartParser(InputStream in, String cType, StreamingAttachmentFeature feature) {
         this.contentType = new ContentTypeImpl(cType);
 //        ContentType ct = new ContentType(cType);
@@ -77,6 +82,9 @@ public final class MimeMultipartParser {
             st = st.substring(1, st.length()-1);
         }
         start = st;
+        mapped = feature != null && feature.isMemoryMapped();
+        String dir = (feature != null) ? feature.getDir() : null;
+        mappedDir = (dir != null && !dir.isEmpty()) ? new File(dir) : null;
     }
 
     /**
@@ -108,7 +116,7 @@ public final class MimeMultipartParser {
                 if (part != rootPart) {
                     String cid = part.getContentId();
                     if (!attachments.containsKey(cid)) {
-                        PartAttachment attach = new PartAttachment(part);
+                        PartAttachment attach = createAttachment(part);
                         attachments.put(attach.getContentId(), attach);
                     }
                 }
@@ -130,12 +138,16 @@ public final class MimeMultipartParser {
         Attachment attach = attachments.get(contentId);
         if (attach == null) {
             MIMEPart part = message.getPart(contentId);
-            attach = new PartAttachment(part);
+            attach = createAttachment(part);
             attachments.put(contentId, attach);
         }
         return attach;
     }
 
+    private PartAttachment createAttachment(MIMEPart part) {
+        return mapped ? new MappedPartAttachment(part, mappedDir) : new PartAttachment(part);
+    }
+
     static class PartAttachment implements AttachmentEx {
 
         final MIMEPart part;
@@ -254,6 +266,74 @@ public final class MimeMultipartParser {
         }
     }
 
+    /**
+     * {@link PartAttachment} whose content is moved to a file on first access
+     * and then served from a memory mapping of it.
+     *
+     * @see StreamingAttachmentFeature#isMemoryMapped()
+     */
+    static final class MappedPartAttachment extends PartAttachment {
+
+        private final File dir;
+        private MappedPartData data;
+        private StreamingDataHandler mappedDataHandler;
+
+        MappedPartAttachment(MIMEPart part, File dir) {
+            super(part);
+            this.dir = dir;
+        }
+
+        private synchronized MappedPartData getData() {
+            if (data == null) {
+                try {
+                    data = MappedPartData.create(this, part, dir);
+                } catch (IOException ioe) {
+                    throw new WebServiceException(ioe);
+                }
+            }
+            return data;
+        }
+
+        @Override
+        public byte[] asByteArray() {
+            if (buf == null) {
+                try {
+                    buf = getData().toByteArray();
+                } catch (IOException ioe) {
+                    throw new WebServiceException(ioe);
+                }
+            }
+            return buf;
+        }
+
+        @Override
+        public DataHandler asDataHandler() {
+            if (mappedDataHandler == null) {
+                mappedDataHandler = new DataSourceStreamingDataHandler(getData().asDataSource(getContentType()));
+            }
+            return mappedDataHandler;
+        }
+
+        @Override
+        public Source asSource() {
+            return new StreamSource(asInputStream());
+        }
+
+        @Override
+        public InputStream asInputStream() {
+            try {
+                return getData().newInputStream();
+            } catch (IOException ioe) {
+                throw new WebServiceException(ioe);
+            }
+        }
+
+        @Override
+        public void writeTo(OutputStream os) throws IOException {
+            getData().writeTo(os);
+        }
+    }
+
     public ContentTypeImpl getContentType() {
         return contentType;
     }
@@ -23,9 +23,11 @@ import com.sun.xml.ws.api.streaming.XMLStreamReaderFactory;
 import com.sun.xml.ws.api.streaming.XMLStreamWriterFactory;
 import com.sun.xml.ws.developer.SerializationFeature;
 import com.sun.xml.ws.developer.StreamingDataHandler;
+import com.sun.xml.ws.message.DataHandlerAttachment;
 import com.sun.xml.ws.message.MimeAttachmentSet;
 import com.sun.xml.ws.streaming.XMLStreamWriterUtil;
 import com.sun.xml.ws.util.ByteArrayDataSource;
+import com.sun.xml.ws.util.ChannelOutputStream;
 import com.sun.xml.ws.util.xml.NamespaceContextExAdaper;
 import com.sun.xml.ws.util.xml.XMLStreamReaderFilter;
 import com.sun.xml.ws.util.xml.XMLStreamWriterFilter;
@@ -37,6 +39,8 @@ import org.jvnet.staxex.XMLStreamReaderEx;
 import org.jvnet.staxex.XMLStreamWriterEx;
 
 import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
+import jakarta.activation.FileDataSource;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
@@ -49,9 +53,10 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.nio.channels.WritableByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -212,11 +217,36 @@ public class MtomCodec extends MimeCodec {
             //build attachment frame
             writeln("--"+boundary, os);
             writeMimeHeaders(dh.getContentType(), contentId, os);
-            dh.writeTo(os);
+            writeContent(dh, os);
             writeln(os);
         }
     }
 
+    /**
+     * Streams the content of a {@link DataHandler} without staging it in memory.
+     *
+     * <p>
+     * Byte array sources are written with a single call, and files are
+     * transferred with {@link FileChannel#transferTo} when writing to a
+     * {@link ChannelOutputStream}. Memory mapped attachments are written from
+     * their mapping. Everything else goes through
+     * {@link DataHandler#writeTo(OutputStream)}.
+     */
+    static void writeContent(DataHandler dh, OutputStream os) throws IOException {
+        DataSource ds = dh.getDataSource();
+        if (ds instanceof FileDataSource && os instanceof ChannelOutputStream) {
+            try (FileChannel fc = FileChannel.open(((FileDataSource) ds).getFile().toPath(), StandardOpenOption.READ)) {
+                ((ChannelOutputStream) os).transferFrom(fc);
+            }
+        } else if (ds instanceof MappedPartData.MappedDataSource) {
+            ((MappedPartData.MappedDataSource) ds).writeTo(os);
+        } else if (ds instanceof ByteArrayDataSource) {
+            ((ByteArrayDataSource) ds).writeTo(os);
+        } else {
+            dh.writeTo(os);
+        }
+    }
+
     public static void writeMimeHeaders(String contentType, String contentId, OutputStream out) throws IOException {
         String cid = contentId;
         if(cid != null && cid.length() >0 && cid.charAt(0) != '<')
@@ -246,16 +276,15 @@ public class MtomCodec extends MimeCodec {
             // build attachment frame
             writeln("--" + boundary, out);
             writeMimeHeaders(att.getContentType(), att.getContentId(), out);
-            att.writeTo(out);
+            if (att instanceof DataHandlerAttachment) {
+                writeContent(dh, out);
+            } else {
+                att.writeTo(out);
+            }
             writeln(out); // write \r\n
         }
     }
 
-    @Override
-    public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        throw new UnsupportedOperationException();
-    }
-
     @Override
     public MtomCodec copy() {
         return new MtomCodec(version, (StreamSOAPCodec)codec.copy(), features);
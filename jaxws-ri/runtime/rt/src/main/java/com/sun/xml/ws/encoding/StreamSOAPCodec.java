@@ -29,6 +29,8 @@ import com.sun.xml.ws.message.stream.StreamMessage;
 import com.sun.xml.ws.protocol.soap.VersionMismatchException;
 import com.sun.xml.ws.server.UnsupportedMediaException;
 import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
+import com.sun.xml.ws.util.ChannelInputStream;
+import com.sun.xml.ws.util.ChannelOutputStream;
 import com.sun.xml.ws.util.ServiceFinder;
 
 import javax.xml.stream.XMLStreamConstants;
@@ -85,7 +87,7 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
     }
     
     private StreamDecoder selectStreamDecoder() {
-        for (StreamDecoder sd : ServiceFinder.find(StreamDecoder.class)) {
+        for (StreamDecoder sd : ServiceFinder.findCached(StreamDecoder.class)) {
             return sd;
         }
         
@@ -120,8 +122,11 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
 
     @Override
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        try (ChannelOutputStream out = new ChannelOutputStream(buffer)) {
+            return encode(packet, out);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
 
     protected abstract List<String> getExpectedContentTypes();
@@ -189,8 +194,12 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
     }
 
     @Override
-    public void decode(ReadableByteChannel in, String contentType, Packet packet ) {
-        throw new UnsupportedOperationException();
+    public void decode(ReadableByteChannel in, String contentType, Packet packet) {
+        try {
+            decode(new ChannelInputStream(in), contentType, packet);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
 
     @Override
@@ -221,7 +230,11 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
 
     @Override
     public void decode(ReadableByteChannel in, String contentType, Packet response, AttachmentSet att ) {
-        throw new UnsupportedOperationException();
+        try {
+            decode(new ChannelInputStream(in), contentType, response, att);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
 
     /*
@@ -19,7 +19,6 @@ import com.sun.xml.ws.api.pipe.ContentType;
 import com.sun.xml.ws.message.MimeAttachmentSet;
 
 import java.io.IOException;
-import java.nio.channels.WritableByteChannel;
 import java.util.Map;
 
 
@@ -56,12 +55,6 @@ public final class SwACodec extends MimeCodec {
         }
     }
 
-    @Override
-    public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
-    }
-
     @Override
     public SwACodec copy() {
         return new SwACodec(this);
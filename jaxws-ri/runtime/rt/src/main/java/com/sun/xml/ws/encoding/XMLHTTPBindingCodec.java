@@ -31,7 +31,6 @@ import jakarta.xml.ws.WebServiceException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.channels.WritableByteChannel;
 import java.util.StringTokenizer;
 
 /**
@@ -135,11 +134,6 @@ public final class XMLHTTPBindingCodec extends MimeCodec {
         return setAcceptHeader(packet, super.encode(packet, out));
     }
 
-    @Override
-    public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        throw new UnsupportedOperationException();
-    }
-
     @Override
     public void decode(InputStream in, String contentType, Packet packet) throws IOException {
         /*
@@ -16,6 +16,8 @@ import com.sun.xml.ws.api.pipe.ContentType;
 import com.sun.xml.ws.api.streaming.XMLStreamWriterFactory;
 import com.sun.xml.ws.api.WSFeatureList;
 import com.sun.xml.ws.encoding.ContentTypeImpl;
+import com.sun.xml.ws.util.ChannelInputStream;
+import com.sun.xml.ws.util.ChannelOutputStream;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
@@ -80,8 +82,11 @@ public final class XMLCodec implements Codec {
 
     @Override
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        try (ChannelOutputStream out = new ChannelOutputStream(buffer)) {
+            return encode(packet, out);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
 
     @Override
@@ -97,7 +102,10 @@ public final class XMLCodec implements Codec {
 
     @Override
     public void decode(ReadableByteChannel in, String contentType, Packet packet) {
-        // TODO
-        throw new UnsupportedOperationException();
+        try {
+            decode(new ChannelInputStream(in), contentType, packet);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
 }
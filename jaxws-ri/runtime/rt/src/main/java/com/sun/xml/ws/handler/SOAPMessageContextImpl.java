@@ -38,6 +38,15 @@ import java.util.Set;
  */
 public class SOAPMessageContextImpl extends MessageUpdatableContext implements SOAPMessageContext {
 
+    /**
+     * Whether the body of the {@link SOAPMessage} given to handlers is only
+     * parsed once a handler accesses it. Set the
+     * {@code com.sun.xml.ws.handler.SOAPMessageContextImpl.eagerSOAPMessage}
+     * system property to always parse the whole message up front.
+     */
+    private static final boolean LAZY_SOAP_MESSAGE =
+            !Boolean.getBoolean(SOAPMessageContextImpl.class.getName() + ".eagerSOAPMessage");
+
     private Set<String> roles;
     private SOAPMessage soapMsg = null;
     private WSBinding binding;
@@ -53,7 +62,12 @@ public class SOAPMessageContextImpl extends MessageUpdatableContext implements S
         if(soapMsg == null) {
             try {
             	Message m = packet.getMessage();
-            	soapMsg = m != null ? m.readAsSOAPMessage() : null;
+            	if (m != null && LAZY_SOAP_MESSAGE) {
+            	    soapMsg = SAAJFactory.readLazily(m.getSOAPVersion(), m);
+            	}
+            	if (soapMsg == null) {
+            	    soapMsg = m != null ? m.readAsSOAPMessage() : null;
+            	}
             } catch (SOAPException e) {
                 throw new WebServiceException(e);
             }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.message.saaj;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.messaging.saaj.soap.LazyEnvelope;
+import com.sun.xml.messaging.saaj.soap.SOAPPartImpl;
+import com.sun.xml.messaging.saaj.soap.StaxBridge;
+import com.sun.xml.messaging.saaj.soap.StaxLazySourceBridge;
+import com.sun.xml.ws.api.message.StreamingSOAP;
+
+import jakarta.xml.soap.SOAPEnvelope;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Body of a {@link SOAPMessage} that is left unparsed until it is accessed.
+ *
+ * <p>
+ * This relies on the lazy body parsing of the SAAJ reference implementation,
+ * which is an optional dependency. This class is the only one to refer to it,
+ * and does nothing unless it is available.
+ *
+ * @see com.sun.xml.ws.api.message.saaj.SAAJFactory#readAsLazySOAPMessage
+ */
+public final class LazySOAPBody {
+
+    private static final boolean SUPPORTED = isSAAJRIAvailable();
+
+    private final LazyEnvelope envelope;
+    private final StaxLazySourceBridge bridge;
+
+    private LazySOAPBody(LazyEnvelope envelope, StaxLazySourceBridge bridge) {
+        this.envelope = envelope;
+        this.bridge = bridge;
+    }
+
+    /**
+     * @return true if the SAAJ implementation in use can parse bodies lazily
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Sets the given message as the content of a {@link SOAPMessage}, so that
+     * only its envelope and headers are parsed right away. The message is
+     * consumed if this method returns true.
+     *
+     * @return false if the {@link SOAPMessage} doesn't support lazy parsing
+     */
+    public static boolean setContent(@NotNull SOAPMessage msg, @NotNull StreamingSOAP message) throws SOAPException {
+        if (!SUPPORTED || !(msg.getSOAPPart() instanceof SOAPPartImpl)) {
+            return false;
+        }
+        msg.getSOAPPart().setContent(new StreamingSOAPSource(message));
+        return true;
+    }
+
+    /**
+     * @return the unparsed body of the envelope, or null if it has been parsed
+     */
+    static @Nullable LazySOAPBody of(SOAPEnvelope env) throws SOAPException {
+        if (!SUPPORTED || !(env instanceof LazyEnvelope) || !((LazyEnvelope) env).isLazy()) {
+            return null;
+        }
+        StaxBridge bridge = ((LazyEnvelope) env).getStaxBridge();
+        if (!(bridge instanceof StaxLazySourceBridge)) {
+            // parsed from a stream by SAAJ, it can't be written out as is
+            return null;
+        }
+        return new LazySOAPBody((LazyEnvelope) env, (StaxLazySourceBridge) bridge);
+    }
+
+    /**
+     * @return false once the body has been parsed, for e.g. by a handler
+     *         navigating it
+     */
+    boolean isLazy() {
+        return envelope.isLazy();
+    }
+
+    @Nullable QName getPayloadQName() throws SOAPException {
+        return envelope.getPayloadQName();
+    }
+
+    XMLStreamReader readPayload() throws SOAPException {
+        return envelope.getPayloadReader();
+    }
+
+    void writePayloadTo(XMLStreamWriter writer) throws XMLStreamException {
+        bridge.writePayloadTo(writer);
+    }
+
+    /**
+     * Writes the whole envelope, and ends the document.
+     */
+    void writeEnvelopeTo(XMLStreamWriter writer) throws XMLStreamException, SOAPException {
+        envelope.writeTo(writer);
+    }
+
+    private static boolean isSAAJRIAvailable() {
+        try {
+            ClassLoader cl = LazySOAPBody.class.getClassLoader();
+            Class.forName("com.sun.xml.messaging.saaj.LazyEnvelopeSource", false, cl);
+            Class.forName("com.sun.xml.messaging.saaj.soap.StaxLazySourceBridge", false, cl);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
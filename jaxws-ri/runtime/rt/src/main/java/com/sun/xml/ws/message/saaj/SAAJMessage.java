@@ -36,6 +36,7 @@ import jakarta.activation.DataHandler;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.soap.*;
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
@@ -68,6 +69,8 @@ public class SAAJMessage extends Message {
     private MessageHeaders headers;
     private List<Element> bodyParts;
     private Element payload;
+    // set if the body of sm was yet to be parsed when accessed
+    private LazySOAPBody lazyBody;
 
     private String payloadLocalName;
     private String payloadNamespace;
@@ -122,20 +125,21 @@ public class SAAJMessage extends Message {
     protected void access() {
         if (!accessedMessage) {
             try {
-                envelopeAttrs = sm.getSOAPPart().getEnvelope().getAttributes();
+                SOAPEnvelope env = sm.getSOAPPart().getEnvelope();
+                envelopeAttrs = env.getAttributes();
                 Node body = sm.getSOAPBody();
                 bodyAttrs = body.getAttributes();
                 soapVersion = SOAPVersion.fromNsUri(body.getNamespaceURI());
-                //cature all the body elements
-                bodyParts = DOMUtil.getChildElements(body);
-                //we treat payload as the first body part
-                payload = bodyParts.size() > 0 ? bodyParts.get(0) : null;
-                // hope this is correct. Caching the localname and namespace of the payload should be fine
-                // but what about if a Handler replaces the payload with something else? Weel, may be it
-                // will be error condition anyway
-                if (payload != null) {
-                    payloadLocalName = payload.getLocalName();
-                    payloadNamespace = payload.getNamespaceURI();
+                lazyBody = LazySOAPBody.of(env);
+                if (lazyBody != null) {
+                    // leave the body alone, it can still be streamed
+                    QName name = lazyBody.getPayloadQName();
+                    if (name != null) {
+                        payloadLocalName = name.getLocalPart();
+                        payloadNamespace = name.getNamespaceURI();
+                    }
+                } else {
+                    accessBody(body);
                 }
                 accessedMessage = true;
             } catch (SOAPException e) {
@@ -144,6 +148,43 @@ public class SAAJMessage extends Message {
         }
     }
 
+    /**
+     * Makes sure the body parts are available as DOM, which parses the
+     * body if it was left to be parsed on first access.
+     */
+    private void accessBody() {
+        access();
+        if (bodyParts == null) {
+            try {
+                accessBody(sm.getSOAPBody());
+            } catch (SOAPException e) {
+                throw new WebServiceException(e);
+            }
+        }
+    }
+
+    private void accessBody(Node body) {
+        //cature all the body elements
+        bodyParts = DOMUtil.getChildElements(body);
+        //we treat payload as the first body part
+        payload = bodyParts.size() > 0 ? bodyParts.get(0) : null;
+        // hope this is correct. Caching the localname and namespace of the payload should be fine
+        // but what about if a Handler replaces the payload with something else? Weel, may be it
+        // will be error condition anyway
+        if (payload != null) {
+            payloadLocalName = payload.getLocalName();
+            payloadNamespace = payload.getNamespaceURI();
+        }
+    }
+
+    /**
+     * @return true if the body hasn't been parsed, and can be streamed
+     */
+    private boolean isLazy() {
+        access();
+        return lazyBody != null && lazyBody.isLazy();
+    }
+
     @Override
     public boolean hasHeaders() {
         parse();
@@ -182,18 +223,25 @@ public class SAAJMessage extends Message {
     @Override
     public @Nullable
     String getPayloadLocalPart() {
-        soapBodyFirstChild();
+        if (!isLazy()) {
+            soapBodyFirstChild();
+        }
         return payloadLocalName;
     }
 
     @Override
     public String getPayloadNamespaceURI() {
-        soapBodyFirstChild();
+        if (!isLazy()) {
+            soapBodyFirstChild();
+        }
         return payloadNamespace;
     }
 
     @Override
     public boolean hasPayload() {
+        if (isLazy()) {
+            return payloadLocalName != null;
+        }
         return soapBodyFirstChild() != null;
     }
 
@@ -228,6 +276,7 @@ public class SAAJMessage extends Message {
                 return new DOMSource(se);
 
             } else {
+                accessBody();
                 SOAPMessage msg = soapVersion.getMessageFactory().createMessage();
                 addAttributes(msg.getSOAPPart().getEnvelope(), envelopeAttrs);
 
@@ -254,6 +303,7 @@ public class SAAJMessage extends Message {
         if (!parsedMessage) {
             return sm;
         } else {
+            accessBody();
             SOAPMessage msg = soapVersion.getMessageFactory().createMessage();
             addAttributes(msg.getSOAPPart().getEnvelope(), envelopeAttrs);
             SOAPBody newBody = msg.getSOAPPart().getEnvelope().getBody();
@@ -294,13 +344,28 @@ public class SAAJMessage extends Message {
 
     @Override
     public Source readPayloadAsSource() {
-        access();
+        accessBody();
         return (payload != null) ? new DOMSource(payload) : null;
     }
 
     @Override
     public <T> T readPayloadAsJAXB(Unmarshaller unmarshaller) throws JAXBException {
-        access();
+        if (isLazy()) {
+            if (payloadLocalName == null) {
+                return null;
+            }
+            if (hasAttachments()) {
+                unmarshaller.setAttachmentUnmarshaller(new AttachmentUnmarshallerImpl(getAttachments()));
+            }
+            try {
+                @SuppressWarnings("unchecked")
+                T t = (T) unmarshaller.unmarshal(lazyBody.readPayload());
+                return t;
+            } catch (SOAPException e) {
+                throw new WebServiceException(e);
+            }
+        }
+        accessBody();
         if (payload != null) {
             if (hasAttachments()) {
                 unmarshaller.setAttachmentUnmarshaller(new AttachmentUnmarshallerImpl(getAttachments()));
@@ -316,7 +381,7 @@ public class SAAJMessage extends Message {
      */
     @Override
     public <T> T readPayloadAsJAXB(Bridge<T> bridge) throws JAXBException {
-        access();
+        accessBody();
         if (payload != null) {
             return bridge.unmarshal(payload, hasAttachments() ? new AttachmentUnmarshallerImpl(getAttachments()) : null);
         }
@@ -325,7 +390,18 @@ public class SAAJMessage extends Message {
 
     @Override
     public <T> T readPayloadAsJAXB(XMLBridge<T> bridge) throws JAXBException {
-        access();
+        if (isLazy()) {
+            if (payloadLocalName == null) {
+                return null;
+            }
+            try {
+                return bridge.unmarshal(lazyBody.readPayload(),
+                        hasAttachments() ? new AttachmentUnmarshallerImpl(getAttachments()) : null);
+            } catch (SOAPException e) {
+                throw new WebServiceException(e);
+            }
+        }
+        accessBody();
         if (payload != null) {
             return bridge.unmarshal(payload, hasAttachments() ? new AttachmentUnmarshallerImpl(getAttachments()) : null);
         }
@@ -334,12 +410,23 @@ public class SAAJMessage extends Message {
 
     @Override
     public XMLStreamReader readPayload() throws XMLStreamException {
+        if (isLazy()) {
+            try {
+                return payloadLocalName != null ? lazyBody.readPayload() : null;
+            } catch (SOAPException e) {
+                throw new WebServiceException(e);
+            }
+        }
         return soapBodyFirstChildReader();
     }
 
     @Override
     public void writePayloadTo(XMLStreamWriter sw) throws XMLStreamException {
-        access();
+        if (isLazy()) {
+            lazyBody.writePayloadTo(sw);
+            return;
+        }
+        accessBody();
         try {
             for (Element part : bodyParts) {
                 DOMUtil.serializeNode(part, sw);
@@ -353,7 +440,11 @@ public class SAAJMessage extends Message {
     public void writeTo(XMLStreamWriter writer) throws XMLStreamException {
         try {
             writer.writeStartDocument();
-            if (!parsedMessage) {
+            if (!parsedMessage && isLazy()) {
+                // writes the rest of the document
+                lazyBody.writeEnvelopeTo(writer);
+                return;
+            } else if (!parsedMessage) {
                 DOMUtil.serializeNode(sm.getSOAPPart().getEnvelope(), writer);
             } else {
                 SOAPEnvelope env = sm.getSOAPPart().getEnvelope();
@@ -370,7 +461,13 @@ public class SAAJMessage extends Message {
                     writer.writeEndElement();
                 }
 
-                DOMUtil.serializeNode(sm.getSOAPBody(), writer);
+                if (isLazy()) {
+                    DOMUtil.writeTagWithAttributes(sm.getSOAPBody(), writer);
+                    lazyBody.writePayloadTo(writer);
+                    writer.writeEndElement();
+                } else {
+                    DOMUtil.serializeNode(sm.getSOAPBody(), writer);
+                }
                 writer.writeEndElement();
             }
             writer.writeEndDocument();
@@ -482,6 +579,7 @@ public class SAAJMessage extends Message {
     }
 
     private void writePayloadTo(ContentHandler contentHandler, ErrorHandler errorHandler, boolean fragment) throws SAXException {
+        accessBody();
         if (fragment) {
             contentHandler = new FragmentContentHandler(contentHandler);
         }
@@ -518,7 +616,7 @@ public class SAAJMessage extends Message {
     public Message copy() {
         Message result = null;
         try {
-            access();
+            accessBody();
             if (!parsedMessage) {
                 result = new SAAJMessage(readAsSOAPMessage());
             } else {
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.message.saaj;
+
+import com.sun.xml.messaging.saaj.LazyEnvelopeSource;
+import com.sun.xml.ws.api.message.StreamingSOAP;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import jakarta.xml.ws.WebServiceException;
+
+/**
+ * {@link LazyEnvelopeSource} over a {@link StreamingSOAP} message.
+ *
+ * <p>
+ * Set as the content of a SAAJ {@code SOAPPart}, the envelope and headers of
+ * the message are turned into DOM right away, while the body is left in the
+ * message until it is accessed through SAAJ. If it never is, it can be
+ * streamed from the message as is, see {@link LazySOAPBody}.
+ */
+final class StreamingSOAPSource implements LazyEnvelopeSource {
+
+    private final StreamingSOAP message;
+    private String systemId;
+
+    StreamingSOAPSource(StreamingSOAP message) {
+        this.message = message;
+    }
+
+    @Override
+    public QName getPayloadQName() {
+        return message.getPayloadQName();
+    }
+
+    @Override
+    public XMLStreamReader readToBodyStarTag() throws XMLStreamException {
+        return message.readToBodyStarTag();
+    }
+
+    @Override
+    public XMLStreamReader readPayload() {
+        try {
+            return message.readPayload();
+        } catch (XMLStreamException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
+    @Override
+    public void writePayloadTo(XMLStreamWriter writer) throws XMLStreamException {
+        message.writePayloadTo(writer);
+    }
+
+    @Override
+    public boolean isPayloadStreamReader() {
+        return message.isPayloadStreamReader();
+    }
+
+    @Override
+    public void setSystemId(String systemId) {
+        this.systemId = systemId;
+    }
+
+    @Override
+    public String getSystemId() {
+        return systemId;
+    }
+}
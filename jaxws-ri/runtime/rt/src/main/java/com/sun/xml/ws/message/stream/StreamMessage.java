@@ -96,6 +96,13 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
     private Throwable consumedAt;
 
     private XMLStreamReader envelopeReader;
+
+    /**
+     * The rest of the message, from the soap:Body down, once it has been buffered
+     * by {@link #copy()}. The buffer is never modified afterwards, so this message
+     * and all copies of it read it through their own readers.
+     */
+    private @Nullable XMLStreamBuffer buffer;
     
     public StreamMessage(SOAPVersion v) {
         super(v);
@@ -270,7 +277,8 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
      *
      * @return array of the even length of the form { prefix0, uri0, prefix1, uri1, ... }
      */
-    private String[] getInscopeNamespaces() {
+    public @NotNull String[] getInscopeNamespaces() {
+        if ( envelopeReader != null ) readEnvelope(this);
         NamespaceSupport nss = new NamespaceSupport();
 
         nss.pushContext();
@@ -503,61 +511,80 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
     }        
 
     // TODO: this method should be probably rewritten to respect spaces between elements; is it used at all?
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The first copy buffers the rest of the message. Both this message
+     * and the copy then read from that buffer, and so do later copies of
+     * either of them, without buffering the message again.
+     */
     @Override
     public Message copy() {
         if ( envelopeReader != null ) readEnvelope(this);
         try {
             assert unconsumed();
             consumedAt = null; // but we don't want to mark it as consumed
-            MutableXMLStreamBuffer xsb = new MutableXMLStreamBuffer();
-            StreamReaderBufferCreator c = new StreamReaderBufferCreator(xsb);
-
-            // preserving inscope namespaces from envelope, and body. Other option
-            // would be to create a filtering XMLStreamReader from reader+envelopeTag+bodyTag
-            c.storeElement(envelopeTag.nsUri, envelopeTag.localName, envelopeTag.prefix, envelopeTag.ns);
-            c.storeElement(bodyTag.nsUri, bodyTag.localName, bodyTag.prefix, bodyTag.ns);
-
-            if (hasPayload()) {
-                // Loop all the way for multi payload case
-                while(reader.getEventType() != XMLStreamConstants.END_DOCUMENT){
-                    String name = reader.getLocalName();
-                    String nsUri = reader.getNamespaceURI();
-                    if(isBodyElement(name, nsUri) || (reader.getEventType() == XMLStreamConstants.END_DOCUMENT))
-                        break;
-                    c.create(reader);
-
-                    // Skip whitespaces in between payload and </Body> or between elements
-                    // those won't be in the message itself, but we store them in field bodyEpilogue
-                    if (reader.isWhiteSpace()) {
-                        bodyEpilogue = XMLStreamReaderUtil.currentWhiteSpaceContent(reader);
-                    } else {
-                        // clear it in case the existing was not the last one
-                        // (we are interested only in the last one?)
-                        bodyEpilogue = null;
-                    }
-                }
+            if (buffer == null) {
+                buffer = bufferRest();
+                reader = buffer.readAsXMLStreamReader();
+                // advance to the start tag of the <Body> first child element
+                proceedToRootElement(reader);
             }
-            c.storeEndElement();        // create structure element for </Body>
-            c.storeEndElement();        // create structure element for </Envelope>
-            c.storeEndElement();        // create structure element for END_DOCUMENT
-
-            XMLStreamReaderUtil.readRest(reader);
-            XMLStreamReaderUtil.close(reader);
-            XMLStreamReaderFactory.recycle(reader);
-
-            reader = xsb.readAsXMLStreamReader();
-            XMLStreamReader clone = xsb.readAsXMLStreamReader();
-
-            // advance to the start tag of the <Body> first child element
-            proceedToRootElement(reader);
+            XMLStreamReader clone = buffer.readAsXMLStreamReader();
             proceedToRootElement(clone);
 
-            return new StreamMessage(envelopeTag, headerTag, attachmentSet, HeaderList.copy(headers), bodyPrologue, bodyTag, bodyEpilogue, clone, soapVersion).copyFrom(this);
+            StreamMessage copy = new StreamMessage(envelopeTag, headerTag, attachmentSet, HeaderList.copy(headers), bodyPrologue, bodyTag, bodyEpilogue, clone, soapVersion);
+            copy.buffer = buffer;
+            return copy.copyFrom(this);
         } catch (XMLStreamException e) {
             throw new WebServiceException("Failed to copy a message",e);
         }
     }
 
+    /**
+     * Buffers the unread part of the message along with the envelope and body tags,
+     * and recycles {@link #reader}.
+     */
+    private XMLStreamBuffer bufferRest() throws XMLStreamException {
+        MutableXMLStreamBuffer xsb = new MutableXMLStreamBuffer();
+        StreamReaderBufferCreator c = new StreamReaderBufferCreator(xsb);
+
+        // preserving inscope namespaces from envelope, and body. Other option
+        // would be to create a filtering XMLStreamReader from reader+envelopeTag+bodyTag
+        c.storeElement(envelopeTag.nsUri, envelopeTag.localName, envelopeTag.prefix, envelopeTag.ns);
+        c.storeElement(bodyTag.nsUri, bodyTag.localName, bodyTag.prefix, bodyTag.ns);
+
+        if (hasPayload()) {
+            // Loop all the way for multi payload case
+            while(reader.getEventType() != XMLStreamConstants.END_DOCUMENT){
+                String name = reader.getLocalName();
+                String nsUri = reader.getNamespaceURI();
+                if(isBodyElement(name, nsUri) || (reader.getEventType() == XMLStreamConstants.END_DOCUMENT))
+                    break;
+                c.create(reader);
+
+                // Skip whitespaces in between payload and </Body> or between elements
+                // those won't be in the message itself, but we store them in field bodyEpilogue
+                if (reader.isWhiteSpace()) {
+                    bodyEpilogue = XMLStreamReaderUtil.currentWhiteSpaceContent(reader);
+                } else {
+                    // clear it in case the existing was not the last one
+                    // (we are interested only in the last one?)
+                    bodyEpilogue = null;
+                }
+            }
+        }
+        c.storeEndElement();        // create structure element for </Body>
+        c.storeEndElement();        // create structure element for </Envelope>
+        c.storeEndElement();        // create structure element for END_DOCUMENT
+
+        XMLStreamReaderUtil.readRest(reader);
+        XMLStreamReaderUtil.close(reader);
+        XMLStreamReaderFactory.recycle(reader);
+        return xsb;
+    }
+
     private void proceedToRootElement(XMLStreamReader xsr) throws XMLStreamException {
         assert xsr.getEventType()== XMLStreamConstants.START_DOCUMENT;
         xsr.nextTag();
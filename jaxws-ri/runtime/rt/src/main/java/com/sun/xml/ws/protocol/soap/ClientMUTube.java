@@ -14,6 +14,7 @@ import com.sun.istack.NotNull;
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.ReentrantTube;
 import com.sun.xml.ws.api.pipe.Tube;
 import com.sun.xml.ws.api.pipe.TubeCloner;
 import com.sun.xml.ws.client.HandlerConfiguration;
@@ -25,9 +26,15 @@ import java.util.Set;
 /**
  * Performs soap mustUnderstand processing for clients.
  *
+ * <p>
+ * Keeps no per-request state, so {@link TubeCloner} may reuse it instead of
+ * copying it, as long as the tubes after it can be reused too. In the tubelines
+ * assembled by the runtime, the transport after it is not reentrant, so it is
+ * still copied along with the rest of the tubeline.
+ *
  * @author Rama Pulavarthi
  */
-public class ClientMUTube extends MUTube {
+public class ClientMUTube extends MUTube implements ReentrantTube {
 
     public ClientMUTube(WSBinding binding, Tube next) {
         super(binding, next);
@@ -70,4 +77,9 @@ public class ClientMUTube extends MUTube {
         return new ClientMUTube(this,cloner);
     }
 
+    @Override
+    public Tube getNext() {
+        return next;
+    }
+
 }
@@ -13,6 +13,8 @@ package com.sun.xml.ws.server;
 import com.sun.istack.NotNull;
 import com.sun.istack.Nullable;
 import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.ReentrantTube;
+import com.sun.xml.ws.api.pipe.Tube;
 import com.sun.xml.ws.api.pipe.TubeCloner;
 import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
 import com.sun.xml.ws.api.server.*;
@@ -34,7 +36,7 @@ import java.lang.reflect.Method;
  *
  * @author Kohsuke Kawaguchi
  */
-public abstract class InvokerTube<T> extends com.sun.xml.ws.server.sei.InvokerTube<Invoker> implements EndpointAwareTube {
+public abstract class InvokerTube<T> extends com.sun.xml.ws.server.sei.InvokerTube<Invoker> implements EndpointAwareTube, ReentrantTube {
 
     private WSEndpoint endpoint;
 
@@ -88,6 +90,11 @@ public abstract class InvokerTube<T> extends com.sun.xml.ws.server.sei.InvokerTu
         return this;
     }
 
+    @Override
+    public final Tube getNext() {
+        return null;
+    }
+
     @Override
     public void preDestroy() {
         invoker.dispose();
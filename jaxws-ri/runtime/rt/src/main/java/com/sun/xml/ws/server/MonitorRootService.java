@@ -17,6 +17,9 @@ import com.sun.xml.ws.api.EndpointAddress;
 import com.sun.xml.ws.api.addressing.AddressingVersion;
 import com.sun.xml.ws.api.server.*;
 import com.sun.xml.ws.transport.http.HttpAdapter;
+import com.sun.xml.ws.util.Pool;
+import com.sun.xml.ws.util.ProviderRegistry;
+import com.sun.xml.ws.util.ResponseCacheImpl;
 import com.sun.xml.ws.util.RuntimeVersion;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
@@ -116,6 +119,20 @@ public final class MonitorRootService extends MonitorBase {
                endpoint.getPort().getAddress() : null;
     }
 
+    @ManagedAttribute
+    @Description("Number of requests dispatched to a WSDL operation")
+    public long operationDispatchHits() {
+        return endpoint.getOperationDispatcher() != null ?
+               endpoint.getOperationDispatcher().getHitCount() : 0;
+    }
+
+    @ManagedAttribute
+    @Description("Number of requests that matched no WSDL operation")
+    public long operationDispatchMisses() {
+        return endpoint.getOperationDispatcher() != null ?
+               endpoint.getOperationDispatcher().getMissCount() : 0;
+    }
+
     //
     // Items from ServiceDefinition
     //
@@ -134,6 +151,25 @@ public final class MonitorRootService extends MonitorBase {
                endpoint.getServiceDefinition().getPrimary().getURL() : null;
     }
 
+    @ManagedAttribute
+    @Description("Pool of tubelines used to process requests")
+    public Pool<?> tubelinePool() {
+        return endpoint instanceof WSEndpointImpl ?
+               ((WSEndpointImpl) endpoint).getTubePool() : null;
+    }
+
+    @ManagedAttribute
+    @Description("Cache of responses, if enabled on the endpoint")
+    public ResponseCacheImpl responseCache() {
+        return ((WSEndpoint<?>) endpoint).getSPI(ResponseCacheImpl.class);
+    }
+
+    @ManagedAttribute
+    @Description("Number of service provider lookups of the runtime served from the cache")
+    public long providerLookupsAvoided() {
+        return ProviderRegistry.getLookupsAvoided();
+    }
+
     //
     // Items from SEIModel
     //
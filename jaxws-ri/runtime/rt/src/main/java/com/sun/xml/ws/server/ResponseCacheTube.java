@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.model.SEIModel;
+import com.sun.xml.ws.api.model.wsdl.WSDLPort;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.api.pipe.ContentType;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.StreamSOAPCodec;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractFilterTubeImpl;
+import com.sun.xml.ws.developer.ResponseCacheFeature;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+import com.sun.xml.ws.util.ResponseCacheImpl;
+
+import javax.xml.namespace.QName;
+import jakarta.xml.ws.WebServiceException;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Answers requests of the operations cached by {@link ResponseCacheFeature}
+ * with the response to an identical earlier request, without invoking the
+ * endpoint.
+ *
+ * <p>
+ * Requests are identified by their operation and a digest of the infoset of
+ * their payload, so that the way the payload is formatted and the SOAP headers
+ * that are not listed in the feature don't matter. The caller's identity is
+ * not part of it, so only operations whose responses are the same for every
+ * caller should be cached. Responses are kept encoded as SOAP envelopes,
+ * encoded from a copy of the response of the endpoint, which still goes to the
+ * transport as is. They are decoded again by a {@link StreamSOAPCodec} when
+ * they are replayed, which turns them into a streamed message that is copied
+ * as is to the transport.
+ *
+ * <p>
+ * This tube is meant to be right in front of the terminal tube.
+ */
+public class ResponseCacheTube extends AbstractFilterTubeImpl {
+
+    private static final Logger LOGGER = Logger.getLogger(ResponseCacheTube.class.getName());
+
+    private final ResponseCacheImpl cache;
+    private final WSBinding binding;
+    private final @Nullable WSDLPort wsdlPort;
+    private final @Nullable SEIModel seiModel;
+    private final StreamSOAPCodec codec;
+
+    // request waiting for its response, a tube processes one at a time
+    private ResponseCacheImpl.Key pendingKey;
+    private long pendingTtl;
+
+    public ResponseCacheTube(@NotNull ResponseCacheImpl cache, @NotNull WSBinding binding,
+            @Nullable WSDLPort wsdlPort, @Nullable SEIModel seiModel, Tube next) {
+        super(next);
+        this.cache = cache;
+        this.binding = binding;
+        this.wsdlPort = wsdlPort;
+        this.seiModel = seiModel;
+        this.codec = Codecs.createSOAPEnvelopeXmlCodec(binding.getFeatures());
+    }
+
+    /**
+     * Copy constructor.
+     */
+    protected ResponseCacheTube(ResponseCacheTube that, TubeCloner cloner) {
+        super(that, cloner);
+        this.cache = that.cache;
+        this.binding = that.binding;
+        this.wsdlPort = that.wsdlPort;
+        this.seiModel = that.seiModel;
+        this.codec = (StreamSOAPCodec) that.codec.copy();
+    }
+
+    @Override
+    public ResponseCacheTube copy(TubeCloner cloner) {
+        return new ResponseCacheTube(this, cloner);
+    }
+
+    @Override
+    public @NotNull NextAction processRequest(@NotNull Packet request) {
+        pendingKey = null;
+        Message msg = request.getMessage();
+        QName operation = msg != null ? request.getWSDLOperation() : null;
+        long ttl = operation != null ? cache.getTimeToLive(operation.getLocalPart()) : 0;
+        if (ttl <= 0 || !msg.getAttachments().isEmpty()) {
+            return super.processRequest(request);
+        }
+
+        ResponseCacheImpl.Key key = new ResponseCacheImpl.Key(operation, null,
+                ResponseCacheImpl.digest(msg, cache.getHeaders()));
+        ResponseCacheImpl.Entry entry = cache.get(key);
+        if (entry != null) {
+            try {
+                return doReturnWith(request.createServerResponse(decode(entry), wsdlPort, seiModel, binding));
+            } catch (WebServiceException e) {
+                LOGGER.log(Level.FINE, "Cannot decode cached response, invoking the endpoint", e);
+            }
+        }
+        pendingKey = key;
+        pendingTtl = ttl;
+        return super.processRequest(request);
+    }
+
+    @Override
+    public @NotNull NextAction processResponse(@NotNull Packet response) {
+        ResponseCacheImpl.Key key = pendingKey;
+        pendingKey = null;
+        Message msg = response.getMessage();
+        if (key != null && msg != null && !msg.isFault() && msg.getAttachments().isEmpty()) {
+            ByteArrayBuffer buf = new ByteArrayBuffer();
+            ContentType ct;
+            try {
+                // a copy, as encoding consumes the message the transport still has to write
+                ct = codec.encode(new Packet(msg.copy()), buf);
+            } catch (IOException e) {
+                throw new WebServiceException(e);
+            }
+            cache.put(key, buf.toByteArray(), ct.getContentType(), pendingTtl);
+        }
+        return super.processResponse(response);
+    }
+
+    @Override
+    public @NotNull NextAction processException(@NotNull Throwable t) {
+        pendingKey = null;
+        return super.processException(t);
+    }
+
+    private @NotNull Message decode(ResponseCacheImpl.Entry entry) {
+        Packet p = new Packet();
+        try {
+            codec.decode(new ByteArrayBuffer(entry.data).newInputStream(), entry.contentType, p);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
+        return p.getMessage();
+    }
+}
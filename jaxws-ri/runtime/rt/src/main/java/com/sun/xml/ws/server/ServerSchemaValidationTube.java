@@ -25,9 +25,9 @@ import com.sun.xml.ws.fault.SOAPFaultBuilder;
 import com.sun.xml.ws.util.pipe.AbstractSchemaValidationTube;
 import org.xml.sax.SAXException;
 
-import javax.xml.transform.Source;
 import javax.xml.validation.Schema;
 import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 import jakarta.xml.ws.WebServiceException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -43,6 +43,10 @@ public class ServerSchemaValidationTube extends AbstractSchemaValidationTube {
 
     private final Schema schema;
     private final Validator validator;
+    // validates requests while they are read, if the feature says so
+    private final ValidatorHandler validatorHandler;
+    // request being validated while it is read
+    private Packet request;
 
     private final boolean noValidation;
     private final SEIModel seiModel;
@@ -56,26 +60,19 @@ public class ServerSchemaValidationTube extends AbstractSchemaValidationTube {
 
         if (endpoint.getServiceDefinition() != null) {
             MetadataResolverImpl mdresolver = new MetadataResolverImpl(endpoint.getServiceDefinition());
-            Source[] sources = getSchemaSources(endpoint.getServiceDefinition(), mdresolver);
-            for(Source source : sources) {
-                LOGGER.fine("Constructing service validation schema from = "+source.getSystemId());
-                //printDOM((DOMSource)source);
-            }
-            if (sources.length != 0) {
+            Schema s = getSchema(endpoint.getServiceDefinition(), mdresolver);
+            if (s != null) {
                 noValidation = false;
-                sf.setResourceResolver(mdresolver);
-                try {
-                    schema = sf.newSchema(sources);
-                } catch(SAXException e) {
-                    throw new WebServiceException(e);
-                }
+                schema = s;
                 validator = schema.newValidator();
+                validatorHandler = feature.isStreaming() ? schema.newValidatorHandler() : null;
                 return;
             }
         }
         noValidation = true;
         schema = null;
         validator = null;
+        validatorHandler = null;
     }
 
     @Override
@@ -88,29 +85,62 @@ public class ServerSchemaValidationTube extends AbstractSchemaValidationTube {
         return noValidation;
     }
 
+    @Override
+    protected ValidatorHandler getValidatorHandler() {
+        return validatorHandler;
+    }
+
     @Override
     public NextAction processRequest(Packet request) {
+        this.request = null;
         if (isNoValidation() || !feature.isInbound() || !request.getMessage().hasPayload() || request.getMessage().isFault()) {
             return super.processRequest(request);
         }
+        if (validateWhileReading(request)) {
+            // an invalid payload fails databinding, see processException
+            this.request = request;
+            return super.processRequest(request);
+        }
         try {
             doProcess(request);
         } catch(SAXException se) {
-            LOGGER.log(Level.WARNING, "Client Request doesn't pass Service's Schema Validation", se);
-            // Client request is invalid. So sending specific fault code
-            // Also converting this to fault message so that handlers may get
-            // to see the message.
-            SOAPVersion soapVersion = binding.getSOAPVersion();
-            Message faultMsg = SOAPFaultBuilder.createSOAPFaultMessage(
-                    soapVersion, null, se, soapVersion.faultCodeClient);
-            return doReturnWith(request.createServerResponse(faultMsg,
-                    wsdlPort, seiModel, binding));
+            return invalidRequest(request, se);
         }
         return super.processRequest(request);
     }
 
+    @Override
+    public NextAction processException(Throwable t) {
+        Packet req = request;
+        request = null;
+        SAXException se = takeStreamingError();
+        if (se != null) {
+            return invalidRequest(req, se);
+        }
+        return super.processException(t);
+    }
+
+    private NextAction invalidRequest(Packet request, SAXException se) {
+        LOGGER.log(Level.WARNING, "Client Request doesn't pass Service's Schema Validation", se);
+        // Client request is invalid. So sending specific fault code
+        // Also converting this to fault message so that handlers may get
+        // to see the message.
+        SOAPVersion soapVersion = binding.getSOAPVersion();
+        Message faultMsg = SOAPFaultBuilder.createSOAPFaultMessage(
+                soapVersion, null, se, soapVersion.faultCodeClient);
+        return doReturnWith(request.createServerResponse(faultMsg,
+                wsdlPort, seiModel, binding));
+    }
+
     @Override
     public NextAction processResponse(Packet response) {
+        Packet req = request;
+        request = null;
+        SAXException invalid = takeStreamingError();
+        if (invalid != null) {
+            // a Provider<Message> read the request, and made a fault of the error
+            return invalidRequest(req, invalid);
+        }
         if (isNoValidation() || !feature.isOutbound() || response.getMessage() == null || !response.getMessage().hasPayload() || response.getMessage().isFault()) {
             return super.processResponse(response);
         }
@@ -128,6 +158,7 @@ public class ServerSchemaValidationTube extends AbstractSchemaValidationTube {
         //this.docs = that.docs;
         this.schema = that.schema;      // Schema is thread-safe
         this.validator = schema.newValidator();
+        this.validatorHandler = that.validatorHandler != null ? schema.newValidatorHandler() : null;
         this.noValidation = that.noValidation;
         this.seiModel = that.seiModel;
         this.wsdlPort = that.wsdlPort;
@@ -29,6 +29,8 @@ import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.*;
 import com.sun.xml.ws.api.server.*;
 import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.developer.TubelineWarmUpFeature;
+import com.sun.xml.ws.developer.VirtualThreadsFeature;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
 import com.sun.xml.ws.model.wsdl.WSDLDirectProperties;
 import com.sun.xml.ws.model.wsdl.WSDLPortProperties;
@@ -37,6 +39,7 @@ import com.sun.xml.ws.policy.PolicyMap;
 import com.sun.xml.ws.resources.HandlerMessages;
 import com.sun.xml.ws.util.Pool;
 import com.sun.xml.ws.util.Pool.TubePool;
+import com.sun.xml.ws.util.ProviderRegistry;
 import com.sun.xml.ws.util.ServiceFinder;
 import com.sun.xml.ws.wsdl.OperationDispatcher;
 import org.glassfish.gmbal.ManagedObjectManager;
@@ -172,7 +175,7 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
 
         tubePool = new TubePool(masterTubeline);
         terminalTube.setEndpoint(this);
-        engine = new Engine(toString(), container);
+        engine = new Engine(toString(), container, null, VirtualThreadsFeature.isEnabled(binding));
         wsdlProperties = (port == null) ? new WSDLDirectProperties(serviceName, portName, seiModel) : new WSDLPortProperties(port, seiModel);
 
         Map<QName, WSEndpointReference.EPRExtension> eprExtensions = new HashMap<>();
@@ -205,6 +208,7 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
         if(!eprExtensions.isEmpty()) {
             serviceDef.addFilter(new EPRSDDocumentFilter(this));
         }
+        tubePool.fillInBackground(TubelineWarmUpFeature.getSize(binding), container);
   }
 
   protected ServerTubeAssemblerContext createServerTubeAssemblerContext(
@@ -238,8 +242,9 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
                 seiModel, port, this, null /* not known */, false);
 
                 tubePool = new TubePool(masterTubeline);
-                engine = new Engine(toString(), container);
+                engine = new Engine(toString(), container, null, VirtualThreadsFeature.isEnabled(binding));
                 wsdlProperties = (port == null) ? new WSDLDirectProperties(serviceName, portName, seiModel) : new WSDLPortProperties(port, seiModel);
+                tubePool.fillInBackground(TubelineWarmUpFeature.getSize(binding), container);
   }
 
     public Collection<WSEndpointReference.EPRExtension> getEndpointReferenceExtensions() {
@@ -259,6 +264,13 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
             return endpointPolicy;
     }
 
+    /**
+     * @return pool of tubelines used to process requests
+     */
+    Pool<Tube> getTubePool() {
+        return tubePool;
+    }
+
     @Override
     public @NotNull Class<T> getImplementationClass() {
                 return implementationClass;
@@ -440,6 +452,9 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
         }
         closeManagedObjectManager();
         LazyMOMProvider.INSTANCE.unregisterEndpoint(this);
+        if (implementationClass != null && implementationClass.getClassLoader() != null) {
+            ProviderRegistry.invalidate(implementationClass.getClassLoader());
+        }
     }
 
     @Override
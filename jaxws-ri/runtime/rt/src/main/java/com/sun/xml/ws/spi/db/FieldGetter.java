@@ -10,6 +10,9 @@
 
 package com.sun.xml.ws.spi.db;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import jakarta.xml.ws.WebServiceException;
 
@@ -23,11 +26,42 @@ import jakarta.xml.ws.WebServiceException;
 public class FieldGetter extends PropertyGetterBase {
 
     protected Field field;
+    /**
+     * (Object)Object getter of the field, or null until the field is accessible.
+     * MethodHandles are immutable, so this can be published without synchronization.
+     */
+    protected MethodHandle handle;
     
     public FieldGetter(Field f) {
         verifyWrapperType(f.getDeclaringClass());   
         field = f;
         type = f.getType();
+        handle = unreflect(f);
+    }
+
+    /**
+     * Creates the getter handle of a field, if the field is accessible.
+     */
+    static MethodHandle unreflect(Field f) {
+        try {
+            return MethodHandles.publicLookup().unreflectGetter(f)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the value of the field through {@link #handle}, which must be set.
+     */
+    protected Object invokeHandle(Object instance) {
+        try {
+            return (Object) handle.invokeExact(instance);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new WebServiceException(t);
+        }
     }
     
     public Field getField() {
@@ -36,6 +70,9 @@ public class FieldGetter extends PropertyGetterBase {
     
     @Override
     public Object get(final Object instance) {
+        if (handle != null) {
+            return invokeHandle(instance);
+        }
         try {
             return field.get(instance);
         } catch (Exception e) {
@@ -10,6 +10,9 @@
 
 package com.sun.xml.ws.spi.db;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import jakarta.xml.ws.WebServiceException;
 
@@ -21,11 +24,42 @@ import jakarta.xml.ws.WebServiceException;
 public class FieldSetter extends PropertySetterBase {
     
     protected Field field;
+    /**
+     * (Object,Object)void setter of the field, or null until the field is accessible.
+     * MethodHandles are immutable, so this can be published without synchronization.
+     */
+    protected MethodHandle handle;
     
     public FieldSetter(Field f) {
         PropertyGetterBase.verifyWrapperType(f.getDeclaringClass());
         field = f;
         type = f.getType();
+        handle = unreflect(f);
+    }
+
+    /**
+     * Creates the setter handle of a field, if the field is accessible.
+     */
+    static MethodHandle unreflect(Field f) {
+        try {
+            return MethodHandles.publicLookup().unreflectSetter(f)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sets the value of the field through {@link #handle}, which must be set.
+     */
+    protected void invokeHandle(Object instance, Object resource) {
+        try {
+            handle.invokeExact(instance, resource);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new WebServiceException(t);
+        }
     }
     
     public Field getField() {
@@ -35,6 +69,10 @@ public class FieldSetter extends PropertySetterBase {
     @Override
     public void set(final Object instance, final Object val) {
         final Object resource = (type.isPrimitive() && val == null)? uninitializedValue(type): val;
+        if (handle != null) {
+            invokeHandle(instance, resource);
+            return;
+        }
         try {
             field.set(instance, resource);
         } catch (Exception e) {
@@ -283,12 +283,15 @@ public class JAXBWrapperAccessor extends WrapperAccessor {
         }
         private void setPriv(final Object instance, final Object val) {
             final Object resource = (type.isPrimitive() && val == null)? uninitializedValue(type): val;
-            if (field.isAccessible()) {
+            if (handle != null) {
+                invokeHandle(instance, resource);
+            } else if (field.isAccessible()) {
                 try {
                     field.set(instance, resource);
                 } catch (Exception e) {
                     throw new WebServiceException(e);
                 }
+                handle = unreflect(field);
             } else {
                 try {
                     AccessController.doPrivileged(new PrivilegedExceptionAction<>() {
@@ -298,6 +301,8 @@ public class JAXBWrapperAccessor extends WrapperAccessor {
                                 field.setAccessible(true);
                             }
                             field.set(instance, resource);
+                            // later calls go through the handle
+                            handle = unreflect(field);
                             return null;
                         }
                     });
@@ -312,13 +317,11 @@ public class JAXBWrapperAccessor extends WrapperAccessor {
         private PrivFieldGetter(Field f) {
             super(f);
         }        
-        static private class PrivilegedGetter implements PrivilegedExceptionAction {
+        private class PrivilegedGetter implements PrivilegedExceptionAction {
             private Object value;
-            private Field  field;
             private Object instance;
-            public PrivilegedGetter(Field field, Object instance) {
+            public PrivilegedGetter(Object instance) {
                 super();
-                this.field = field;
                 this.instance = instance;
             }
             @Override
@@ -327,18 +330,24 @@ public class JAXBWrapperAccessor extends WrapperAccessor {
                     field.setAccessible(true);
                 }
                 value = field.get(instance);            
+                // later calls go through the handle
+                handle = unreflect(field);
                 return null;
             }
         }            
         private Object getPriv(final Object instance) {
-            if (field.isAccessible()) {
+            if (handle != null) {
+                return invokeHandle(instance);
+            } else if (field.isAccessible()) {
+                // made accessible by the setter of the same field
+                handle = unreflect(field);
                 try {
                     return field.get(instance);
                 } catch (Exception e) {
                     throw new WebServiceException(e);
                 }
             } else {
-                PrivilegedGetter privilegedGetter = new PrivilegedGetter(field, instance);
+                PrivilegedGetter privilegedGetter = new PrivilegedGetter(instance);
                 try {
                     AccessController.doPrivileged(privilegedGetter);
                 } catch (PrivilegedActionException e) {
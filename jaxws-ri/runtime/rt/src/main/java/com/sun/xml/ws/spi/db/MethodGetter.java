@@ -10,6 +10,9 @@
 
 package com.sun.xml.ws.spi.db;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import jakarta.xml.ws.WebServiceException;
 
@@ -22,11 +25,23 @@ import jakarta.xml.ws.WebServiceException;
 public class MethodGetter extends PropertyGetterBase {
 
     private Method method;
+    // (Object)Object, or null if the method isn't public
+    private final MethodHandle handle;
     
     public MethodGetter(Method m) {
         verifyWrapperType(m.getDeclaringClass());    
         method = m;
         type = m.getReturnType();
+        handle = unreflect(m);
+    }
+
+    private static MethodHandle unreflect(Method m) {
+        try {
+            return MethodHandles.publicLookup().unreflect(m)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
     }
     
     public Method getMethod() {
@@ -41,9 +56,17 @@ public class MethodGetter extends PropertyGetterBase {
     
     @Override
     public Object get(final Object instance) {
-        final Object[] args = new Object[0];
+        if (handle != null) {
+            try {
+                return (Object) handle.invokeExact(instance);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new WebServiceException(t);
+            }
+        }
         try {
-            return method.invoke(instance, args);
+            return method.invoke(instance);
         } catch (Exception e) {
             throw new WebServiceException(e);
         }       
@@ -10,6 +10,9 @@
 
 package com.sun.xml.ws.spi.db;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import jakarta.xml.ws.WebServiceException;
 
@@ -22,11 +25,23 @@ import jakarta.xml.ws.WebServiceException;
 public class MethodSetter extends PropertySetterBase {
     
     private Method method;
+    // (Object,Object)void, or null if the method isn't public
+    private final MethodHandle handle;
     
     public MethodSetter(Method m) {
         PropertyGetterBase.verifyWrapperType(m.getDeclaringClass());
         method = m;
         type = m.getParameterTypes()[0];
+        handle = unreflect(m);
+    }
+
+    private static MethodHandle unreflect(Method m) {
+        try {
+            return MethodHandles.publicLookup().unreflect(m)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
     }
     
     public Method getMethod() {
@@ -42,9 +57,18 @@ public class MethodSetter extends PropertySetterBase {
     @Override
     public void set(final Object instance, Object val) {
         final Object resource = (type.isPrimitive() && val == null)? uninitializedValue(type): val;
-        final Object[] args = {resource};
+        if (handle != null) {
+            try {
+                handle.invokeExact(instance, resource);
+                return;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new WebServiceException(t);
+            }
+        }
         try {
-            method.invoke(instance, args);
+            method.invoke(instance, resource);
         } catch (Exception e) {
             throw new WebServiceException(e);
         }
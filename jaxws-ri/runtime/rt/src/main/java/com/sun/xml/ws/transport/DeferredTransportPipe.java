@@ -19,6 +19,8 @@ import com.sun.xml.ws.developer.HttpConfigFeature;
 
 import jakarta.xml.ws.BindingProvider;
 import jakarta.xml.ws.WebServiceFeature;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Proxy transport {@link Tube} and {@link Pipe} that lazily determines the
@@ -32,14 +34,22 @@ import jakarta.xml.ws.WebServiceFeature;
  * <p>
  * Since a typical application makes multiple invocations with the same endpoint
  * address, this class implements a simple cache strategy to avoid re-creating
- * transport pipes excessively.
+ * transport pipes excessively. The transports of the last few addresses are
+ * kept too, so that a port that spreads its invocations over a few addresses,
+ * see {@link com.sun.xml.ws.client.LoadBalancingTube}, keeps reusing them and
+ * their connections.
  *
  * @author Kohsuke Kawaguchi
  */
 public final class DeferredTransportPipe extends AbstractTubeImpl {
 
+    private static final int MAX_RECENT = 16;
+
     private Tube transport;
     private EndpointAddress address;
+    // transports of the other addresses used recently, lazily created,
+    // keyed by the address as a string, as equal addresses may be different instances
+    private Map<String, Tube> recent;
 
     // parameter to TransportPipeFactory
     private final ClassLoader classLoader;
@@ -84,12 +94,20 @@ public final class DeferredTransportPipe extends AbstractTubeImpl {
         // cache miss
 
         if(transport!=null) {
-            // delete the current entry
-            transport.preDestroy();
+            // keep the current entry
+            keep(address, transport);
             transport = null;
             address = null;
         }
 
+        Tube t = recent != null && request.endpointAddress != null
+                ? recent.remove(request.endpointAddress.toString()) : null;
+        if (t != null) {
+            address = request.endpointAddress;
+            transport = t;
+            return transport.processRequest(request);
+        }
+
         // otherwise find out what transport will process this.
 
         ClientTubeAssemblerContext newContext = new ClientTubeAssemblerContext(
@@ -125,6 +143,31 @@ public final class DeferredTransportPipe extends AbstractTubeImpl {
             transport = null;
             address = null;
         }
+        if (recent != null) {
+            for (Tube t : recent.values()) {
+                t.preDestroy();
+            }
+            recent = null;
+        }
+    }
+
+    private void keep(EndpointAddress address, Tube transport) {
+        if (recent == null) {
+            recent = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Tube> eldest) {
+                    if (size() > MAX_RECENT) {
+                        eldest.getValue().preDestroy();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        Tube replaced = recent.put(String.valueOf(address), transport);
+        if (replaced != null) {
+            replaced.preDestroy();
+        }
     }
 
     @Override
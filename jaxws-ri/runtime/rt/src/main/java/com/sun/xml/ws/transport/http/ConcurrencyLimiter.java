@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.model.wsdl.WSDLBoundOperation;
+import com.sun.xml.ws.api.model.wsdl.WSDLPort;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import com.sun.xml.ws.developer.ConcurrencyLimitFeature;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Adaptive limit on the number of requests an {@link HttpAdapter} processes
+ * at the same time, configured by {@link ConcurrencyLimitFeature}.
+ *
+ * <p>
+ * The limit follows the gradient between the long-term average latency and
+ * the latency of each completed request. While they are about the same, the
+ * limit grows by about its square root, which leaves room for a small queue.
+ * When latency rises above the average the limit is scaled down with it.
+ * The limit only grows while at least half of it is in use, so that it
+ * doesn't drift upwards while the endpoint is mostly idle.
+ */
+final class ConcurrencyLimiter {
+
+    // latency may rise this much over the average before the limit goes down
+    private static final double TOLERANCE = 1.5;
+    // weight of a new limit
+    private static final double SMOOTHING = 0.2;
+    // number of samples the long-term average latency roughly covers
+    private static final int WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    // priorities keyed by unquoted SOAP action
+    private final Map<String, Integer> priorities;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private final LongAdder rejected = new LongAdder();
+
+    // guarded by this
+    private double estimatedLimit;
+    private double longRtt;
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Map<String, Integer> priorities) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.priorities = priorities;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * @return a limiter for the endpoint, or null if {@link ConcurrencyLimitFeature} isn't enabled on it
+     */
+    static @Nullable ConcurrencyLimiter create(WSEndpoint<?> endpoint) {
+        ConcurrencyLimitFeature f = endpoint.getBinding().getFeature(ConcurrencyLimitFeature.class);
+        if (f == null || !f.isEnabled()) {
+            return null;
+        }
+        Map<String, Integer> priorities = Collections.emptyMap();
+        WSDLPort port = endpoint.getPort();
+        if (!f.getPriorities().isEmpty() && port != null) {
+            priorities = new HashMap<>();
+            for (WSDLBoundOperation op : port.getBinding().getBindingOperations()) {
+                String action = op.getSOAPAction();
+                if (!action.isEmpty()) {
+                    priorities.put(action, f.getPriority(op.getName().getLocalPart()));
+                }
+            }
+        }
+        return new ConcurrencyLimiter(f.getInitialLimit(), f.getMinLimit(), f.getMaxLimit(), priorities);
+    }
+
+    /**
+     * Admits a request if the limit for its priority allows it.
+     *
+     * @param con connection of the request, to identify the operation
+     * @return permit to release once the request is done, or null if the
+     *         request is to be rejected
+     */
+    @Nullable Permit acquire(WSHTTPConnection con) {
+        int priority = priorities.isEmpty()
+                ? ConcurrencyLimitFeature.DEFAULT_PRIORITY
+                : getPriority(con);
+        return acquire(priority);
+    }
+
+    @Nullable Permit acquire(int priority) {
+        int allowed = Math.max(1, (int) ((long) limit * priority / 100));
+        while (true) {
+            int n = inFlight.get();
+            if (n >= allowed) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(n, n + 1)) {
+                return new Permit();
+            }
+        }
+    }
+
+    synchronized void update(long rtt, int inFlight) {
+        if (longRtt == 0) {
+            longRtt = rtt;
+        } else {
+            longRtt += (rtt - longRtt) / WINDOW;
+            // recover quickly once latency drops well below the average
+            if (longRtt / rtt > 2) {
+                longRtt *= 0.95;
+            }
+        }
+        if (inFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        if ((int) newLimit != limit && LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Concurrency limit changed from {0} to {1}",
+                    new Object[] {limit, (int) newLimit});
+        }
+        estimatedLimit = newLimit;
+        limit = (int) newLimit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private int getPriority(WSHTTPConnection con) {
+        String action = con.getRequestHeader("SOAPAction");
+        if (action == null) {
+            // SOAP 1.2 carries it in the action parameter of the content type
+            String ct = con.getRequestHeader("Content-Type");
+            int i = ct != null ? ct.indexOf("action=") : -1;
+            if (i >= 0) {
+                action = ct.substring(i + 7);
+                int end = action.indexOf(';', action.startsWith("\"") ? action.indexOf('"', 1) : 0);
+                if (end >= 0) {
+                    action = action.substring(0, end);
+                }
+            }
+        }
+        if (action != null) {
+            action = action.trim();
+            if (action.length() >= 2 && action.startsWith("\"") && action.endsWith("\"")) {
+                action = action.substring(1, action.length() - 1);
+            }
+            Integer p = priorities.get(action);
+            if (p != null) {
+                return p;
+            }
+        }
+        return ConcurrencyLimitFeature.DEFAULT_PRIORITY;
+    }
+
+    /**
+     * An admitted request.
+     */
+    final class Permit {
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Ends the request, and adjusts the limit from its latency.
+         * Calls after the first one are ignored.
+         */
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                long rtt = Math.max(1, System.nanoTime() - start);
+                update(rtt, inFlight.getAndDecrement());
+            }
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(ConcurrencyLimiter.class.getName());
+}
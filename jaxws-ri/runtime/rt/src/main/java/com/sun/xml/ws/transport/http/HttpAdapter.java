@@ -22,11 +22,13 @@ import java.util.AbstractMap;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -59,6 +61,8 @@ import com.sun.xml.ws.api.server.ServiceDefinition;
 import com.sun.xml.ws.api.server.TransportBackChannel;
 import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.api.server.WebServiceContextDelegate;
+import com.sun.xml.ws.developer.TubelineWarmUpFeature;
+import com.sun.xml.ws.dump.AsyncMessageDumper;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
 import com.sun.xml.ws.resources.WsservletMessages;
 import com.sun.xml.ws.server.UnsupportedMediaException;
@@ -101,6 +105,14 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      */
     private ServiceDefinition serviceDefinition = null;
 
+    /**
+     * Documents served by {@link #publishWSDL(WSHTTPConnection)}, keyed by
+     * the {@link SDDocument} and the base address they were rendered for.
+     * Replaced whenever the service definition changes.
+     */
+    private volatile Map<Entry<SDDocument,String>,PublishedDocument> publishedDocuments =
+            new ConcurrentHashMap<>();
+
     public final HttpAdapterList<? extends HttpAdapter> owner;
 
     /**
@@ -108,6 +120,15 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      */
     public final String urlPattern;
 
+    /**
+     * Limits the requests processed at the same time, null unless
+     * {@link com.sun.xml.ws.developer.ConcurrencyLimitFeature} is enabled.
+     */
+    private final ConcurrencyLimiter limiter;
+
+    // 503 fault sent while the concurrency limit is reached, encoded on first use
+    private volatile EncodedResponse serverBusy;
+
     protected boolean stickyCookie;
 
     protected boolean disableJreplicaCookie = false;
@@ -144,7 +165,21 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
         this.owner = owner;
         this.urlPattern = urlPattern;
 
+        this.limiter = ConcurrencyLimiter.create(endpoint);
+
         initWSDLMap(endpoint.getServiceDefinition());
+
+        warmUp();
+    }
+
+    /**
+     * Creates the toolkits of the {@link TubelineWarmUpFeature} in the background,
+     * for every adapter, whether or not it belongs to a {@link HttpAdapterList}.
+     * The adapter can be handed to another thread before it is fully constructed,
+     * as {@link HttpToolkit}s only depend on the endpoint.
+     */
+    private void warmUp() {
+        getPool().fillInBackground(TubelineWarmUpFeature.getSize(endpoint.getBinding()), endpoint.getContainer());
     }
 
     /**
@@ -163,6 +198,7 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      */
     public final void initWSDLMap(final ServiceDefinition serviceDefinition) {
         this.serviceDefinition = serviceDefinition;
+        this.publishedDocuments = new ConcurrentHashMap<>();
         if(serviceDefinition==null) {
             wsdls = Collections.emptyMap();
             revWsdls = Collections.emptyMap();
@@ -385,6 +421,15 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             return;
         }
 
+        ConcurrencyLimiter.Permit permit = null;
+        if (limiter != null) {
+            permit = limiter.acquire(connection);
+            if (permit == null) {
+                writeServerBusy(connection);
+                return;
+            }
+        }
+
         // Make sure the Toolkit is recycled by the same pool instance from which it was taken
         final Pool<HttpToolkit> currentPool = getPool();
         // normal request handling
@@ -393,6 +438,9 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             tk.handle(connection);
         } finally {
             currentPool.recycle(tk);
+            if (permit != null) {
+                permit.release();
+            }
         }
     }
 
@@ -465,11 +513,22 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
         packet.webServiceContextDelegate = con.getWebServiceContextDelegate();
         packet.setState(Packet.State.ServerRequest);
         if (dump || LOGGER.isLoggable(Level.FINER)) {
-            ByteArrayBuffer buf = new ByteArrayBuffer();
-            buf.write(in);
-            in.close();
-            dump(buf, "HTTP request", con.getRequestHeaders());
-            in = buf.newInputStream();
+            if (AsyncMessageDumper.isEnabled()) {
+                con.dumpSampled = AsyncMessageDumper.sample();
+                // for the dumping tubes to make the same decision
+                AsyncMessageDumper.setSampled(packet, con.dumpSampled);
+                if (con.dumpSampled) {
+                    final Map<String, List<String>> headers = new LinkedHashMap<>(con.getRequestHeaders());
+                    in = AsyncMessageDumper.capture(in, AsyncMessageDumper.threshold,
+                            (data, length, truncated) -> dump(data, length, truncated, "HTTP request", headers));
+                }
+            } else {
+                ByteArrayBuffer buf = new ByteArrayBuffer();
+                buf.write(in);
+                in.close();
+                dump(buf, "HTTP request", con.getRequestHeaders());
+                in = buf.newInputStream();
+            }
         }
         codec.decode(in, ct, packet);
         return packet;
@@ -555,12 +614,13 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                     con.setStatus(WSHTTPConnection.ONEWAY);
                 }
                 OutputStream os = con.getProtocol().contains("1.1") ? con.getOutput() : new Http10OutputStream(con);
-                if (dump || LOGGER.isLoggable(Level.FINER)) {
+                if (isBufferedDump()) {
                     ByteArrayBuffer buf = new ByteArrayBuffer();
                     codec.encode(packet, buf);
                     dump(buf, "HTTP response " + con.getStatus(), con.getResponseHeaders());
                     buf.writeTo(os);
                 } else {
+                    os = captureResponse(con, os);
                     codec.encode(packet, os);
                 }
                 // close the response channel now
@@ -581,12 +641,13 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
 
             if (isClientErrorStatus(con.getStatus())) {
                 OutputStream os = con.getOutput();
-                if (dump || LOGGER.isLoggable(Level.FINER)) {
+                if (isBufferedDump()) {
                     ByteArrayBuffer buf = new ByteArrayBuffer();
                     writeClientError(con.getStatus(), buf, packet);
                     dump(buf, "HTTP response " + con.getStatus(), con.getResponseHeaders());
                     buf.writeTo(os);
                 } else {
+                    os = captureResponse(con, os);
                     writeClientError(con.getStatus(), os, packet);
                 }
                 os.close();
@@ -597,12 +658,13 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             if (contentType != null) {
                 con.setContentTypeResponseHeader(contentType.getContentType());
                 OutputStream os = con.getProtocol().contains("1.1") ? con.getOutput() : new Http10OutputStream(con);
-                if (dump || LOGGER.isLoggable(Level.FINER)) {
+                if (isBufferedDump()) {
                     ByteArrayBuffer buf = new ByteArrayBuffer();
                     codec.encode(packet, buf);
                     dump(buf, "HTTP response " + con.getStatus(), con.getResponseHeaders());
                     buf.writeTo(os);
                 } else {
+                    os = captureResponse(con, os);
                     codec.encode(packet, os);
                 }
                 os.close();
@@ -611,10 +673,10 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                 ByteArrayBuffer buf = new ByteArrayBuffer();
                 contentType = codec.encode(packet, buf);
                 con.setContentTypeResponseHeader(contentType.getContentType());
-                if (dump || LOGGER.isLoggable(Level.FINER)) {
+                if (isBufferedDump()) {
                     dump(buf, "HTTP response " + con.getStatus(), con.getResponseHeaders());
                 }
-                OutputStream os = con.getOutput();
+                OutputStream os = captureResponse(con, con.getOutput());
                 buf.writeTo(os);
                 os.close();
             }
@@ -674,6 +736,28 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                 callback.onCompletion();
                 return;
             }
+            if (limiter == null) {
+                processAsync(con, callback);
+                return;
+            }
+            final ConcurrencyLimiter.Permit permit = limiter.acquire(con);
+            if (permit == null) {
+                writeServerBusy(con);
+                callback.onCompletion();
+                return;
+            }
+            try {
+                processAsync(con, () -> {
+                    permit.release();
+                    callback.onCompletion();
+                });
+            } catch (IOException | RuntimeException | Error e) {
+                permit.release();
+                throw e;
+            }
+    }
+
+    private void processAsync(final WSHTTPConnection con, final CompletionCallback callback) throws IOException {
             final Pool<HttpToolkit> currentPool = getPool();
             final HttpToolkit tk = currentPool.take();
             final Packet request;
@@ -791,13 +875,15 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                     // no-op
                 }
 
-                if (dump || LOGGER.isLoggable(Level.FINER)) {
+                if (isBufferedDump()) {
                     try {
                         ByteArrayBuffer buf = new ByteArrayBuffer();
                         dump(buf, "HTTP response " + con.getStatus(), con.getResponseHeaders());
                     } catch (Exception e) {
                         throw new WebServiceException(e.toString(), e);
                     }
+                } else if (output != null) {
+                    output = captureResponse(con, output);
                 }
 
                 if (output != null) {
@@ -890,16 +976,23 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             return;
         }
 
-        con.setStatus(HttpURLConnection.HTTP_OK);
-        con.setContentTypeResponseHeader("text/xml;charset=utf-8");
-
-        OutputStream os = con.getProtocol().contains("1.1") ? con.getOutput() : new Http10OutputStream(con);
-
-        PortAddressResolver portAddressResolver = getPortAddressResolver(con.getBaseAddress());
-        DocumentAddressResolver resolver = getDocumentAddressResolver(portAddressResolver);
-
-        doc.writeTo(portAddressResolver, resolver, os);
-        os.close();
+        String baseAddress = con.getBaseAddress();
+        Map<Entry<SDDocument,String>,PublishedDocument> cache = publishedDocuments;
+        Entry<SDDocument,String> key = new AbstractMap.SimpleImmutableEntry<>(doc, baseAddress);
+        PublishedDocument published = cache.get(key);
+        if (published == null) {
+            PortAddressResolver portAddressResolver = getPortAddressResolver(baseAddress);
+            DocumentAddressResolver resolver = getDocumentAddressResolver(portAddressResolver);
+            published = PublishedDocument.render(doc, portAddressResolver, resolver);
+            // the base address comes from the request, so don't let it grow without bounds
+            if (cache.size() < documentCacheSize) {
+                PublishedDocument old = cache.putIfAbsent(key, published);
+                if (old != null) {
+                    published = old;
+                }
+            }
+        }
+        published.publish(con, gzipDocuments);
     }
 
     public PortAddressResolver getPortAddressResolver(String baseAddress) {
@@ -957,6 +1050,70 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
         out.close();
     }
 
+    /**
+     * Rejects a request, without reading it, with 503 and a SOAP Server fault.
+     */
+    private void writeServerBusy(WSHTTPConnection con) throws IOException {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Rejecting request, concurrency limit {0} reached", limiter.getLimit());
+        }
+        con.getInput().close();
+        EncodedResponse busy = serverBusy;
+        if (busy == null) {
+            // threads that race here encode the same fault
+            busy = encodeServerBusy();
+            serverBusy = busy;
+        }
+        con.setStatus(HttpURLConnection.HTTP_UNAVAILABLE);
+        addStickyCookie(con);
+        try {
+            if (busy.contentType != null) {
+                con.setContentTypeResponseHeader(busy.contentType);
+                con.setContentLengthResponseHeader(busy.data.length);
+            }
+            if (isBufferedDump()) {
+                dump(new ByteArrayBuffer(busy.data), "HTTP response " + con.getStatus(), con.getResponseHeaders());
+            }
+            OutputStream os = con.getOutput();
+            os.write(busy.data);
+            os.close();
+        } finally {
+            if (!con.isClosed()) {
+                con.close();
+            }
+        }
+    }
+
+    /**
+     * Encodes the SOAP Server fault of {@link #writeServerBusy} with a codec
+     * of its own, so that rejecting a request never waits for a toolkit of
+     * the pool, nor creates one.
+     */
+    private EncodedResponse encodeServerBusy() throws IOException {
+        SOAPVersion soapVersion = endpoint.getBinding().getSOAPVersion();
+        if (soapVersion == null) {
+            return new EncodedResponse(null, new byte[0]);
+        }
+        Packet response = new Packet(SOAPFaultBuilder.createSOAPFaultMessage(soapVersion,
+                WsservletMessages.SERVLET_FAULTSTRING_SERVER_BUSY(), soapVersion.faultCodeServer));
+        ByteArrayBuffer buf = new ByteArrayBuffer();
+        ContentType ct = endpoint.createCodec().encode(response, buf);
+        return new EncodedResponse(ct.getContentType(), buf.toByteArray());
+    }
+
+    /**
+     * Response encoded once, and written as is.
+     */
+    private static final class EncodedResponse {
+        final @Nullable String contentType;
+        final byte[] data;
+
+        EncodedResponse(@Nullable String contentType, byte[] data) {
+            this.contentType = contentType;
+            this.data = data;
+        }
+    }
+
     private void writeInternalServerError(WSHTTPConnection con) throws IOException {
         con.setStatus(HttpURLConnection.HTTP_INTERNAL_ERROR);
         con.getOutput().close();        // Sets the status code
@@ -969,7 +1126,34 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
         }
     }
 
+    /**
+     * @return true if messages are dumped in full on the request thread
+     */
+    private static boolean isBufferedDump() {
+        return (dump || LOGGER.isLoggable(Level.FINER)) && !AsyncMessageDumper.isEnabled();
+    }
+
+    /**
+     * Wraps the response stream to dump the response in the background,
+     * if the request was picked to be dumped by {@link AsyncMessageDumper}.
+     */
+    private static OutputStream captureResponse(WSHTTPConnection con, OutputStream os) {
+        if (!con.dumpSampled || !AsyncMessageDumper.isEnabled() || !(dump || LOGGER.isLoggable(Level.FINER))) {
+            return os;
+        }
+        final String caption = "HTTP response " + con.getStatus();
+        Map<String, List<String>> responseHeaders = con.getResponseHeaders();
+        final Map<String, List<String>> headers = responseHeaders != null ? new LinkedHashMap<>(responseHeaders) : null;
+        return AsyncMessageDumper.capture(os, AsyncMessageDumper.threshold,
+                (data, length, truncated) -> dump(data, length, truncated, caption, headers));
+    }
+
     private static void dump(ByteArrayBuffer buf, String caption, Map<String, List<String>> headers) throws IOException {
+        int threshold = dump_threshold;
+        dump(buf.getRawData(), Math.min(buf.size(), threshold), buf.size() > threshold, caption, headers);
+    }
+
+    private static void dump(byte[] data, int length, boolean truncated, String caption, Map<String, List<String>> headers) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         PrintWriter pw = new PrintWriter(baos, true);
         pw.println("---["+caption +"]---");
@@ -986,14 +1170,12 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                 }
             }
         }
-        if (buf.size() > dump_threshold) {
-            byte[] b = buf.getRawData();
-            baos.write(b, 0, dump_threshold);
-            pw.println();
-            pw.println(WsservletMessages.MESSAGE_TOO_LONG(HttpAdapter.class.getName() + ".dumpTreshold"));
-        } else {
-            buf.writeTo(baos);
-            pw.println();
+        baos.write(data, 0, length);
+        pw.println();
+        if (truncated) {
+            // sampled dumps are cut at a threshold of their own
+            pw.println(WsservletMessages.MESSAGE_TOO_LONG(AsyncMessageDumper.isEnabled()
+                    ? AsyncMessageDumper.class.getName() + ".threshold" : HttpAdapter.class.getName() + ".dumpTreshold"));
         }
         pw.println("--------------------");
 
@@ -1092,6 +1274,17 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
 
     public static volatile boolean publishStatusPage = true;
 
+    /**
+     * Maximum number of rendered WSDL and schema documents kept per adapter.
+     * Each distinct base address used to fetch a document takes an entry.
+     */
+    public static volatile int documentCacheSize = 64;
+
+    /**
+     * Whether WSDL and schema documents are sent gzip encoded to clients that accept it.
+     */
+    public static volatile boolean gzipDocuments = false;
+
     public static synchronized void setPublishStatus(boolean publish) {
         publishStatusPage = publish;
     }
@@ -1113,6 +1306,22 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                         new Object[] {HttpAdapter.class.getName() + ".dumpTreshold"});
             }
         }
+        try {
+            documentCacheSize = Integer.getInteger(HttpAdapter.class.getName() + ".documentCacheSize", 64);
+        } catch (SecurityException se) {
+            if (LOGGER.isLoggable(Level.CONFIG)) {
+                LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                        new Object[] {HttpAdapter.class.getName() + ".documentCacheSize"});
+            }
+        }
+        try {
+            gzipDocuments = Boolean.getBoolean(HttpAdapter.class.getName() + ".gzipDocuments");
+        } catch (SecurityException se) {
+            if (LOGGER.isLoggable(Level.CONFIG)) {
+                LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                        new Object[] {HttpAdapter.class.getName() + ".gzipDocuments"});
+            }
+        }
         try {
             if (System.getProperty(HttpAdapter.class.getName() + ".publishStatusPage") != null) {
                 setPublishStatus(Boolean.getBoolean(HttpAdapter.class.getName() + ".publishStatusPage"));
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.server.DocumentAddressResolver;
+import com.sun.xml.ws.api.server.PortAddressResolver;
+import com.sun.xml.ws.api.server.SDDocument;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A WSDL or schema document rendered for one base address, as served by
+ * {@link HttpAdapter#publishWSDL(WSHTTPConnection)}.
+ *
+ * <p>
+ * Keeps the bytes of the document along with its validators, so that it can
+ * be served again without running {@link SDDocument#writeTo} and its filters,
+ * and conditional requests can be answered with 304 (Not Modified).
+ * The gzip encoded form is created on first use.
+ */
+final class PublishedDocument {
+
+    private static final DateTimeFormatter HTTP_DATE =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+
+    private final byte[] data;
+    private volatile byte[] gzipped;
+    private final String etag;
+    private final String gzipEtag;
+    // whole seconds, as that's all HTTP dates can carry
+    private final long lastModified;
+    private final String lastModifiedHeader;
+
+    PublishedDocument(byte[] data, long lastModified) {
+        this.data = data;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        String tag = Long.toHexString(crc.getValue()) + '-' + Integer.toHexString(data.length);
+        this.etag = '"' + tag + '"';
+        this.gzipEtag = '"' + tag + "-gzip\"";
+        this.lastModified = lastModified / 1000 * 1000;
+        this.lastModifiedHeader = HTTP_DATE.format(Instant.ofEpochMilli(this.lastModified).atZone(ZoneOffset.UTC));
+    }
+
+    /**
+     * Renders the document with the given resolvers.
+     */
+    static PublishedDocument render(SDDocument doc, PortAddressResolver portAddressResolver,
+            DocumentAddressResolver resolver) throws IOException {
+        ByteArrayBuffer buf = new ByteArrayBuffer();
+        doc.writeTo(portAddressResolver, resolver, buf);
+        buf.close();
+        return new PublishedDocument(buf.toByteArray(), System.currentTimeMillis());
+    }
+
+    String getETag() {
+        return etag;
+    }
+
+    String getLastModified() {
+        return lastModifiedHeader;
+    }
+
+    /**
+     * Evaluates the conditional headers of a GET request.
+     *
+     * @param ifNoneMatch value of the If-None-Match header
+     * @param ifModifiedSince value of the If-Modified-Since header, ignored
+     *        if If-None-Match is present
+     * @return true if the client's copy is current
+     */
+    boolean isNotModified(@Nullable String ifNoneMatch, @Nullable String ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (ifModifiedSince != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant().toEpochMilli();
+                return lastModified <= since;
+            } catch (DateTimeParseException e) {
+                // invalid dates are to be ignored
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the Accept-Encoding header allows a gzip encoded response
+     */
+    static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes the response to a GET request for this document.
+     *
+     * @param gzip true to consider sending the document gzip encoded
+     */
+    void publish(@NotNull WSHTTPConnection con, boolean gzip) throws IOException {
+        if (gzip) {
+            // the response depends on the header, whether it is compressed or not, even if it is a 304
+            con.setResponseHeader("Vary", "Accept-Encoding");
+        }
+        gzip = gzip && acceptsGzip(con.getRequestHeader("Accept-Encoding"));
+        con.setResponseHeader("ETag", gzip ? gzipEtag : etag);
+        con.setResponseHeader("Last-Modified", lastModifiedHeader);
+
+        if (isNotModified(con.getRequestHeader("If-None-Match"), con.getRequestHeader("If-Modified-Since"))) {
+            con.setStatus(HttpURLConnection.HTTP_NOT_MODIFIED);
+            con.getOutput().close();
+            return;
+        }
+
+        byte[] body = data;
+        if (gzip) {
+            con.setResponseHeader("Content-Encoding", "gzip");
+            body = getGzipped();
+        }
+        con.setStatus(HttpURLConnection.HTTP_OK);
+        con.setContentTypeResponseHeader("text/xml;charset=utf-8");
+        con.setContentLengthResponseHeader(body.length);
+        OutputStream os = con.getOutput();
+        os.write(body);
+        os.close();
+    }
+
+    byte[] getGzipped() throws IOException {
+        byte[] gz = gzipped;
+        if (gz == null) {
+            ByteArrayBuffer buf = new ByteArrayBuffer();
+            try (GZIPOutputStream out = new GZIPOutputStream(buf)) {
+                out.write(data);
+            }
+            gz = buf.toByteArray();
+            gzipped = gz;
+        }
+        return gz;
+    }
+}
@@ -316,6 +316,9 @@ public abstract class WSHTTPConnection extends BasePropertySet {
 
     private volatile boolean closed;
 
+    // whether the exchange is dumped, when dumps are sampled
+    volatile boolean dumpSampled;
+
     /**
      * Close the connection
      */
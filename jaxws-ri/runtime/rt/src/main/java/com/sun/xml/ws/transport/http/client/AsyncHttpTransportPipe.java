@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http.client;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codec;
+import com.sun.xml.ws.api.pipe.ContentType;
+import com.sun.xml.ws.api.pipe.Fiber;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.client.BindingProviderProperties;
+import com.sun.xml.ws.client.ClientTransportException;
+import com.sun.xml.ws.client.ExchangeCancellation;
+import com.sun.xml.ws.developer.AsyncHttpTransportFeature;
+import com.sun.xml.ws.developer.HttpConnectionPoolFeature;
+import com.sun.xml.ws.resources.ClientMessages;
+import com.sun.xml.ws.transport.Headers;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+
+import jakarta.xml.ws.BindingProvider;
+import jakarta.xml.ws.WebServiceException;
+import jakarta.xml.ws.handler.MessageContext;
+import jakarta.xml.ws.soap.SOAPBinding;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link HttpTransportPipe} that sends the request with {@link HttpClient#sendAsync}
+ * and suspends the {@link Fiber} until the response arrives, so that no thread
+ * is held during the network round trip.
+ *
+ * <p>
+ * The request is encoded into memory before it is sent. The response is
+ * received completely and decoded on a thread of the executor of the
+ * {@link HttpClient}, before the fiber is resumed with it.
+ *
+ * <p>
+ * Requests are sent through the {@link HttpConnectionPool} selected by the
+ * features of the binding.
+ *
+ * @see AsyncHttpTransportFeature
+ * @see HttpConnectionPoolFeature
+ */
+public class AsyncHttpTransportPipe extends HttpTransportPipe {
+
+    /**
+     * Headers that {@link HttpClient} sets by itself and refuses from the application.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        Collections.addAll(RESTRICTED_HEADERS, "Connection", "Content-Length", "Expect", "Host", "Upgrade");
+    }
+
+    private final HttpConnectionPool pool;
+
+    public AsyncHttpTransportPipe(Codec codec, WSBinding binding) {
+        this(codec, binding, HttpConnectionPool.get(binding));
+    }
+
+    protected AsyncHttpTransportPipe(Codec codec, WSBinding binding, HttpConnectionPool pool) {
+        super(codec, binding);
+        this.pool = pool;
+    }
+
+    /*
+     * Copy constructor for {@link Tube#copy(TubeCloner)}.
+     */
+    private AsyncHttpTransportPipe(AsyncHttpTransportPipe that, TubeCloner cloner) {
+        this(that.codec.copy(), that.binding, that.pool);
+        cloner.add(that, this);
+    }
+
+    @Override
+    public NextAction processRequest(@NotNull final Packet request) {
+        final boolean sampled = isSampledDump(request);
+        final HttpRequest httpRequest = createHttpRequest(request, sampled);
+        final Fiber fiber = Fiber.current();
+        final ExchangeCancellation cancellation = request.getSatellite(ExchangeCancellation.class);
+        // the exchange is started once the fiber is marked as suspended,
+        // the callback may run on any thread of the client's executor
+        return doSuspend(() -> {
+            CompletableFuture<HttpResponse<byte[]>> exchange = pool.sendAsync(httpRequest);
+            if (cancellation != null) {
+                cancellation.onCancel(() -> exchange.cancel(true));
+            }
+            exchange.whenComplete((response, error) -> {
+                if (cancellation != null) {
+                    cancellation.done();
+                }
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    fiber.resume(new ClientTransportException(ClientMessages.localizableHTTP_CLIENT_FAILED(cause), cause));
+                    return;
+                }
+                Packet reply;
+                try {
+                    reply = createResponsePacket(request, response, sampled);
+                } catch (RuntimeException ex) {
+                    fiber.resume(ex);
+                    return;
+                } catch (IOException ex) {
+                    fiber.resume(new WebServiceException(ex));
+                    return;
+                }
+                fiber.resume(reply);
+            });
+        });
+    }
+
+    /**
+     * Blocking variant, used only when this tube is run as a {@link com.sun.xml.ws.api.pipe.Pipe}.
+     */
+    @Override
+    public Packet process(Packet request) {
+        try {
+            boolean sampled = isSampledDump(request);
+            HttpResponse<byte[]> response = pool.sendAsync(createHttpRequest(request, sampled)).get();
+            return createResponsePacket(request, response, sampled);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new WebServiceException(ex);
+        } catch (ExecutionException ex) {
+            throw new ClientTransportException(ClientMessages.localizableHTTP_CLIENT_FAILED(ex.getCause()), ex.getCause());
+        } catch (IOException ex) {
+            throw new WebServiceException(ex);
+        }
+    }
+
+    private HttpRequest createHttpRequest(Packet request, boolean sampled) {
+        try {
+            Map<String, List<String>> reqHeaders = createRequestHeaders(request);
+            addBasicAuthorization(request, reqHeaders);
+
+            ByteArrayBuffer buf = new ByteArrayBuffer();
+            ContentType ct = codec.encode(request, buf);
+            addContentTypeHeaders(reqHeaders, ct);
+
+            if (isBufferedDump()) {
+                dump(buf, "HTTP request - " + request.endpointAddress, reqHeaders);
+            } else if (sampled) {
+                dumpLater(buf, "HTTP request - " + request.endpointAddress, reqHeaders);
+            }
+
+            HttpRequest.Builder builder = HttpRequest.newBuilder(request.endpointAddress.getURI());
+            Integer reqTimeout = (Integer) request.invocationProperties.get(BindingProviderProperties.REQUEST_TIMEOUT);
+            if (reqTimeout != null && reqTimeout > 0) {
+                builder.timeout(Duration.ofMillis(reqTimeout));
+            }
+            for (Map.Entry<String, List<String>> entry : reqHeaders.entrySet()) {
+                if (RESTRICTED_HEADERS.contains(entry.getKey())) {
+                    continue;
+                }
+                for (String value : entry.getValue()) {
+                    builder.header(entry.getKey(), value);
+                }
+            }
+
+            String requestMethod = (String) request.invocationProperties.get(MessageContext.HTTP_REQUEST_METHOD);
+            String method = (requestMethod != null) ? requestMethod : "POST";
+            HttpRequest.BodyPublisher body;
+            if ("GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method) || "DELETE".equalsIgnoreCase(method)) {
+                body = HttpRequest.BodyPublishers.noBody();
+            } else {
+                List<String> contentEncoding = reqHeaders.get("Content-Encoding");
+                if (contentEncoding != null && contentEncoding.get(0).contains("gzip")) {
+                    ByteArrayOutputStream baos = new ByteArrayOutputStream(buf.size());
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+                        buf.writeTo(gzip);
+                    }
+                    body = HttpRequest.BodyPublishers.ofByteArray(baos.toByteArray());
+                } else {
+                    body = HttpRequest.BodyPublishers.ofByteArray(buf.getRawData(), 0, buf.size());
+                }
+            }
+            return builder.method(method, body).build();
+        } catch (WebServiceException wex) {
+            throw wex;
+        } catch (Exception ex) {
+            throw new WebServiceException(ex);
+        }
+    }
+
+    /*
+     * HttpClient authenticates per client, not per request, so the credentials
+     * from the request context are sent preemptively.
+     */
+    private void addBasicAuthorization(Packet request, Map<String, List<String>> reqHeaders) {
+        String user = (String) request.invocationProperties.get(BindingProvider.USERNAME_PROPERTY);
+        if (user != null && reqHeaders.get("Authorization") == null) {
+            String pw = (String) request.invocationProperties.get(BindingProvider.PASSWORD_PROPERTY);
+            if (pw != null) {
+                String credentials = Base64.getEncoder().encodeToString((user + ":" + pw).getBytes(StandardCharsets.UTF_8));
+                reqHeaders.put("Authorization", Collections.singletonList("Basic " + credentials));
+            }
+        }
+    }
+
+    private Packet createResponsePacket(Packet request, HttpResponse<byte[]> response, boolean sampled) throws IOException {
+        int statusCode = response.statusCode();
+        Map<String, List<String>> respHeaders = new Headers();
+        respHeaders.putAll(response.headers().map());
+        request.addSatellite(new HttpResponseProperties(respHeaders, statusCode));
+        recordCookies(request, respHeaders);
+
+        byte[] body = response.body();
+        if (isBufferedDump()) {
+            dump(new ByteArrayBuffer(body), "HTTP response - " + request.endpointAddress + " - " + statusCode, respHeaders);
+        } else if (sampled) {
+            dumpLater(new ByteArrayBuffer(body), "HTTP response - " + request.endpointAddress + " - " + statusCode, respHeaders);
+        }
+
+        InputStream responseStream = null;
+        if (body != null && body.length > 0) {
+            responseStream = new ByteArrayInputStream(body);
+            String contentEncoding = response.headers().firstValue("Content-Encoding").orElse(null);
+            if (contentEncoding != null && contentEncoding.contains("gzip")) {
+                responseStream = new GZIPInputStream(responseStream);
+            }
+        }
+
+        // HttpClient doesn't expose the reason phrase
+        checkStatusCode(responseStream, statusCode, ""); // throws ClientTransportException
+        Packet reply = request.createClientResponse(null);
+        reply.wasTransportSecure = "https".equalsIgnoreCase(response.uri().getScheme());
+        if (responseStream != null) {
+            String contentType = response.headers().firstValue("Content-Type").orElse(null);
+            if (contentType != null && contentType.contains("text/html") && binding instanceof SOAPBinding) {
+                throw new ClientTransportException(ClientMessages.localizableHTTP_STATUS_CODE(statusCode, ""));
+            }
+            codec.decode(responseStream, contentType, reply);
+        }
+        return reply;
+    }
+
+    @Override
+    public AsyncHttpTransportPipe copy(TubeCloner cloner) {
+        return new AsyncHttpTransportPipe(this, cloner);
+    }
+}
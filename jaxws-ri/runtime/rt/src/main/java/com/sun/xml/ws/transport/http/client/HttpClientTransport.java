@@ -74,6 +74,8 @@ public class HttpClientTransport {
     private final EndpointAddress endpoint;
     private final Packet context;
     private final Integer chunkSize;
+    // guarded by this
+    private boolean aborted;
 
 
     public HttpClientTransport(@NotNull Packet packet, @NotNull Map<String, List<String>> reqHeaders) {
@@ -116,6 +118,21 @@ public class HttpClientTransport {
         return outputStream;
     }
 
+    /*
+     * Aborts the exchange from another thread by closing its connection,
+     * the thread sending or receiving it fails with an IOException
+     */
+    void abort() {
+        HttpURLConnection connection;
+        synchronized (this) {
+            aborted = true;
+            connection = httpConnection;
+        }
+        if (connection != null) {
+            connection.disconnect();
+        }
+    }
+
     void closeOutput() throws IOException {
         if (outputStream != null) {
             outputStream.close();
@@ -219,10 +236,17 @@ public class HttpClientTransport {
     }
     
     private void createHttpConnection() throws IOException {
-    	httpConnection = openConnection(context);
+        HttpURLConnection connection = openConnection(context);
+
+        if (connection == null)
+            connection = (HttpURLConnection) endpoint.openConnection();
 
-    	if (httpConnection == null)
-    		httpConnection = (HttpURLConnection) endpoint.openConnection();
+        synchronized (this) {
+            if (aborted) {
+                throw new IOException("The exchange with " + endpoint + " has been aborted");
+            }
+            httpConnection = connection;
+        }
 
         if (auth != null) {
             httpConnection.setAuthenticator(auth);
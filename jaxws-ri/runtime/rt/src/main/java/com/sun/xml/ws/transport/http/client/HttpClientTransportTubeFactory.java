@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http.client;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.TransportTubeFactory;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.developer.AsyncHttpTransportFeature;
+import com.sun.xml.ws.developer.HttpConnectionPoolFeature;
+
+/**
+ * {@link TransportTubeFactory} for the {@link java.net.http.HttpClient} based
+ * transport. It creates an {@link AsyncHttpTransportPipe} for {@code http} and
+ * {@code https} endpoints of the ports with {@link AsyncHttpTransportFeature}
+ * or {@link HttpConnectionPoolFeature}, and leaves the others to the default
+ * {@link HttpTransportPipe}.
+ */
+public final class HttpClientTransportTubeFactory extends TransportTubeFactory {
+
+    @Override
+    public Tube doCreate(@NotNull ClientTubeAssemblerContext context) {
+        WSBinding binding = context.getBinding();
+        if (!binding.isFeatureEnabled(AsyncHttpTransportFeature.class)
+                && !binding.isFeatureEnabled(HttpConnectionPoolFeature.class)) {
+            return null;
+        }
+        String scheme = context.getAddress().getURI().getScheme();
+        if (scheme == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+            return null;
+        }
+        return new AsyncHttpTransportPipe(context.getCodec(), binding);
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http.client;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.developer.AsyncHttpTransportFeature;
+import com.sun.xml.ws.developer.HttpConnectionPoolFeature;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedData;
+
+import java.io.IOException;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link HttpClient} shared by the {@link AsyncHttpTransportPipe}s of all
+ * the ports with the same connection settings, so that they reuse the
+ * same connections (or the same HTTP/2 connection) to a host.
+ *
+ * <p>
+ * {@link HttpClient} keeps its connections on its own, so the pool limits
+ * the number of exchanges in flight per host instead; when the limit is
+ * reached, further requests are queued without blocking any thread, up to
+ * a limit too, and for no longer than the timeout of the request.
+ * Idle connections are closed by {@link HttpClient} after the JDK-wide
+ * {@code jdk.httpclient.keepalive.timeout}.
+ *
+ * @see HttpConnectionPoolFeature
+ */
+@ManagedData
+public final class HttpConnectionPool {
+
+    /**
+     * Default maximum of requests waiting for a free slot per host.
+     */
+    public static final int DEFAULT_MAX_QUEUED_REQUESTS_PER_HOST = 1024;
+
+    private static final ConcurrentMap<String, HttpConnectionPool> SHARED = new ConcurrentHashMap<>();
+    private static final Map<HttpClient, HttpConnectionPool> APPLICATION_CLIENTS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final HttpClient client;
+    private final int maxConnectionsPerHost;
+    private final int maxQueuedRequestsPerHost;
+    private final ConcurrentMap<String, HostLimiter> hosts = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+
+    private HttpConnectionPool(HttpClient client, int maxConnectionsPerHost, int maxQueuedRequestsPerHost) {
+        this.client = client;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.maxQueuedRequestsPerHost = maxQueuedRequestsPerHost;
+    }
+
+    /**
+     * Gets the pool for the given settings, shared by all the ports that use them.
+     *
+     * @param version preferred HTTP version
+     * @param connectTimeout connect timeout in milliseconds, 0 for none
+     * @param maxConnectionsPerHost maximum of exchanges in flight per host, 0 for no limit
+     */
+    public static @NotNull HttpConnectionPool get(@NotNull HttpClient.Version version, int connectTimeout, int maxConnectionsPerHost) {
+        return get(version, connectTimeout, maxConnectionsPerHost, DEFAULT_MAX_QUEUED_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * Gets the pool for the given settings, shared by all the ports that use them.
+     *
+     * @param version preferred HTTP version
+     * @param connectTimeout connect timeout in milliseconds, 0 for none
+     * @param maxConnectionsPerHost maximum of exchanges in flight per host, 0 for no limit
+     * @param maxQueuedRequestsPerHost maximum of requests waiting for a free slot per host
+     */
+    public static @NotNull HttpConnectionPool get(@NotNull HttpClient.Version version, int connectTimeout,
+                                                  int maxConnectionsPerHost, int maxQueuedRequestsPerHost) {
+        String key = version + "/" + connectTimeout + "/" + maxConnectionsPerHost + "/" + maxQueuedRequestsPerHost;
+        return SHARED.computeIfAbsent(key, k -> new HttpConnectionPool(createClient(version, connectTimeout),
+                maxConnectionsPerHost, maxQueuedRequestsPerHost));
+    }
+
+    /**
+     * Gets the pool that the transport of the given binding uses.
+     */
+    static @NotNull HttpConnectionPool get(@NotNull WSBinding binding) {
+        HttpConnectionPoolFeature poolFeature = binding.getFeature(HttpConnectionPoolFeature.class);
+        if (poolFeature != null && poolFeature.isEnabled()) {
+            return poolFeature.getConnectionPool();
+        }
+        AsyncHttpTransportFeature asyncFeature = binding.getFeature(AsyncHttpTransportFeature.class);
+        if (asyncFeature != null && asyncFeature.getHttpClient() != null) {
+            return APPLICATION_CLIENTS.computeIfAbsent(asyncFeature.getHttpClient(), c -> new HttpConnectionPool(c, 0, 0));
+        }
+        return get(HttpClient.Version.HTTP_1_1, 0, 0);
+    }
+
+    private static HttpClient createClient(HttpClient.Version version, int connectTimeout) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (connectTimeout > 0) {
+            builder.connectTimeout(Duration.ofMillis(connectTimeout));
+        }
+        ProxySelector proxySelector = ProxySelector.getDefault();
+        if (proxySelector != null) {
+            builder.proxy(proxySelector);
+        }
+        return builder.build();
+    }
+
+    public @NotNull HttpClient getHttpClient() {
+        return client;
+    }
+
+    /**
+     * Sends the request once the host has a free slot.
+     */
+    CompletableFuture<HttpResponse<byte[]>> sendAsync(HttpRequest request) {
+        requests.increment();
+        CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        CompletableFuture<Void> slot = new CompletableFuture<>();
+        String host = hostKey(request.uri());
+        HostLimiter limiter;
+        do {
+            limiter = hosts.computeIfAbsent(host, HostLimiter::new);
+        } while (!limiter.acquire(slot, request));
+        final HostLimiter acquired = limiter;
+        slot.whenComplete((v, error) -> {
+            if (error != null) {
+                acquired.remove(slot);
+                failures.increment();
+                result.completeExceptionally(error instanceof TimeoutException
+                        ? new HttpTimeoutException("request timed out waiting for a connection to " + host)
+                        : error);
+            } else {
+                send(request, acquired, result);
+            }
+        });
+        // a send given up by the caller leaves the queue, or is aborted
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                slot.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private void send(HttpRequest request, HostLimiter limiter, CompletableFuture<HttpResponse<byte[]>> result) {
+        CompletableFuture<HttpResponse<byte[]>> exchange;
+        try {
+            exchange = client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            limiter.release();
+            failures.increment();
+            result.completeExceptionally(e);
+            return;
+        }
+        exchange.whenComplete((response, error) -> {
+            limiter.release();
+            if (error != null) {
+                failures.increment();
+                result.completeExceptionally(error);
+            } else {
+                if (response.version() == HttpClient.Version.HTTP_2) {
+                    http2Responses.increment();
+                }
+                result.complete(response);
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+    }
+
+    private static String hostKey(URI uri) {
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    @ManagedAttribute
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    @ManagedAttribute
+    public int getMaxQueuedRequestsPerHost() {
+        return maxQueuedRequestsPerHost;
+    }
+
+    @ManagedAttribute
+    public String getVersion() {
+        return client.version().toString();
+    }
+
+    /**
+     * @return number of requests sent through this pool
+     */
+    @ManagedAttribute
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return number of exchanges that failed without a response
+     */
+    @ManagedAttribute
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return number of responses received over HTTP/2
+     */
+    @ManagedAttribute
+    public long getHttp2ResponseCount() {
+        return http2Responses.sum();
+    }
+
+    /**
+     * @return number of exchanges in flight, per host
+     */
+    @ManagedAttribute
+    public Map<String, Integer> getActiveRequests() {
+        Map<String, Integer> m = new HashMap<>();
+        for (Map.Entry<String, HostLimiter> e : hosts.entrySet()) {
+            m.put(e.getKey(), e.getValue().active());
+        }
+        return m;
+    }
+
+    /**
+     * @return number of requests waiting for a free slot, per host
+     */
+    @ManagedAttribute
+    public Map<String, Integer> getQueuedRequests() {
+        Map<String, Integer> m = new HashMap<>();
+        for (Map.Entry<String, HostLimiter> e : hosts.entrySet()) {
+            m.put(e.getKey(), e.getValue().queued());
+        }
+        return m;
+    }
+
+    /**
+     * Limits the exchanges in flight to a host. Waiting sends are queued,
+     * up to a limit, and started by the exchange that frees the slot; they
+     * fail once they have waited for longer than the timeout of their request.
+     * The limiter of a host is removed from the pool as soon as it is idle.
+     */
+    private final class HostLimiter {
+        private final String host;
+        // guarded by this
+        private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int active;
+        private boolean removed;
+
+        HostLimiter(String host) {
+            this.host = host;
+        }
+
+        /**
+         * Completes the slot when the host has a free one, or fails it when
+         * too many sends are already waiting.
+         *
+         * @return false if the limiter was removed from the pool meanwhile
+         */
+        boolean acquire(CompletableFuture<Void> slot, HttpRequest request) {
+            synchronized (this) {
+                if (removed) {
+                    return false;
+                }
+                if (maxConnectionsPerHost == 0 || active < maxConnectionsPerHost) {
+                    active++;
+                } else if (waiting.size() < maxQueuedRequestsPerHost) {
+                    waiting.add(slot);
+                    request.timeout().ifPresent(t -> slot.orTimeout(t.toMillis(), TimeUnit.MILLISECONDS));
+                    return true;
+                } else {
+                    slot.completeExceptionally(new IOException(
+                            "Too many requests waiting for a connection to " + host));
+                    return true;
+                }
+            }
+            slot.complete(null);
+            return true;
+        }
+
+        void release() {
+            CompletableFuture<Void> next;
+            do {
+                synchronized (this) {
+                    next = waiting.poll();
+                    if (next == null) {
+                        active--;
+                        removeIfIdle();
+                        return;
+                    }
+                }
+                // the freed slot is handed over to the next waiting send,
+                // unless it timed out or was cancelled meanwhile
+            } while (!next.complete(null));
+        }
+
+        synchronized void remove(CompletableFuture<Void> slot) {
+            if (waiting.remove(slot)) {
+                removeIfIdle();
+            }
+        }
+
+        // call with the lock held
+        private void removeIfIdle() {
+            if (active == 0 && waiting.isEmpty()) {
+                removed = true;
+                hosts.remove(host, this);
+            }
+        }
+
+        synchronized int active() {
+            return active;
+        }
+
+        synchronized int queued() {
+            return waiting.size();
+        }
+    }
+}
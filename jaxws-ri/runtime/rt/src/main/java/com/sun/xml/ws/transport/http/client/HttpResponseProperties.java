@@ -27,19 +27,32 @@ import java.util.Map;
 final class HttpResponseProperties extends BasePropertySet {
 
     private final HttpClientTransport deferedCon;
+    private final Map<String, List<String>> headers;
+    private final int statusCode;
 
     public HttpResponseProperties(@NotNull HttpClientTransport con) {
         this.deferedCon = con;
+        this.headers = null;
+        this.statusCode = 0;
+    }
+
+    /**
+     * For transports that have the complete response at hand.
+     */
+    HttpResponseProperties(@NotNull Map<String, List<String>> headers, int statusCode) {
+        this.deferedCon = null;
+        this.headers = headers;
+        this.statusCode = statusCode;
     }
 
     @Property(MessageContext.HTTP_RESPONSE_HEADERS)
     public Map<String, List<String>> getResponseHeaders() {
-        return deferedCon.getHeaders();
+        return deferedCon != null ? deferedCon.getHeaders() : headers;
     }
 
     @Property(MessageContext.HTTP_RESPONSE_CODE)
     public int getResponseCode() {
-        return deferedCon.statusCode;
+        return deferedCon != null ? deferedCon.statusCode : statusCode;
     }
 
     @Override
@@ -18,7 +18,9 @@ import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.pipe.*;
 import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
 import com.sun.xml.ws.client.ClientTransportException;
+import com.sun.xml.ws.client.ExchangeCancellation;
 import com.sun.xml.ws.developer.HttpConfigFeature;
+import com.sun.xml.ws.dump.AsyncMessageDumper;
 import com.sun.xml.ws.resources.ClientMessages;
 import com.sun.xml.ws.resources.WsservletMessages;
 import com.sun.xml.ws.transport.Headers;
@@ -41,6 +43,7 @@ import java.io.PrintWriter;
 import java.net.Authenticator;
 import java.net.CookieHandler;
 import java.net.HttpURLConnection;
+import java.net.PasswordAuthentication;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -61,15 +64,15 @@ import java.util.logging.Logger;
 public class HttpTransportPipe extends AbstractTubeImpl {
 
     private static final List<String> USER_AGENT = Collections.singletonList(RuntimeVersion.VERSION.toString());
-    private static final Logger LOGGER = Logger.getLogger(HttpTransportPipe.class.getName());
+    static final Logger LOGGER = Logger.getLogger(HttpTransportPipe.class.getName());
 
     /**
      * Dumps what goes across HTTP transport.
      */
     public static boolean dump;
 
-    private final Codec codec;
-    private final WSBinding binding;
+    final Codec codec;
+    final WSBinding binding;
     private final CookieHandler cookieJar;      // shared object among the tubes
     private final boolean sticky;
 
@@ -137,31 +140,19 @@ public class HttpTransportPipe extends AbstractTubeImpl {
     @Override
     public Packet process(Packet request) {
         HttpClientTransport con;
+        ExchangeCancellation cancellation = request.getSatellite(ExchangeCancellation.class);
         try {
-            // get transport headers from message
-            Map<String, List<String>> reqHeaders = new Headers();
-            @SuppressWarnings("unchecked")
-            Map<String, List<String>> userHeaders = (Map<String, List<String>>) request.invocationProperties.get(MessageContext.HTTP_REQUEST_HEADERS);
-            boolean addUserAgent = true;
-            if (userHeaders != null) {
-                // userHeaders may not be modifiable like SingletonMap, just copy them
-                reqHeaders.putAll(userHeaders);
-                // application wants to use its own User-Agent header
-                if (userHeaders.get("User-Agent") != null) {
-                    addUserAgent = false;
-                }
-            }
-            if (addUserAgent) {
-                reqHeaders.put("User-Agent", USER_AGENT);
-            }
-
-            addCookies(request, reqHeaders);
+            boolean sampled = isSampledDump(request);
+            Map<String, List<String>> reqHeaders = createRequestHeaders(request);
 
             final Authenticator authentication = getAuthentication(request);
 
 
             con = getTransport(request, reqHeaders,  authentication);
             request.addSatellite(new HttpResponseProperties(con));
+            if (cancellation != null) {
+                cancellation.onCancel(con::abort);
+            }
 
             ContentType ct = codec.getStaticContentType(request);
             if (ct == null) {
@@ -170,30 +161,20 @@ public class HttpTransportPipe extends AbstractTubeImpl {
                 ct = codec.encode(request, buf);
                 // data size is available, set it as Content-Length
                 reqHeaders.put("Content-Length", Collections.singletonList(Integer.toString(buf.size())));
-                reqHeaders.put("Content-Type", Collections.singletonList(ct.getContentType()));
-                if (ct.getAcceptHeader() != null) {
-                    reqHeaders.put("Accept", Collections.singletonList(ct.getAcceptHeader()));
-                }
-                if (binding instanceof SOAPBinding) {
-                    writeSOAPAction(reqHeaders, ct.getSOAPActionHeader());
-                }
+                addContentTypeHeaders(reqHeaders, ct);
 
-                if (dump || LOGGER.isLoggable(Level.FINER)) {
+                if (isBufferedDump()) {
                     dump(buf, "HTTP request", reqHeaders);
+                } else if (sampled) {
+                    dumpLater(buf, "HTTP request", reqHeaders);
                 }
 
                 buf.writeTo(con.getOutput());
             } else {
                 // Set static Content-Type
-                reqHeaders.put("Content-Type", Collections.singletonList(ct.getContentType()));
-                if (ct.getAcceptHeader() != null) {
-                    reqHeaders.put("Accept", Collections.singletonList(ct.getAcceptHeader()));
-                }
-                if (binding instanceof SOAPBinding) {
-                    writeSOAPAction(reqHeaders, ct.getSOAPActionHeader());
-                }
+                addContentTypeHeaders(reqHeaders, ct);
 
-                if(dump || LOGGER.isLoggable(Level.FINER)) {
+                if (isBufferedDump()) {
                     ByteArrayBuffer buf = new ByteArrayBuffer();
                     codec.encode(request, buf);
                     dump(buf, "HTTP request - "+request.endpointAddress, reqHeaders);
@@ -204,18 +185,72 @@ public class HttpTransportPipe extends AbstractTubeImpl {
                 } else {
                     OutputStream os = con.getOutput();
                     if (os != null) {
-                        codec.encode(request, os);
+                        if (sampled) {
+                            final String caption = "HTTP request - " + request.endpointAddress;
+                            final Map<String, List<String>> headers = reqHeaders;
+                            os = AsyncMessageDumper.capture(os, AsyncMessageDumper.threshold,
+                                    (data, length, truncated) -> dump(data, length, truncated, caption, headers));
+                            codec.encode(request, os);
+                            // submits the dump, closing the output twice is harmless
+                            os.close();
+                        } else {
+                            codec.encode(request, os);
+                        }
                     }
                 }
             }
 
             con.closeOutput();
 
-            return createResponsePacket(request, con);
+            return createResponsePacket(request, con, sampled);
         } catch(WebServiceException wex) {
             throw wex;
         } catch(Exception ex) {
             throw new WebServiceException(ex);
+        } finally {
+            if (cancellation != null) {
+                // the response is read by the tubes before this one
+                cancellation.done();
+            }
+        }
+    }
+
+    /**
+     * Creates the transport headers of the request: the headers set by the
+     * application, User-Agent and the remembered cookies.
+     */
+    Map<String, List<String>> createRequestHeaders(Packet request) throws IOException {
+        // get transport headers from message
+        Map<String, List<String>> reqHeaders = new Headers();
+        @SuppressWarnings("unchecked")
+        Map<String, List<String>> userHeaders = (Map<String, List<String>>) request.invocationProperties.get(MessageContext.HTTP_REQUEST_HEADERS);
+        boolean addUserAgent = true;
+        if (userHeaders != null) {
+            // userHeaders may not be modifiable like SingletonMap, just copy them
+            reqHeaders.putAll(userHeaders);
+            // application wants to use its own User-Agent header
+            if (userHeaders.get("User-Agent") != null) {
+                addUserAgent = false;
+            }
+        }
+        if (addUserAgent) {
+            reqHeaders.put("User-Agent", USER_AGENT);
+        }
+
+        addCookies(request, reqHeaders);
+        return reqHeaders;
+    }
+
+    /**
+     * Sets Content-Type, Accept and SOAPAction headers for the encoded request.
+     */
+    void addContentTypeHeaders(Map<String, List<String>> reqHeaders, ContentType ct) {
+        reqHeaders.put("Content-Type", Collections.singletonList(ct.getContentType()));
+        if (ct.getAcceptHeader() != null) {
+            reqHeaders.put("Accept", Collections.singletonList(ct.getAcceptHeader()));
+        }
+        if (binding instanceof SOAPBinding) {
+            writeSOAPAction(reqHeaders, ct.getSOAPActionHeader());
         }
     }
 
@@ -236,12 +271,12 @@ public class HttpTransportPipe extends AbstractTubeImpl {
         return null;
     }
 
-    private Packet createResponsePacket(Packet request, HttpClientTransport con) throws IOException {
+    private Packet createResponsePacket(Packet request, HttpClientTransport con, boolean sampled) throws IOException {
         con.readResponseCodeAndMessage();   // throws IOE
         recordCookies(request, con);
 
         InputStream responseStream = con.getInput();
-        if (dump || LOGGER.isLoggable(Level.FINER)) {
+        if (isBufferedDump()) {
             ByteArrayBuffer buf = new ByteArrayBuffer();
             if (responseStream != null) {
                 buf.write(responseStream);
@@ -249,6 +284,15 @@ public class HttpTransportPipe extends AbstractTubeImpl {
             }
             dump(buf,"HTTP response - "+request.endpointAddress+" - "+con.statusCode, con.getHeaders());
             responseStream = buf.newInputStream();
+        } else if (sampled) {
+            final String caption = "HTTP response - " + request.endpointAddress + " - " + con.statusCode;
+            final Map<String, List<String>> headers = con.getHeaders();
+            if (responseStream != null) {
+                responseStream = AsyncMessageDumper.capture(responseStream, AsyncMessageDumper.threshold,
+                        (data, length, truncated) -> dump(data, length, truncated, caption, headers));
+            } else {
+                dumpLater(new ByteArrayBuffer(), caption, headers);
+            }
         }
 
         // Check if stream contains any data
@@ -270,7 +314,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
 
         // Allows only certain http status codes for a binding. For all
         // other status codes, throws exception
-        checkStatusCode(responseStream, con); // throws ClientTransportException
+        checkStatusCode(responseStream, con.statusCode, con.statusMessage); // throws ClientTransportException
         //To avoid zero-length chunk for One-Way
         if (cl ==-1 && con.statusCode == 202 && "Accepted".equals(con.statusMessage) && responseStream != null) {
             ByteArrayBuffer buf = new ByteArrayBuffer();
@@ -299,9 +343,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
      *
      * For all other status codes, it throws an exception
      */
-    private void checkStatusCode(InputStream in, HttpClientTransport con) throws IOException {
-        int statusCode = con.statusCode;
-        String statusMessage = con.statusMessage;
+    void checkStatusCode(InputStream in, int statusCode, String statusMessage) throws IOException {
         // SOAP1.1 and SOAP1.2 differ here
         if (binding instanceof SOAPBinding) {
             if (binding.getSOAPVersion() == SOAPVersion.SOAP_12) {
@@ -382,13 +424,17 @@ public class HttpTransportPipe extends AbstractTubeImpl {
     }
 
     private void recordCookies(Packet context, HttpClientTransport con) throws IOException {
+        recordCookies(context, con.getHeaders());
+    }
+
+    void recordCookies(Packet context, Map<String, List<String>> respHeaders) throws IOException {
         Boolean shouldMaintainSessionProperty =
                 (Boolean) context.invocationProperties.get(BindingProvider.SESSION_MAINTAIN_PROPERTY);
         if (shouldMaintainSessionProperty != null && !shouldMaintainSessionProperty) {
             return;         // explicitly turned off
         }
         if (sticky || (shouldMaintainSessionProperty != null && shouldMaintainSessionProperty)) {
-            cookieJar.put(context.endpointAddress.getURI(), con.getHeaders());
+            cookieJar.put(context.endpointAddress.getURI(), respHeaders);
         }
     }
 
@@ -421,7 +467,35 @@ public class HttpTransportPipe extends AbstractTubeImpl {
     }
 
 
-    private void dump(ByteArrayBuffer buf, String caption, Map<String, List<String>> headers) throws IOException {
+    /**
+     * @return true if messages are dumped in full on the calling thread
+     */
+    static boolean isBufferedDump() {
+        return (dump || LOGGER.isLoggable(Level.FINER)) && !AsyncMessageDumper.isEnabled();
+    }
+
+    /**
+     * Decides, once per exchange, whether its request and response are
+     * dumped in the background by {@link AsyncMessageDumper}.
+     */
+    static boolean isSampledDump(Packet request) {
+        return (dump || LOGGER.isLoggable(Level.FINER)) && AsyncMessageDumper.isEnabled() && AsyncMessageDumper.sample(request);
+    }
+
+    /**
+     * Dumps an already encoded message in the background.
+     */
+    void dumpLater(ByteArrayBuffer buf, String caption, Map<String, List<String>> headers) {
+        AsyncMessageDumper.dump(buf.getRawData(), buf.size(), AsyncMessageDumper.threshold,
+                (data, length, truncated) -> dump(data, length, truncated, caption, headers));
+    }
+
+    void dump(ByteArrayBuffer buf, String caption, Map<String, List<String>> headers) throws IOException {
+        int threshold = HttpAdapter.dump_threshold;
+        dump(buf.getRawData(), Math.min(buf.size(), threshold), buf.size() > threshold, caption, headers);
+    }
+
+    void dump(byte[] data, int length, boolean truncated, String caption, Map<String, List<String>> headers) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         PrintWriter pw = new PrintWriter(baos, true);
         pw.println("---["+caption +"]---");
@@ -437,14 +511,12 @@ public class HttpTransportPipe extends AbstractTubeImpl {
             }
         }
 
-        if (buf.size() > HttpAdapter.dump_threshold) {
-            byte[] b = buf.getRawData();
-            baos.write(b, 0, HttpAdapter.dump_threshold);
-            pw.println();
-            pw.println(WsservletMessages.MESSAGE_TOO_LONG(HttpAdapter.class.getName() + ".dumpTreshold"));
-        } else {
-            buf.writeTo(baos);
-            pw.println();
+        baos.write(data, 0, length);
+        pw.println();
+        if (truncated) {
+            // sampled dumps are cut at a threshold of their own
+            pw.println(WsservletMessages.MESSAGE_TOO_LONG(AsyncMessageDumper.isEnabled()
+                    ? AsyncMessageDumper.class.getName() + ".threshold" : HttpAdapter.class.getName() + ".dumpTreshold"));
         }
         pw.println("--------------------");
 
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.server.Container;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for the background work of the runtime, such as filling pools
+ * ahead of the first requests or timing the attempts of client requests.
+ *
+ * <p>
+ * A {@link Container} can run this work on threads it manages by returning
+ * a {@link ScheduledExecutorService} from {@code getSPI(ScheduledExecutorService.class)}.
+ * Otherwise, the work of all the endpoints and ports runs on a few daemon
+ * threads shared by the whole runtime. Their number is given by the
+ * {@code com.sun.xml.ws.util.BackgroundExecutor.threads} system property,
+ * and is 2 unless set.
+ */
+public final class BackgroundExecutor {
+
+    private BackgroundExecutor() {}
+
+    /**
+     * Gets the executor for the background work of the given container.
+     *
+     * @param container container the work is done for, or null
+     * @return the executor of the container, or the one of the runtime
+     */
+    public static @NotNull ScheduledExecutorService get(@Nullable Container container) {
+        if (container != null) {
+            ScheduledExecutorService executor = container.getSPI(ScheduledExecutorService.class);
+            if (executor != null) {
+                return executor;
+            }
+        }
+        return Holder.SHARED;
+    }
+
+    // the threads are started on first use only
+    private static final class Holder {
+        static final ScheduledThreadPoolExecutor SHARED;
+
+        static {
+            int threads = Math.max(1, Integer.getInteger(BackgroundExecutor.class.getName() + ".threads", 2));
+            AtomicInteger count = new AtomicInteger();
+            SHARED = new ScheduledThreadPoolExecutor(threads, r -> {
+                Thread t = new Thread(r, "jaxws-background-" + count.incrementAndGet());
+                t.setDaemon(true);
+                // don't keep the class loader of the application which started it
+                t.setContextClassLoader(BackgroundExecutor.class.getClassLoader());
+                return t;
+            });
+            SHARED.setRemoveOnCancelPolicy(true);
+        }
+    }
+}
@@ -11,6 +11,7 @@
 package com.sun.xml.ws.util;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -53,6 +54,14 @@ public final class ByteArrayDataSource implements DataSource {
         return new ByteArrayInputStream(buf,start,len);
     }
 
+    /**
+     * Writes the bytes of this data source to the given stream
+     * without copying them.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, start, len);
+    }
+
     @Override
     public String getName() {
         return null;
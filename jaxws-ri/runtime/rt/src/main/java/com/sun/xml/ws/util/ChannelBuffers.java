@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+/**
+ * Direct buffers shared by {@link ChannelInputStream} and {@link ChannelOutputStream}.
+ */
+final class ChannelBuffers {
+
+    /**
+     * Size of a single buffer, can be tuned with the
+     * {@code com.sun.xml.ws.util.ChannelBuffers.size} system property.
+     */
+    private static final int SIZE = Integer.getInteger(ChannelBuffers.class.getName() + ".size", 8192);
+
+    static final Pool.DirectByteBuffer POOL = new Pool.DirectByteBuffer(SIZE);
+
+    private ChannelBuffers() {}
+}
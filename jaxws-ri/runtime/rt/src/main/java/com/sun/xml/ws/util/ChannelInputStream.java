@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * {@link InputStream} that reads from a {@link ReadableByteChannel}
+ * through a pooled direct {@link ByteBuffer}.
+ *
+ * <p>
+ * The channel is expected to be in blocking mode. The buffer goes back to
+ * the pool as soon as the end of the channel has been read, or when this
+ * stream is closed, so that the codecs which hand the stream over to a lazily
+ * read message don't have to close it. Closing this stream doesn't close the
+ * channel.
+ *
+ * @see ChannelOutputStream
+ */
+public final class ChannelInputStream extends InputStream {
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buf;
+    private boolean eof;
+    private boolean closed;
+
+    public ChannelInputStream(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buf = ChannelBuffers.POOL.take();
+        buf.flip();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buf.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, buf.remaining());
+        buf.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return buf == null ? 0 : buf.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        release();
+    }
+
+    private void release() {
+        if (buf != null) {
+            buf.clear();
+            ChannelBuffers.POOL.recycle(buf);
+            buf = null;
+        }
+    }
+
+    /**
+     * Makes sure there is some data in the buffer.
+     *
+     * @return false at the end of the channel
+     */
+    private boolean fill() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (buf != null && !buf.hasRemaining()) {
+            if (eof) {
+                release();
+                break;
+            }
+            buf.clear();
+            int n = channel.read(buf);
+            buf.flip();
+            if (n < 0) {
+                eof = true;
+            }
+        }
+        return buf != null;
+    }
+}
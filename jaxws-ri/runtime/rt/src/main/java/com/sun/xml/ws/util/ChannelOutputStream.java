@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link OutputStream} that writes to a {@link WritableByteChannel}.
+ *
+ * <p>
+ * Data is collected in pooled direct {@link ByteBuffer}s and handed to the
+ * channel with a single gathering write once enough segments are filled,
+ * on {@link #flush()} and on {@link #close()}. Large arrays are written
+ * without copying them into a segment first.
+ *
+ * <p>
+ * The channel is expected to be in blocking mode. Closing this stream
+ * doesn't close the channel.
+ *
+ * @see ChannelInputStream
+ */
+public final class ChannelOutputStream extends OutputStream {
+
+    /**
+     * Number of segments filled before they're written out.
+     */
+    private static final int MAX_SEGMENTS = 8;
+
+    private final WritableByteChannel channel;
+    // one extra slot for a caller's array that is written without copying
+    private final ByteBuffer[] segments = new ByteBuffer[MAX_SEGMENTS + 1];
+    private int count;
+    private ByteBuffer current;
+    private boolean closed;
+
+    public ChannelOutputStream(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureSegment();
+        current.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len >= ChannelBuffers.POOL.getCapacity()) {
+            ensureOpen();
+            drain(ByteBuffer.wrap(b, off, len));
+            return;
+        }
+        while (len > 0) {
+            ensureSegment();
+            int n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes the remaining content of a buffer to the channel without
+     * copying it. Data buffered so far is written first. The position of
+     * the given buffer is left unchanged.
+     *
+     * @param src data to write
+     * @throws IOException if the channel fails
+     */
+    public void write(ByteBuffer src) throws IOException {
+        ensureOpen();
+        drain(src.duplicate());
+    }
+
+    /**
+     * Writes the remaining content of a file to the channel with
+     * {@link FileChannel#transferTo}, so that the data doesn't have to pass
+     * through the heap. Data buffered so far is written first.
+     *
+     * @param src file to transfer, starting from its current position
+     * @throws IOException if either of the channels fails
+     */
+    public void transferFrom(FileChannel src) throws IOException {
+        ensureOpen();
+        drain(null);
+        long pos = src.position();
+        long size = src.size();
+        while (pos < size) {
+            pos += src.transferTo(pos, size - pos, channel);
+        }
+        src.position(pos);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain(null);
+    }
+
+    /**
+     * Writes out whatever is buffered and returns the buffers to the pool.
+     * The underlying channel is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                drain(null);
+            } finally {
+                closed = true;
+                release();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void ensureSegment() throws IOException {
+        if (current != null && current.hasRemaining()) {
+            return;
+        }
+        ensureOpen();
+        if (count == MAX_SEGMENTS) {
+            drain(null);
+        }
+        current = ChannelBuffers.POOL.take();
+        segments[count++] = current;
+    }
+
+    /**
+     * Writes all filled segments, followed by the given buffer, to the channel.
+     */
+    private void drain(ByteBuffer extra) throws IOException {
+        for (int i = 0; i < count; i++) {
+            segments[i].flip();
+        }
+        int n = count;
+        if (extra != null) {
+            segments[n++] = extra;
+        }
+        try {
+            if (n == 0) {
+                return;
+            }
+            if (channel instanceof GatheringByteChannel) {
+                GatheringByteChannel gbc = (GatheringByteChannel) channel;
+                long remaining = 0;
+                for (int i = 0; i < n; i++) {
+                    remaining += segments[i].remaining();
+                }
+                while (remaining > 0) {
+                    remaining -= gbc.write(segments, 0, n);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    while (segments[i].hasRemaining()) {
+                        channel.write(segments[i]);
+                    }
+                }
+            }
+        } finally {
+            segments[count] = null;
+            release();
+        }
+    }
+
+    private void release() {
+        for (int i = 0; i < count; i++) {
+            segments[i].clear();
+            ChannelBuffers.POOL.recycle(segments[i]);
+            segments[i] = null;
+        }
+        count = 0;
+        current = null;
+    }
+}
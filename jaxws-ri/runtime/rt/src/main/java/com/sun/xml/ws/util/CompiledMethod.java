@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link Method} bound to a {@link MethodHandle} once, to be invoked
+ * many times without the overhead of reflection.
+ *
+ * <p>
+ * The handle is looked up with {@link MethodHandles#publicLookup()}, so only
+ * methods that any class may call are compiled this way, whatever the
+ * accessible flag of the {@link Method}. Others are invoked through
+ * {@link MethodUtil#invoke(Method, Object, Object[])} as before.
+ *
+ * <p>
+ * Compiled methods are kept per declaring class, and go away along with it.
+ */
+public final class CompiledMethod {
+
+    private static final MethodType GENERIC =
+            MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final ClassValue<ConcurrentMap<Method, CompiledMethod>> METHODS =
+            new ClassValue<ConcurrentMap<Method, CompiledMethod>>() {
+                @Override
+                protected ConcurrentMap<Method, CompiledMethod> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Method method;
+    private final int parameterCount;
+    private final Class<?>[] parameterTypes;
+    private final boolean isStatic;
+    // (Object target, Object[] args)Object, or null to use reflection
+    private final @Nullable MethodHandle handle;
+
+    private CompiledMethod(Method method) {
+        this.method = method;
+        this.parameterCount = method.getParameterCount();
+        this.parameterTypes = method.getParameterTypes();
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.handle = compile(method);
+    }
+
+    /**
+     * Returns the compiled form of the given method, compiling it on first use.
+     */
+    public static @NotNull CompiledMethod of(@NotNull Method method) {
+        ConcurrentMap<Method, CompiledMethod> methods = METHODS.get(method.getDeclaringClass());
+        CompiledMethod cm = methods.get(method);
+        if (cm == null) {
+            cm = methods.computeIfAbsent(method, CompiledMethod::new);
+        }
+        return cm;
+    }
+
+    /**
+     * @return true if the method is invoked through a {@link MethodHandle}
+     */
+    public boolean isCompiled() {
+        return handle != null;
+    }
+
+    /**
+     * Invokes the method, with the same contract as {@link Method#invoke(Object, Object...)}.
+     *
+     * @param target object to invoke the method on, ignored for static methods
+     * @param args arguments of the method, can be null if it has none
+     * @throws InvocationTargetException wrapping whatever the method threw
+     * @throws IllegalArgumentException if the target or the arguments don't fit the method
+     * @throws NullPointerException if the target of an instance method is null
+     */
+    public Object invoke(Object target, Object[] args) throws InvocationTargetException, IllegalAccessException {
+        if (handle == null) {
+            return MethodUtil.invoke(method, target, args);
+        }
+        int n = args == null ? 0 : args.length;
+        if (n != parameterCount) {
+            throw new IllegalArgumentException("wrong number of arguments: " + n + " expected: " + parameterCount);
+        }
+        // checked up front, so that what the handle throws comes from the method only
+        if (!isStatic) {
+            if (target == null) {
+                throw new NullPointerException();
+            }
+            if (!method.getDeclaringClass().isInstance(target)) {
+                throw new IllegalArgumentException("object is not an instance of declaring class");
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (!fits(args[i], parameterTypes[i])) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+        try {
+            return (Object) handle.invokeExact(target, args);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Tells whether the argument can be passed as the given parameter, with
+     * the unboxing and widening conversions of {@link Method#invoke}.
+     */
+    private static boolean fits(Object arg, Class<?> type) {
+        if (!type.isPrimitive()) {
+            return arg == null || type.isInstance(arg);
+        }
+        if (arg == null) {
+            return false;
+        }
+        Class<?> c = arg.getClass();
+        if (type == boolean.class || c == Boolean.class) {
+            return type == boolean.class && c == Boolean.class;
+        }
+        if (type == char.class || c == Character.class) {
+            return c == Character.class && (type == char.class || rank(type) >= rank(int.class));
+        }
+        int from = rank(c);
+        return from >= 0 && rank(type) >= from;
+    }
+
+    // order of the widening primitive conversions, -1 for other types
+    private static int rank(Class<?> c) {
+        if (c == byte.class || c == Byte.class) return 0;
+        if (c == short.class || c == Short.class) return 1;
+        if (c == int.class || c == Integer.class) return 2;
+        if (c == long.class || c == Long.class) return 3;
+        if (c == float.class || c == Float.class) return 4;
+        if (c == double.class || c == Double.class) return 5;
+        return -1;
+    }
+
+    private static MethodHandle compile(Method m) {
+        if (!Modifier.isPublic(m.getModifiers()) || !Modifier.isPublic(m.getDeclaringClass().getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodType type = MethodType.methodType(m.getReturnType(), m.getParameterTypes());
+            MethodHandle mh;
+            if (Modifier.isStatic(m.getModifiers())) {
+                mh = lookup.findStatic(m.getDeclaringClass(), m.getName(), type);
+                mh = mh.asSpreader(Object[].class, m.getParameterCount());
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            } else {
+                mh = lookup.findVirtual(m.getDeclaringClass(), m.getName(), type);
+                mh = mh.asSpreader(Object[].class, m.getParameterCount());
+            }
+            return mh.asType(GENERIC);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Invoking " + m + " through reflection", e);
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(CompiledMethod.class.getName());
+}
@@ -11,13 +11,22 @@
 package com.sun.xml.ws.util;
 
 import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.api.server.ContainerResolver;
 import com.sun.xml.ws.api.pipe.TubeCloner;
 
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedData;
+
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.lang.ref.SoftReference; 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 
 /**
@@ -28,16 +37,66 @@ import java.lang.ref.SoftReference;
  * are expensive to create (such as JAXB objects, StAX parsers, {@link Tube} instances.)
  *
  * <p>
- * This class provides a default implementation of such a pool.
+ * This class provides a default implementation of such a pool. Idle objects
+ * are strongly held, so the pool doesn't lose its content under memory pressure,
+ * but at most {@link #getMaxIdle()} of them are kept; anything recycled beyond
+ * that is discarded. {@link #fill(int)} can be used to create a minimum number
+ * of idle objects up front.
  *
- * TODO: improve the implementation
+ * <p>
+ * Optionally, each thread can keep one object in a thread-affine slot that
+ * {@link #take()} checks before the shared queue. This avoids contention when
+ * the same threads take and recycle objects, but objects in such slots stay
+ * reachable for as long as their threads live, so it's off by default.
+ *
+ * <p>
+ * The defaults can be changed with the {@code com.sun.xml.ws.util.Pool.maxIdle}
+ * and {@code com.sun.xml.ws.util.Pool.threadAffine} system properties.
  *
  * @author Kohsuke Kawaguchi
  */
+@ManagedData
+@Description("Object pool")
 public abstract class Pool<T> {
 
-    // volatile since multiple threads may access queue reference
-    private volatile SoftReference<ConcurrentLinkedQueue<T>> queue;
+    /**
+     * Default maximum number of idle objects kept by a pool.
+     */
+    public static final int DEFAULT_MAX_IDLE = Integer.getInteger(Pool.class.getName() + ".maxIdle", 256);
+
+    /**
+     * Whether pools use thread-affine slots by default.
+     */
+    public static final boolean DEFAULT_THREAD_AFFINE = Boolean.getBoolean(Pool.class.getName() + ".threadAffine");
+
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idle = new AtomicInteger();
+    private volatile int maxIdle;
+    // null unless thread-affine slots are enabled
+    private final ThreadLocal<T> slot;
+    // non-null if all callers share one object
+    private volatile T shared;
+
+    private final LongAdder takes = new LongAdder();
+    private final LongAdder creates = new LongAdder();
+    private final LongAdder recycles = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+
+    protected Pool() {
+        this(DEFAULT_MAX_IDLE, DEFAULT_THREAD_AFFINE);
+    }
+
+    /**
+     * @param maxIdle maximum number of idle objects kept in the shared queue
+     * @param threadAffine true to keep one object per thread in a thread-affine slot
+     */
+    protected Pool(int maxIdle, boolean threadAffine) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("maxIdle: " + maxIdle);
+        }
+        this.maxIdle = maxIdle;
+        this.slot = threadAffine ? new ThreadLocal<>() : null;
+    }
 
     /**
      * Gets a new object from the pool.
@@ -49,32 +108,167 @@ public abstract class Pool<T> {
      *      always non-null.
      */
     public final T take() {
-        T t = getQueue().poll();
-        if(t==null)
+        takes.increment();
+        T s = shared;
+        if (s != null) {
+            return s;
+        }
+        if (slot != null) {
+            T t = slot.get();
+            if (t != null) {
+                slot.set(null);
+                return t;
+            }
+        }
+        T t = queue.poll();
+        if (t == null) {
+            creates.increment();
             return create();
+        }
+        idle.decrementAndGet();
         return t;
     }
 
-    private ConcurrentLinkedQueue<T> getQueue() {
-    	SoftReference<ConcurrentLinkedQueue<T>> q = queue;
-        if (q != null) {
-            ConcurrentLinkedQueue<T> d = q.get();
-            if (d != null)
-                return d;
+    /**
+     * Returns an object back to the pool.
+     */
+    public final void recycle(T t) {
+        recycles.increment();
+        if (shared != null) {
+            return;
+        }
+        if (slot != null && slot.get() == null) {
+            slot.set(t);
+            return;
+        }
+        if (idle.incrementAndGet() > maxIdle) {
+            idle.decrementAndGet();
+            discards.increment();
+            return;
+        }
+        queue.offer(t);
+    }
+
+    /**
+     * Creates new objects until at least the given number of them
+     * are idle in the pool, or {@link #getMaxIdle()} is reached.
+     *
+     * @param min number of idle objects to have
+     */
+    public final void fill(int min) {
+        if (shared != null) {
+            return;
+        }
+        int target = Math.min(min, maxIdle);
+        while (idle.get() < target) {
+            T t = create();
+            creates.increment();
+            if (idle.incrementAndGet() > maxIdle) {
+                idle.decrementAndGet();
+                return;
+            }
+            queue.offer(t);
         }
+    }
 
-        // overwrite the queue
-        ConcurrentLinkedQueue<T> d = new ConcurrentLinkedQueue<>();
-        queue = new SoftReference<>(d);
+    /**
+     * Does {@link #fill(int)} on the {@link BackgroundExecutor} of the given
+     * container, so that the caller doesn't wait for the objects to be created.
+     *
+     * <p>
+     * The objects are created with the context class loader of the caller and
+     * within the given container. Failures are logged and otherwise ignored,
+     * as requests will then create the objects on demand.
+     *
+     * @param min number of idle objects to have
+     * @param container container to run the creation in, or null
+     */
+    public final void fillInBackground(final int min, final Container container) {
+        if (min <= 0) {
+            return;
+        }
+        final ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        BackgroundExecutor.get(container).execute(() -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader oldCl = thread.getContextClassLoader();
+            thread.setContextClassLoader(cl);
+            Container old = container != null
+                    ? ContainerResolver.getDefault().enterContainer(container)
+                    : null;
+            try {
+                fill(min);
+            } catch (RuntimeException | Error e) {
+                LOGGER.log(Level.WARNING, "Failed to fill pool " + Pool.this, e);
+            } finally {
+                if (container != null) {
+                    ContainerResolver.getDefault().exitContainer(old);
+                }
+                thread.setContextClassLoader(oldCl);
+            }
+        });
+    }
 
-        return d;
+    /**
+     * Makes {@link #take()} return the given object to every caller from
+     * now on, for objects that can be used by many threads at the same time.
+     * No other objects are created or kept by the pool afterwards.
+     *
+     * @param t object to share
+     */
+    protected final void share(T t) {
+        if (t == null) {
+            throw new IllegalArgumentException();
+        }
+        queue.clear();
+        idle.set(0);
+        shared = t;
     }
 
     /**
-     * Returns an object back to the pool.
+     * Sets the maximum number of idle objects kept in the pool.
+     * Objects already idle beyond the new limit stay in the pool until taken.
      */
-    public final void recycle(T t) {
-        getQueue().offer(t);
+    public final void setMaxIdle(int maxIdle) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("maxIdle: " + maxIdle);
+        }
+        this.maxIdle = maxIdle;
+    }
+
+    @ManagedAttribute
+    @Description("Maximum number of idle objects kept")
+    public final int getMaxIdle() {
+        return maxIdle;
+    }
+
+    @ManagedAttribute
+    @Description("Number of idle objects in the shared queue")
+    public final int getIdleCount() {
+        return idle.get();
+    }
+
+    @ManagedAttribute
+    @Description("Number of objects taken from the pool")
+    public final long getTakeCount() {
+        return takes.sum();
+    }
+
+    @ManagedAttribute
+    @Description("Number of objects created because the pool was empty or being filled")
+    public final long getCreateCount() {
+        return creates.sum();
+    }
+
+    @ManagedAttribute
+    @Description("Number of objects returned to the pool")
+    public final long getRecycleCount() {
+        return recycles.sum();
+    }
+
+    @ManagedAttribute
+    @Description("Number of returned objects dropped because the pool was full")
+    public final long getDiscardCount() {
+        return discards.sum();
     }
 
     /**
@@ -141,7 +335,11 @@ public abstract class Pool<T> {
 
         public TubePool(Tube master) {
             this.master = master;
-            recycle(master);    // we'll use master as a part of the pool, too.
+            if (TubeCloner.isReentrant(master)) {
+                share(master);      // no need to copy it at all
+            } else {
+                recycle(master);    // we'll use master as a part of the pool, too.
+            }
         }
 
         @Override
@@ -161,4 +359,30 @@ public abstract class Pool<T> {
         }
         
     }
+
+    /**
+     * Pool of direct {@link java.nio.ByteBuffer}s of a fixed capacity.
+     *
+     * <p>
+     * Callers are expected to {@link java.nio.ByteBuffer#clear() clear} a buffer
+     * before recycling it.
+     */
+    public static final class DirectByteBuffer extends Pool<java.nio.ByteBuffer> {
+        private final int capacity;
+
+        public DirectByteBuffer(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        @Override
+        protected java.nio.ByteBuffer create() {
+            return java.nio.ByteBuffer.allocateDirect(capacity);
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(Pool.class.getName());
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Providers of service provider interfaces, looked up with {@link ServiceLoader}
+ * once per service and class loader and reused afterwards.
+ *
+ * <p>
+ * Looking up providers reads and parses the provider-configuration files
+ * available to the class loader and instantiates every provider, which is too
+ * expensive for code that runs for every message. This registry keeps the
+ * providers found, so that the same instances are returned for as long as
+ * the entry lives. It is meant for services whose providers are stateless
+ * factories; {@link ServiceFinder#findCached(Class)} uses it.
+ *
+ * <p>
+ * Class loaders are held weakly. As providers refer to their class loader,
+ * they are held softly, so that a class loader of an undeployed application
+ * can be collected even if no one calls {@link #invalidate(ClassLoader)} for it.
+ */
+public final class ProviderRegistry {
+
+    private static final ConcurrentMap<Key, SoftReference<List<?>>> PROVIDERS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ClassLoader> STALE = new ReferenceQueue<>();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private ProviderRegistry() {
+    }
+
+    /**
+     * Returns the providers of the given service available to the given class loader.
+     *
+     * @param service the service's abstract service class
+     * @param loader class loader to look providers up with, or null for the system class loader
+     * @return the providers, in the order {@link ServiceLoader} found them; can be empty but never null
+     * @throws java.util.ServiceConfigurationError if a provider can't be loaded,
+     *         in which case nothing is cached
+     */
+    @SuppressWarnings("unchecked")
+    public static @NotNull <T> List<T> getProviders(@NotNull Class<T> service, @Nullable ClassLoader loader) {
+        ClassLoader cl = loader != null ? loader : ClassLoader.getSystemClassLoader();
+        SoftReference<List<?>> ref = PROVIDERS.get(new Key(cl, service, null));
+        List<T> providers = ref != null ? (List<T>) ref.get() : null;
+        if (providers != null) {
+            HITS.increment();
+            return providers;
+        }
+        MISSES.increment();
+        expungeStaleEntries();
+        List<T> found = new ArrayList<>();
+        for (T t : ServiceLoader.load(service, cl)) {
+            found.add(t);
+        }
+        providers = Collections.unmodifiableList(found);
+        PROVIDERS.put(new Key(cl, service, STALE), new SoftReference<>(providers));
+        return providers;
+    }
+
+    /**
+     * Forgets the providers looked up with the given class loader, for e.g.
+     * when the application it belongs to is undeployed.
+     */
+    public static void invalidate(@NotNull ClassLoader loader) {
+        PROVIDERS.keySet().removeIf(k -> k.get() == loader);
+    }
+
+    /**
+     * Forgets all providers, so that they are looked up again.
+     */
+    public static void invalidateAll() {
+        PROVIDERS.clear();
+    }
+
+    /**
+     * @return number of lookups served without {@link ServiceLoader}
+     */
+    public static long getLookupsAvoided() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return number of lookups done with {@link ServiceLoader}
+     */
+    public static long getLookups() {
+        return MISSES.sum();
+    }
+
+    private static void expungeStaleEntries() {
+        Reference<? extends ClassLoader> ref;
+        while ((ref = STALE.poll()) != null) {
+            PROVIDERS.remove((Key) ref);
+        }
+    }
+
+    private static final class Key extends WeakReference<ClassLoader> {
+        private final Class<?> service;
+        private final int hash;
+
+        Key(ClassLoader loader, Class<?> service, ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            this.service = service;
+            this.hash = 31 * System.identityHashCode(loader) + service.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            ClassLoader loader = get();
+            return service == k.service && loader != null && loader == k.get();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.Component;
+import com.sun.xml.ws.api.message.Header;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.streaming.XMLStreamReaderFactory;
+import com.sun.xml.ws.developer.ResponseCacheFeature;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedData;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import jakarta.xml.ws.WebServiceException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Encoded responses, configured by {@link ResponseCacheFeature}.
+ *
+ * <p>
+ * An endpoint keeps one, shared by all its {@link com.sun.xml.ws.server.ResponseCacheTube}s,
+ * and registered as a component of the endpoint to be found by its monitoring.
+ * Client ports keep their responses in one too, see
+ * {@link com.sun.xml.ws.client.ClientResponseCacheTube}.
+ */
+@ManagedData
+@Description("Cache of encoded responses")
+public final class ResponseCacheImpl implements Component {
+
+    private final ResponseCacheFeature feature;
+    private final int maxEntries;
+    private final long maxSize;
+
+    // guarded by itself, in access order
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCacheImpl(@NotNull ResponseCacheFeature feature) {
+        this.feature = feature;
+        this.maxEntries = feature.getMaxEntries();
+        this.maxSize = feature.getMaxSize();
+    }
+
+    /**
+     * @return the feature the cache is configured by
+     */
+    public @NotNull ResponseCacheFeature getFeature() {
+        return feature;
+    }
+
+    /**
+     * @param operation local name of the WSDL operation
+     * @return time to live of responses of the operation in nanoseconds,
+     *         0 if they are not cached
+     */
+    public long getTimeToLive(String operation) {
+        return TimeUnit.SECONDS.toNanos(feature.getTimeToLive(operation));
+    }
+
+    /**
+     * @return SOAP headers that requests are told apart by
+     */
+    public List<QName> getHeaders() {
+        return feature.getHeaders();
+    }
+
+    /**
+     * @return the response to the request, or null if there is none
+     *         or it has expired
+     */
+    public @Nullable Entry get(Key key) {
+        Entry e;
+        synchronized (entries) {
+            e = entries.get(key);
+            if (e != null && e.expires - System.nanoTime() < 0) {
+                entries.remove(key);
+                size -= e.data.length;
+                e = null;
+            }
+        }
+        if (e != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return e;
+    }
+
+    public void put(Key key, byte[] data, String contentType, long ttl) {
+        if (data.length > maxSize) {
+            return;
+        }
+        Entry e = new Entry(data, contentType, System.nanoTime() + ttl);
+        synchronized (entries) {
+            Entry old = entries.put(key, e);
+            if (old != null) {
+                size -= old.data.length;
+            }
+            size += data.length;
+            Iterator<Entry> it = entries.values().iterator();
+            while ((entries.size() > maxEntries || size > maxSize) && it.hasNext()) {
+                Entry eldest = it.next();
+                it.remove();
+                size -= eldest.data.length;
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops all responses.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    @ManagedAttribute
+    @Description("Number of requests answered from the cache")
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @ManagedAttribute
+    @Description("Number of requests of cached operations that had no response in the cache")
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @ManagedAttribute
+    @Description("Number of responses dropped to make room for others")
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @ManagedAttribute
+    @Description("Number of responses kept")
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @ManagedAttribute
+    @Description("Number of bytes of the responses kept")
+    public long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    /**
+     * Digests the payload of a request, and the given headers of it.
+     * Elements and attributes are digested by namespace URI and local name,
+     * and attributes are sorted, so that prefixes and the order of attributes
+     * don't matter.
+     */
+    public static @NotNull byte[] digest(@NotNull Message msg, @NotNull List<QName> headers) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new WebServiceException(e);
+        }
+        if (msg.hasPayload()) {
+            try {
+                // the request is left as is
+                XMLStreamReader reader = msg.copy().readPayload();
+                int depth = 0;
+                while (true) {
+                    switch (reader.getEventType()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            depth++;
+                            update(md, '<', reader.getNamespaceURI(), reader.getLocalName());
+                            digestAttributes(md, reader);
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            depth--;
+                            md.update((byte) '>');
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                        case XMLStreamConstants.SPACE:
+                            md.update(reader.getText().getBytes(StandardCharsets.UTF_8));
+                            break;
+                        default:
+                            break;
+                    }
+                    if (depth == 0 || !reader.hasNext()) {
+                        break;
+                    }
+                    reader.next();
+                }
+                XMLStreamReaderFactory.recycle(reader);
+            } catch (XMLStreamException e) {
+                throw new WebServiceException(e);
+            }
+        }
+        for (QName name : headers) {
+            Header h = msg.getHeaders().get(name, false);
+            update(md, '#', name.getNamespaceURI(), name.getLocalPart());
+            if (h != null) {
+                md.update(h.getStringContent().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return md.digest();
+    }
+
+    private static void digestAttributes(MessageDigest md, XMLStreamReader reader) {
+        int n = reader.getAttributeCount();
+        if (n == 0) {
+            return;
+        }
+        String[] attributes = new String[n];
+        for (int i = 0; i < n; i++) {
+            String ns = reader.getAttributeNamespace(i);
+            attributes[i] = (ns != null ? ns : "") + '\u0000' + reader.getAttributeLocalName(i)
+                    + '\u0000' + reader.getAttributeValue(i);
+        }
+        Arrays.sort(attributes);
+        for (String a : attributes) {
+            md.update((byte) '@');
+            md.update(a.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void update(MessageDigest md, char marker, String ns, String localName) {
+        md.update((byte) marker);
+        if (ns != null) {
+            md.update(ns.getBytes(StandardCharsets.UTF_8));
+        }
+        md.update((byte) 0);
+        md.update(localName.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    @Override
+    public @Nullable <S> S getSPI(@NotNull Class<S> spiType) {
+        return spiType.isInstance(this) ? spiType.cast(this) : null;
+    }
+
+    /**
+     * Operation, address and digest of the payload and headers of a request.
+     */
+    public static final class Key {
+        private final QName operation;
+        private final String address;
+        private final byte[] digest;
+        private final int hash;
+
+        /**
+         * @param address endpoint address the request is sent to, null on the
+         *        endpoint side
+         * @param digest see {@link ResponseCacheImpl#digest(Message, List)}
+         */
+        public Key(@NotNull QName operation, @Nullable String address, @NotNull byte[] digest) {
+            this.operation = operation;
+            this.address = address;
+            this.digest = digest;
+            this.hash = 31 * (31 * operation.hashCode() + Objects.hashCode(address)) + Arrays.hashCode(digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return operation.equals(k.operation) && Objects.equals(address, k.address)
+                    && Arrays.equals(digest, k.digest);
+        }
+    }
+
+    /**
+     * Encoded response.
+     */
+    public static final class Entry {
+        public final byte[] data;
+        public final String contentType;
+        final long expires;
+
+        public Entry(byte[] data, String contentType, long expires) {
+            this.data = data;
+            this.contentType = contentType;
+            this.expires = expires;
+        }
+    }
+}
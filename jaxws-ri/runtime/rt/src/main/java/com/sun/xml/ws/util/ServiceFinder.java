@@ -116,12 +116,19 @@ import java.util.ServiceLoader;
 public final class ServiceFinder<T> implements Iterable<T> {
 
     private final @NotNull Class<T> serviceClass;
-    private final @NotNull ServiceLoader<T> serviceLoader;
+    // a ServiceLoader, or the cached providers of ProviderRegistry
+    private final @NotNull Iterable<T> serviceLoader;
     private final @Nullable ComponentEx component;
 
     public static <T> ServiceFinder<T> find(@NotNull Class<T> service, @Nullable ClassLoader loader, Component component) {
-        ClassLoader cl = loader == null ? Thread.currentThread().getContextClassLoader() : loader;
-        return find(service, component, ServiceLoader.load(service, cl));
+        return find(service, component, ServiceLoader.load(service, loader(loader)));
+    }
+
+    /**
+     * @return the given class loader, or the context class loader if it is null
+     */
+    private static ClassLoader loader(@Nullable ClassLoader loader) {
+        return loader == null ? Thread.currentThread().getContextClassLoader() : loader;
     }
 
     public static <T> ServiceFinder<T> find(@NotNull Class<T> service, Component component, @NotNull ServiceLoader<T> serviceLoader) {
@@ -153,8 +160,8 @@ public final class ServiceFinder<T> implements Iterable<T> {
      * @param <T> The type of the service to be loaded by this finder
      * @param service The service's abstract service class
      * @param loader  The class loader to be used to load provider-configuration files
-     *                and instantiate provider classes, or {@code null} if the system
-     *                class loader (or, failing that the bootstrap class loader) is to
+     *                and instantiate provider classes, or {@code null} if the context
+     *                class loader (or, failing that the system class loader) is to
      *                be used
      * @return A new service finder
      * @throws ServiceConfigurationError If a provider-configuration file violates the specified format
@@ -191,7 +198,57 @@ public final class ServiceFinder<T> implements Iterable<T> {
         return find(service, ContainerResolver.getInstance().getContainer(), serviceLoader);
     }
 
-    private ServiceFinder(Class<T> service, Component component, ServiceLoader<T> serviceLoader) {
+    /**
+     * Same as {@link #find(Class)}, except that the providers found with the
+     * context class loader come from the {@link ProviderRegistry}, so they are
+     * looked up and instantiated only once. Providers of the container are
+     * still asked for on every call.
+     *
+     * <p>
+     * Meant for code that runs for every message. The providers of the
+     * service must be safe to share.
+     *
+     * @param <T> The type of the service to be loaded by this finder
+     * @param service The service's abstract service class
+     * @return A new service finder
+     */
+    public static <T> ServiceFinder<T> findCached(@NotNull Class<T> service) {
+        return findCached(service, ContainerResolver.getInstance().getContainer());
+    }
+
+    /**
+     * Same as {@link #find(Class, Component)}, except that the providers
+     * found with the context class loader come from the {@link ProviderRegistry}.
+     *
+     * @see #findCached(Class)
+     */
+    public static <T> ServiceFinder<T> findCached(@NotNull Class<T> service, @Nullable Component component) {
+        return findCached(service, null, component);
+    }
+
+    /**
+     * Same as {@link #find(Class, ClassLoader)}, except that the providers
+     * found with the class loader come from the {@link ProviderRegistry}.
+     *
+     * @see #findCached(Class)
+     */
+    public static <T> ServiceFinder<T> findCached(@NotNull Class<T> service, @Nullable ClassLoader loader) {
+        return findCached(service, loader, ContainerResolver.getInstance().getContainer());
+    }
+
+    /**
+     * Same as {@link #find(Class, ClassLoader, Component)}, except that the
+     * providers found with the class loader come from the {@link ProviderRegistry}.
+     *
+     * @see #findCached(Class)
+     */
+    public static <T> ServiceFinder<T> findCached(@NotNull Class<T> service, @Nullable ClassLoader loader, @Nullable Component component) {
+        Class<T> svc = Objects.requireNonNull(service);
+        // same fallback as find(), ProviderRegistry then falls back to the system class loader
+        return new ServiceFinder<>(svc, component, ProviderRegistry.getProviders(svc, loader(loader)));
+    }
+
+    private ServiceFinder(Class<T> service, Component component, Iterable<T> serviceLoader) {
         this.serviceClass = service;
         this.component = getComponentEx(component);
         this.serviceLoader = serviceLoader;
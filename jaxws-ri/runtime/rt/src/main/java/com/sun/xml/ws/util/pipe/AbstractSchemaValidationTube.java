@@ -24,6 +24,7 @@ import com.sun.xml.ws.api.server.SDDocument;
 import com.sun.xml.ws.api.server.SDDocumentSource;
 import com.sun.xml.ws.developer.SchemaValidationFeature;
 import com.sun.xml.ws.developer.ValidationErrorHandler;
+import com.sun.xml.ws.message.stream.StreamMessage;
 import com.sun.xml.ws.server.SDDocumentImpl;
 import com.sun.xml.ws.util.ByteArrayBuffer;
 import com.sun.xml.ws.util.xml.XmlUtil;
@@ -48,39 +49,65 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 import jakarta.xml.ws.WebServiceException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * {@link Tube} that does the schema validation.
  *
+ * <p>
+ * Compiled {@link Schema}s are shared by all the tubes that validate against
+ * the same schema documents, see {@link #getSchema(Iterable, MetadataResolverImpl)}.
+ *
+ * <p>
+ * Messages are validated before they go on, see {@link #doProcess(Packet)},
+ * or while they are read further down the tubeline, see
+ * {@link #validateWhileReading(Packet)}.
+ *
  * @author Jitendra Kotamraju
  */
 public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImpl {
 
     private static final Logger LOGGER = Logger.getLogger(AbstractSchemaValidationTube.class.getName());
 
+    // digest of the schema documents --> compiled schema
+    private static final ConcurrentMap<String, SoftReference<Schema>> SCHEMAS = new ConcurrentHashMap<>();
+
     protected final WSBinding binding;
     protected final SchemaValidationFeature feature;
     protected final DocumentAddressResolver resolver = new ValidationDocumentAddressResolver();
     protected final SchemaFactory sf;
 
+    // message validated while it is read, see validateWhileReading
+    private ValidatingMessage streamed;
+
     public AbstractSchemaValidationTube(WSBinding binding, Tube next) {
         super(next);
         this.binding = binding;
@@ -99,6 +126,15 @@ public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImp
 
     protected abstract boolean isNoValidation();
 
+    /**
+     * Returns the handler to validate payloads with while they are read.
+     *
+     * @return null if payloads are only validated by {@link #doProcess(Packet)}
+     */
+    protected @Nullable ValidatorHandler getValidatorHandler() {
+        return null;
+    }
+
     private static class ValidationDocumentAddressResolver implements DocumentAddressResolver {
 
         @Nullable
@@ -308,6 +344,71 @@ public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImp
         docIdList.add(systemId);
     }
 
+    /**
+     * Returns the schema to validate messages with, compiled from the schemas
+     * in the given documents. A schema compiled earlier from documents with the
+     * same addresses and contents is reused; {@link Schema} is thread-safe.
+     *
+     * @return null if the documents don't contain any schema
+     */
+    protected @Nullable Schema getSchema(Iterable<SDDocument> docs, MetadataResolverImpl mdresolver) {
+        String key = digest(docs);
+        SoftReference<Schema> ref = SCHEMAS.get(key);
+        Schema schema = ref != null ? ref.get() : null;
+        if (schema != null) {
+            LOGGER.fine("Reusing the validation schema compiled for the same documents");
+            return schema;
+        }
+        Source[] sources = getSchemaSources(docs, mdresolver);
+        if (sources.length == 0) {
+            return null;
+        }
+        for(Source source : sources) {
+            LOGGER.fine("Constructing validation schema from = "+source.getSystemId());
+        }
+        sf.setResourceResolver(mdresolver);
+        try {
+            schema = sf.newSchema(sources);
+        } catch(SAXException e) {
+            throw new WebServiceException(e);
+        }
+        SCHEMAS.values().removeIf(r -> r.get() == null);
+        SCHEMAS.put(key, new SoftReference<>(schema));
+        return schema;
+    }
+
+    /**
+     * Computes a digest of the addresses and contents of the documents.
+     */
+    private String digest(Iterable<SDDocument> docs) {
+        // in a stable order, so that the same documents get the same digest
+        Map<String, SDDocument> sorted = new TreeMap<>();
+        for (SDDocument doc : docs) {
+            sorted.put(doc.getURL().toExternalForm(), doc);
+        }
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new WebServiceException(e);
+        }
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), md)) {
+            for (Map.Entry<String, SDDocument> e : sorted.entrySet()) {
+                out.write(e.getKey().getBytes(StandardCharsets.UTF_8));
+                out.write(0);
+                e.getValue().writeTo(null, resolver, out);
+                out.write(0);
+            }
+        } catch (IOException ioe) {
+            throw new WebServiceException(ioe);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : md.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
     /*
      * Using the following algorithm described in the xerces discussion thread:
      *
@@ -531,15 +632,9 @@ public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImp
 
     protected void doProcess(Packet packet) throws SAXException {
         getValidator().reset();
-        Class<? extends ValidationErrorHandler> handlerClass = feature.getErrorHandler();
-        ValidationErrorHandler handler;
-        try {
-            handler = handlerClass.getConstructor().newInstance();
-        } catch(Exception e) {
-            throw new WebServiceException(e);
-        }
-        handler.setPacket(packet);
-        getValidator().setErrorHandler(handler);
+        getValidator().setErrorHandler(createErrorHandler(packet));
+        // the payload is parsed twice: the first copy of a stream message
+        // buffers it, and databinding reads it again from that buffer
         Message msg = packet.getMessage().copy();
         Source source = msg.readPayloadAsSource();
         try {
@@ -551,6 +646,53 @@ public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImp
         }
     }
 
+    /**
+     * Replaces the message of the packet with one whose payload is validated
+     * by {@link #getValidatorHandler()} as it is read, so that it is parsed
+     * only once. Reading it fails at the first error the
+     * {@link ValidationErrorHandler} throws, see {@link #takeStreamingError()}.
+     *
+     * @return false if the message can't be validated that way, and is to be
+     *         given to {@link #doProcess(Packet)}
+     */
+    protected boolean validateWhileReading(Packet packet) {
+        Message msg = packet.getInternalMessage();
+        ValidatorHandler handler = getValidatorHandler();
+        // attachments would have to be resolved for xop:Include elements
+        if (handler == null || !(msg instanceof StreamMessage) || !msg.getAttachments().isEmpty()) {
+            return false;
+        }
+        handler.setErrorHandler(createErrorHandler(packet));
+        streamed = new ValidatingMessage((StreamMessage) msg, handler);
+        packet.setMessage(streamed);
+        return true;
+    }
+
+    /**
+     * Returns the error the payload of the last message given to
+     * {@link #validateWhileReading(Packet)} failed validation with, and
+     * forgets that message.
+     *
+     * @return null if the payload is valid, or hasn't been read
+     */
+    protected @Nullable SAXException takeStreamingError() {
+        ValidatingMessage msg = streamed;
+        streamed = null;
+        return msg != null ? msg.getError() : null;
+    }
+
+    private ValidationErrorHandler createErrorHandler(Packet packet) {
+        Class<? extends ValidationErrorHandler> handlerClass = feature.getErrorHandler();
+        ValidationErrorHandler handler;
+        try {
+            handler = handlerClass.getConstructor().newInstance();
+        } catch(Exception e) {
+            throw new WebServiceException(e);
+        }
+        handler.setPacket(packet);
+        return handler;
+    }
+
     private String getTargetNamespace(DOMSource src) {
         Element elem = (Element)src.getNode();
         return elem.getAttribute("targetNamespace");
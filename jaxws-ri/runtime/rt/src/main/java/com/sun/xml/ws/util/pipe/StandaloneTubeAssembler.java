@@ -29,6 +29,8 @@ public class StandaloneTubeAssembler implements TubelineAssembler {
     @NotNull
     public Tube createClient(ClientTubeAssemblerContext context) {
         Tube head = context.createTransportTube();
+        head = context.createLoadBalancingTube(head);
+        head = context.createHedgingTube(head);
         head = context.createSecurityTube(head);
         if (dump) {
             // for debugging inject a dump pipe. this is left in the production code,
@@ -38,7 +40,8 @@ public class StandaloneTubeAssembler implements TubelineAssembler {
         head = context.createWsaTube(head);
         head = context.createClientMUTube(head);
         head = context.createValidationTube(head);
-        return context.createHandlerTube(head);        
+        head = context.createHandlerTube(head);
+        return context.createResponseCacheTube(head);
     }
 
     /**
@@ -49,6 +52,7 @@ public class StandaloneTubeAssembler implements TubelineAssembler {
     @Override
     public Tube createServer(ServerTubeAssemblerContext context) {
         Tube head = context.getTerminalTube();
+        head = context.createResponseCacheTube(head);
         head = context.createValidationTube(head);
         head = context.createHandlerTube(head);
         head = context.createMonitoringTube(head);
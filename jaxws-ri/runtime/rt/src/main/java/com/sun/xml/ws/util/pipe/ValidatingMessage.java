@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util.pipe;
+
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.message.FilterMessageImpl;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.message.stream.StreamMessage;
+import com.sun.xml.ws.spi.db.XMLBridge;
+import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
+import com.sun.xml.ws.util.xml.XMLStreamReaderFilter;
+import org.glassfish.jaxb.runtime.api.Bridge;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import jakarta.xml.ws.WebServiceException;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import javax.xml.validation.ValidatorHandler;
+
+/**
+ * {@link Message} whose payload is validated as it is read.
+ *
+ * <p>
+ * The payload of the {@link StreamMessage} goes through a
+ * {@link ValidatorHandler} event by event while databinding reads it, so that
+ * it is parsed once. Reading the message in any other way first validates a
+ * copy of it, as {@link AbstractSchemaValidationTube#doProcess(Packet)} does.
+ *
+ * <p>
+ * The first error the {@link ValidatorHandler} throws fails the read, and is
+ * kept so that the tube can answer with a fault, see {@link #getError()}.
+ */
+final class ValidatingMessage extends FilterMessageImpl {
+
+    private final StreamMessage delegate;
+    private final ValidatorHandler handler;
+    private boolean validated;
+    private SAXException error;
+
+    ValidatingMessage(StreamMessage delegate, ValidatorHandler handler) {
+        super(delegate);
+        this.delegate = delegate;
+        this.handler = handler;
+    }
+
+    /**
+     * @return the error the payload failed validation with, if it did
+     */
+    @Nullable SAXException getError() {
+        return error;
+    }
+
+    @Override
+    public XMLStreamReader readPayload() throws XMLStreamException {
+        if (validated || !hasPayload()) {
+            return delegate.readPayload();
+        }
+        return validatingReader();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T readPayloadAsJAXB(Unmarshaller unmarshaller) throws JAXBException {
+        if (validated || !hasPayload()) {
+            return super.readPayloadAsJAXB(unmarshaller);
+        }
+        XMLStreamReader reader = validatingReader();
+        try {
+            return (T) unmarshaller.unmarshal(reader);
+        } finally {
+            finish(reader);
+        }
+    }
+
+    /** @deprecated */
+    @Override
+    public <T> T readPayloadAsJAXB(Bridge<T> bridge) throws JAXBException {
+        if (validated || !hasPayload()) {
+            return delegate.readPayloadAsJAXB(bridge);
+        }
+        XMLStreamReader reader = validatingReader();
+        try {
+            return bridge.unmarshal(reader, null);
+        } finally {
+            finish(reader);
+        }
+    }
+
+    @Override
+    public <T> T readPayloadAsJAXB(XMLBridge<T> bridge) throws JAXBException {
+        if (validated || !hasPayload()) {
+            return delegate.readPayloadAsJAXB(bridge);
+        }
+        XMLStreamReader reader = validatingReader();
+        try {
+            return bridge.unmarshal(reader, null);
+        } finally {
+            finish(reader);
+        }
+    }
+
+    @Override
+    public void consume() {
+        if (validated || !hasPayload()) {
+            delegate.consume();
+            return;
+        }
+        finish(validatingReader());
+    }
+
+    @Override
+    public Source readEnvelopeAsSource() {
+        validateCopy();
+        return delegate.readEnvelopeAsSource();
+    }
+
+    @Override
+    public Source readPayloadAsSource() {
+        validateCopy();
+        return delegate.readPayloadAsSource();
+    }
+
+    @Override
+    public SOAPMessage readAsSOAPMessage() throws SOAPException {
+        validateCopy();
+        return delegate.readAsSOAPMessage();
+    }
+
+    @Override
+    public SOAPMessage readAsSOAPMessage(Packet packet, boolean inbound) throws SOAPException {
+        validateCopy();
+        return delegate.readAsSOAPMessage(packet, inbound);
+    }
+
+    @Override
+    public void writePayloadTo(XMLStreamWriter sw) throws XMLStreamException {
+        validateCopy();
+        delegate.writePayloadTo(sw);
+    }
+
+    @Override
+    public void writeTo(XMLStreamWriter sw) throws XMLStreamException {
+        validateCopy();
+        delegate.writeTo(sw);
+    }
+
+    @Override
+    public void writeTo(ContentHandler contentHandler, ErrorHandler errorHandler) throws SAXException {
+        validateCopy();
+        delegate.writeTo(contentHandler, errorHandler);
+    }
+
+    @Override
+    public Message copy() {
+        validateCopy();
+        return delegate.copy().copyFrom(delegate);
+    }
+
+    /**
+     * @throws WebServiceException if the start of the payload is invalid, as
+     *         the wrapper {@link Packet#getMessage()} returns hides the
+     *         {@link XMLStreamException}s of {@link #readPayload()}
+     */
+    private XMLStreamReader validatingReader() {
+        validated = true;
+        try {
+            return new ValidatingReader(delegate.readPayload());
+        } catch (XMLStreamException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
+    /**
+     * Reads the rest of the payload through the validation, as
+     * {@link StreamMessage} does after unmarshalling it.
+     */
+    private static void finish(XMLStreamReader reader) {
+        XMLStreamReaderUtil.readRest(reader);
+        XMLStreamReaderUtil.close(reader);
+    }
+
+    /**
+     * Validates a copy of the payload before the message is read in a way
+     * that doesn't go through {@link #readPayload()}.
+     */
+    private void validateCopy() {
+        if (validated || !hasPayload()) {
+            return;
+        }
+        validated = true;
+        Message copy = delegate.copy();
+        try {
+            ValidatingReader reader = new ValidatingReader(copy.readPayload());
+            while (!reader.done) {
+                reader.next();
+            }
+        } catch (XMLStreamException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
+    /**
+     * Passes the events of the payload on to the {@link ValidatorHandler} as
+     * they are read.
+     */
+    private final class ValidatingReader extends XMLStreamReaderFilter implements Locator {
+        private final String[] inscope;
+        private int depth;
+        private boolean done;
+
+        ValidatingReader(XMLStreamReader reader) throws XMLStreamException {
+            super(reader);
+            inscope = delegate.getInscopeNamespaces();
+            handler.setDocumentLocator(this);
+            try {
+                handler.startDocument();
+                for (int i = 0; i < inscope.length; i += 2) {
+                    handler.startPrefixMapping(fixNull(inscope[i]), fixNull(inscope[i + 1]));
+                }
+            } catch (SAXException e) {
+                throw fail(e);
+            }
+            fire();
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            int event = reader.next();
+            fire();
+            return event;
+        }
+
+        // the filter has to see every event, so these can't be delegated
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            int event = next();
+            while ((event == CHARACTERS && isWhiteSpace()) || (event == CDATA && isWhiteSpace())
+                    || event == SPACE || event == PROCESSING_INSTRUCTION || event == COMMENT) {
+                event = next();
+            }
+            if (event != START_ELEMENT && event != END_ELEMENT) {
+                throw new XMLStreamException("expected start or end tag", getLocation());
+            }
+            return event;
+        }
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+            if (getEventType() != START_ELEMENT) {
+                throw new XMLStreamException("expected start tag", getLocation());
+            }
+            StringBuilder text = new StringBuilder();
+            int event = next();
+            while (event != END_ELEMENT) {
+                if (event == CHARACTERS || event == CDATA || event == SPACE || event == ENTITY_REFERENCE) {
+                    text.append(getText());
+                } else if (event == START_ELEMENT || event == END_DOCUMENT) {
+                    throw new XMLStreamException("unexpected event in text only element", getLocation());
+                }
+                event = next();
+            }
+            return text.toString();
+        }
+
+        @Override
+        public void close() throws XMLStreamException {
+            // the end of the payload may still have to be checked
+            while (!done && error == null) {
+                next();
+            }
+            reader.close();
+        }
+
+        /**
+         * Passes the current event on.
+         */
+        private void fire() throws XMLStreamException {
+            if (done) {
+                return;
+            }
+            try {
+                switch (reader.getEventType()) {
+                    case START_ELEMENT:
+                        depth++;
+                        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                            handler.startPrefixMapping(fixNull(reader.getNamespacePrefix(i)),
+                                    fixNull(reader.getNamespaceURI(i)));
+                        }
+                        AttributesImpl atts = new AttributesImpl();
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            atts.addAttribute(fixNull(reader.getAttributeNamespace(i)),
+                                    reader.getAttributeLocalName(i),
+                                    qName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                                    "CDATA", reader.getAttributeValue(i));
+                        }
+                        handler.startElement(fixNull(reader.getNamespaceURI()), reader.getLocalName(),
+                                qName(reader.getPrefix(), reader.getLocalName()), atts);
+                        break;
+                    case END_ELEMENT:
+                        handler.endElement(fixNull(reader.getNamespaceURI()), reader.getLocalName(),
+                                qName(reader.getPrefix(), reader.getLocalName()));
+                        for (int i = reader.getNamespaceCount() - 1; i >= 0; i--) {
+                            handler.endPrefixMapping(fixNull(reader.getNamespacePrefix(i)));
+                        }
+                        if (--depth == 0) {
+                            for (int i = inscope.length - 2; i >= 0; i -= 2) {
+                                handler.endPrefixMapping(fixNull(inscope[i]));
+                            }
+                            handler.endDocument();
+                            done = true;
+                        }
+                        break;
+                    case CHARACTERS:
+                    case CDATA:
+                    case SPACE:
+                        handler.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        break;
+                    default:
+                        break;
+                }
+            } catch (SAXException e) {
+                done = true;
+                throw fail(e);
+            }
+        }
+
+        private XMLStreamException fail(SAXException e) {
+            error = e;
+            return new XMLStreamException(e);
+        }
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            Location l = reader.getLocation();
+            return l != null ? l.getSystemId() : null;
+        }
+
+        @Override
+        public int getLineNumber() {
+            Location l = reader.getLocation();
+            return l != null ? l.getLineNumber() : -1;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            Location l = reader.getLocation();
+            return l != null ? l.getColumnNumber() : -1;
+        }
+    }
+
+    private static String fixNull(String s) {
+        return s != null ? s : "";
+    }
+
+    private static String qName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+}
@@ -21,9 +21,10 @@ import com.sun.xml.ws.api.message.Message;
 import com.sun.xml.ws.resources.ServerMessages;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
 
-import javax.xml.namespace.QName;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.atomic.LongAdder;
 import java.text.MessageFormat;
 
 /**
@@ -32,22 +33,28 @@ import java.text.MessageFormat;
  *
  * Different implementations of {@link WSDLOperationFinder} are used underneath to identify the wsdl operation based on
  * if AddressingFeature is enabled or not.
+ * <br>
+ * The finders build their tables up front and only read them afterwards, so a dispatcher can be
+ * shared by any number of threads without locking.
  * 
  * @author Rama Pulavarthi
  */
 public class OperationDispatcher {
-    private List<WSDLOperationFinder> opFinders;
-    private WSBinding binding;
+    private final List<WSDLOperationFinder> opFinders;
+    private final WSBinding binding;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     public OperationDispatcher(@NotNull WSDLPort wsdlModel, @NotNull WSBinding binding, @Nullable SEIModel seiModel) {
         this.binding = binding;
-        opFinders = new ArrayList<>();
+        List<WSDLOperationFinder> finders = new ArrayList<>();
         if (binding.getAddressingVersion() != null) {
-            opFinders.add(new ActionBasedOperationFinder(wsdlModel, binding, seiModel));
+            finders.add(new ActionBasedOperationFinder(wsdlModel, binding, seiModel));
         }
-        opFinders.add(new PayloadQNameBasedOperationFinder(wsdlModel, binding, seiModel));
-        opFinders.add(new SOAPActionBasedOperationFinder(wsdlModel, binding, seiModel));
-
+        finders.add(new PayloadQNameBasedOperationFinder(wsdlModel, binding, seiModel));
+        finders.add(new SOAPActionBasedOperationFinder(wsdlModel, binding, seiModel));
+        opFinders = Collections.unmodifiableList(finders);
     }
 
     /**
@@ -57,11 +64,19 @@ public class OperationDispatcher {
      */
     public @NotNull WSDLOperationMapping getWSDLOperationMapping(Packet request) throws DispatchException {
         WSDLOperationMapping opName;
-        for(WSDLOperationFinder finder: opFinders) {
-            opName = finder.getWSDLOperationMapping(request);
-            if(opName != null)
-                return opName;
+        try {
+            for(WSDLOperationFinder finder: opFinders) {
+                opName = finder.getWSDLOperationMapping(request);
+                if(opName != null) {
+                    hits.increment();
+                    return opName;
+                }
+            }
+        } catch (DispatchException e) {
+            misses.increment();
+            throw e;
         }
+        misses.increment();
         //No way to dispatch this request
         String err = MessageFormat.format("Request=[SOAPAction={0},Payload='{'{1}'}'{2}]",
                 request.soapAction, request.getMessage().getPayloadNamespaceURI(),
@@ -71,4 +86,18 @@ public class OperationDispatcher {
                 binding.getSOAPVersion(), faultString, binding.getSOAPVersion().faultCodeClient);
         throw new DispatchException(faultMsg);
     }
+
+    /**
+     * @return number of requests associated with a wsdl operation
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of requests that couldn't be associated with a wsdl operation
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
 }
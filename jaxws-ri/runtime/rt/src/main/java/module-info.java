@@ -26,6 +26,7 @@ module com.sun.xml.ws.rt {
     requires java.desktop;
     requires java.logging;
     requires java.management;
+    requires java.net.http;
     requires transitive java.xml;
     requires jdk.httpserver;
     requires jdk.unsupported;
@@ -39,6 +40,7 @@ module com.sun.xml.ws.rt {
 
     requires static jakarta.servlet;
     requires static com.sun.xml.fastinfoset;
+    requires static com.sun.xml.messaging.saaj;
 
     requires org.jvnet.mimepull;
     requires transitive org.jvnet.staxex;
@@ -177,4 +179,7 @@ module com.sun.xml.ws.rt {
     provides com.sun.xml.ws.spi.db.BindingContextFactory with
             com.sun.xml.ws.db.glassfish.JAXBRIContextFactory;
 
+    provides com.sun.xml.ws.api.pipe.TransportTubeFactory with
+            com.sun.xml.ws.transport.http.client.HttpClientTransportTubeFactory;
+
 }
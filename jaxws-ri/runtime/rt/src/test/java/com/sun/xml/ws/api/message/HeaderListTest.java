@@ -11,6 +11,7 @@
 package com.sun.xml.ws.api.message;
 
 import java.io.ByteArrayInputStream;
+import java.util.Iterator;
 import java.util.Set;
 
 import javax.xml.namespace.QName;
@@ -72,6 +73,34 @@ public class HeaderListTest extends TestCase {
         }
     }
     
+    public void testIndexedLookup() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            testInstance.add(Headers.create(new QName(TEST_NS, "h" + i % 10), "" + i));
+        }
+        testInstance.add(Headers.create(new QName("urn:other", "h3"), "other"));
+
+        assertEquals("3", testInstance.get(TEST_NS, "h3", true).getStringContent());
+        assertTrue(testInstance.isUnderstood(3));
+        assertEquals("other", testInstance.get(new QName("urn:other", "h3"), false).getStringContent());
+        assertNull(testInstance.get(TEST_NS, "missing", false));
+
+        Iterator<Header> it = testInstance.getHeaders(TEST_NS, "h3", true);
+        assertEquals("3", it.next().getStringContent());
+        assertEquals("13", it.next().getStringContent());
+        assertFalse(it.hasNext());
+        assertTrue(testInstance.isUnderstood(13));
+
+        // the index follows changes to the list
+        testInstance.remove(TEST_NS, "h3");
+        assertEquals("13", testInstance.get(TEST_NS, "h3", false).getStringContent());
+        testInstance.set(0, Headers.create(new QName(TEST_NS, "replaced"), "r"));
+        assertEquals("r", testInstance.get(TEST_NS, "replaced", false).getStringContent());
+        assertEquals("10", testInstance.get(TEST_NS, "h0", false).getStringContent());
+        testInstance.addOrReplace(Headers.create(new QName(TEST_NS, "h5"), "new"));
+        assertEquals("new", testInstance.get(TEST_NS, "h5", false).getStringContent());
+        assertEquals(20, testInstance.size());
+    }
+
     public void testUnderstoodBehavior() throws Exception {
       //a fairly complex SOAPMessage with 2 mustUnderstand=true headers, 
         //one mustUnderstand=false and one with no mustUnderstand specified
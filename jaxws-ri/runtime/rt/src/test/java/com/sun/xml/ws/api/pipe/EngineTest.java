@@ -12,7 +12,9 @@ package com.sun.xml.ws.api.pipe;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import com.sun.istack.NotNull;
 import com.sun.xml.ws.api.message.Packet;
@@ -111,18 +113,41 @@ public class EngineTest extends TestCase {
         assertEquals(testContainer, firstCall.container);
     }
     
+    public void testVirtualThreads() throws InterruptedException {
+        Container testContainer = new Container() {};
+        Engine e = new Engine("engine1", testContainer, null, true);
+        assertTrue(e.isVirtualThreads());
+        assertFalse(new Engine("engine2", testContainer).isVirtualThreads());
+
+        // runs on virtual threads where supported, otherwise on the default pool
+        TestTube testTube = new TestTube();
+        Packet request = new Packet();
+        SimpleCompletionCallback callback = new SimpleCompletionCallback();
+
+        e.createFiber().start(testTube, request, callback);
+
+        assertTrue(callback.done.await(10, TimeUnit.SECONDS));
+        assertEquals(request, callback.response);
+        assertNull(callback.error);
+        assertEquals(testContainer, testTube.getCalls().get(0).container);
+        assertNotNull(e.getExecutor());
+    }
+    
     static class SimpleCompletionCallback implements CompletionCallback {
-        public Packet response = null;
-        public Throwable error = null;
+        public volatile Packet response = null;
+        public volatile Throwable error = null;
+        final CountDownLatch done = new CountDownLatch(1);
 
         @Override
         public void onCompletion(@NotNull Packet response) {
             this.response = response;
+            done.countDown();
         }
 
         @Override
         public void onCompletion(@NotNull Throwable error) {
             this.error = error;
+            done.countDown();
         }
     }
     
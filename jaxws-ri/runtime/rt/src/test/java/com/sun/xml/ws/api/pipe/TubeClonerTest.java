@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.api.pipe;
+
+import com.sun.xml.ws.api.pipe.helper.AbstractFilterTubeImpl;
+import com.sun.xml.ws.util.Pool;
+
+import junit.framework.TestCase;
+
+public class TubeClonerTest extends TestCase {
+
+    public void testReentrantTubeline() {
+        Tube master = new SharedTube(new SharedTube(null));
+        assertTrue(TubeCloner.isReentrant(master));
+        assertSame(master, TubeCloner.clone(master));
+
+        Pool<Tube> pool = new Pool.TubePool(master);
+        assertSame(master, pool.take());
+        assertSame(master, pool.take());
+        pool.recycle(master);
+        pool.fill(4);
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(0, pool.getCreateCount());
+    }
+
+    public void testMixedTubeline() {
+        SharedTube terminal = new SharedTube(null);
+        CopiedTube middle = new CopiedTube(terminal);
+        SharedTube head = new SharedTube(middle);
+        assertFalse(TubeCloner.isReentrant(head));
+
+        SharedTube copy = (SharedTube) TubeCloner.clone(head);
+        assertNotSame(head, copy);
+        assertNotSame(middle, copy.getNext());
+        assertSame(terminal, ((CopiedTube) copy.getNext()).getNext());
+    }
+
+    private static class SharedTube extends AbstractFilterTubeImpl implements ReentrantTube {
+        SharedTube(Tube next) {
+            super(next);
+        }
+
+        SharedTube(SharedTube that, TubeCloner cloner) {
+            super(that, cloner);
+        }
+
+        @Override
+        public SharedTube copy(TubeCloner cloner) {
+            return new SharedTube(this, cloner);
+        }
+
+        @Override
+        public Tube getNext() {
+            return next;
+        }
+    }
+
+    private static class CopiedTube extends AbstractFilterTubeImpl {
+        CopiedTube(Tube next) {
+            super(next);
+        }
+
+        CopiedTube(CopiedTube that, TubeCloner cloner) {
+            super(that, cloner);
+        }
+
+        @Override
+        public CopiedTube copy(TubeCloner cloner) {
+            return new CopiedTube(this, cloner);
+        }
+
+        Tube getNext() {
+            return next;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.WSService;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Engine;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import com.sun.xml.ws.developer.ResponseCacheFeature;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+public class ClientResponseCacheTubeTest extends TestCase {
+
+    private static final QName OPERATION = new QName("urn:test", "getCountry");
+
+    private final AtomicInteger sent = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ClientResponseCacheTube tube;
+    private ExecutorService executor;
+    private Engine engine;
+
+    @Override
+    protected void setUp() {
+        ResponseCacheFeature feature = new ResponseCacheFeature(
+                new String[] {"getCountry"}, 60, 10, 1024 * 1024, new String[0]);
+        WSBinding binding = ((BindingID) BindingID.SOAP11_HTTP).createBinding(feature);
+        tube = new ClientResponseCacheTube(WSService.create(), feature, binding, new Terminal());
+        executor = Executors.newCachedThreadPool();
+        engine = new Engine("test", executor);
+    }
+
+    @Override
+    protected void tearDown() {
+        executor.shutdownNow();
+    }
+
+    public void testReplay() throws Exception {
+        release.countDown();
+        assertEquals("France", call(tube));
+        assertEquals("France", call(TubeCloner.clone(tube)));
+        assertEquals(1, sent.get());
+        assertEquals(1, tube.getCache().getHitCount());
+    }
+
+    public void testCoalescing() throws Exception {
+        int n = 8;
+        List<Future<String>> calls = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            final Tube copy = TubeCloner.clone(tube);
+            calls.add(executor.submit(() -> call(copy)));
+        }
+        // all the requests missed the cache, let them join the first one
+        long deadline = System.currentTimeMillis() + 10000;
+        while (tube.getCache().getMissCount() < n && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<String> call : calls) {
+            assertEquals("France", call.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, sent.get());
+    }
+
+    public void testWaitIsBounded() throws Exception {
+        Future<String> first = executor.submit(() -> call(TubeCloner.clone(tube)));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (sent.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        long start = System.nanoTime();
+        try {
+            call(TubeCloner.clone(tube), 200);
+            fail();
+        } catch (ClientTransportException e) {
+            // expected
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        release.countDown();
+        assertEquals("France", first.get(10, TimeUnit.SECONDS));
+        assertEquals(1, sent.get());
+    }
+
+    private String call(Tube tubeline) throws Exception {
+        return call(tubeline, null);
+    }
+
+    private String call(Tube tubeline, Integer timeout) throws Exception {
+        Packet request = new Packet(Messages.createUsingPayload(new StreamSource(new StringReader(
+                "<getCountry xmlns='urn:test'><code>FR</code></getCountry>")), SOAPVersion.SOAP_11));
+        request.setWSDLOperation(OPERATION);
+        if (timeout != null) {
+            request.invocationProperties.put(BindingProviderProperties.REQUEST_TIMEOUT, timeout);
+        }
+        Packet response = engine.createFiber().runSync(tubeline, request);
+        return response.getMessage().readPayload().getElementText();
+    }
+
+    private class Terminal extends AbstractTubeImpl {
+        Terminal() {
+        }
+
+        Terminal(Terminal that, TubeCloner cloner) {
+            super(that, cloner);
+        }
+
+        @Override
+        public NextAction processRequest(Packet request) {
+            sent.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return doReturnWith(request.createClientResponse(Messages.createUsingPayload(new StreamSource(new StringReader(
+                    "<getCountryResponse xmlns='urn:test'>France</getCountryResponse>")), SOAPVersion.SOAP_11)));
+        }
+
+        @Override
+        public NextAction processResponse(Packet response) {
+            return doReturnWith(response);
+        }
+
+        @Override
+        public NextAction processException(Throwable t) {
+            return doThrow(t);
+        }
+
+        @Override
+        public void preDestroy() {
+        }
+
+        @Override
+        public Terminal copy(TubeCloner cloner) {
+            return new Terminal(this, cloner);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.FilterMessageImpl;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Engine;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.developer.HedgingFeature;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+import jakarta.xml.ws.WebServiceException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import junit.framework.TestCase;
+
+public class HedgingTubeTest extends TestCase {
+
+    private static final QName OPERATION = new QName("urn:test", "getCountry");
+
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger aborted = new AtomicInteger();
+    private final AtomicInteger discarded = new AtomicInteger();
+    private final AtomicInteger copies = new AtomicInteger();
+    // delay of each request in milliseconds, negative to fail it
+    private volatile IntUnaryOperator delays = i -> 0;
+    // whether the terminal tube can be aborted through ExchangeCancellation
+    private volatile boolean abortable = true;
+    private HedgingTube tube;
+    private ExecutorService executor;
+    private Engine engine;
+
+    @Override
+    protected void setUp() {
+        tube = new HedgingTube(new HedgingFeature(new String[] {"getCountry"}, 90, 2), Container.NONE, new Terminal());
+        executor = Executors.newCachedThreadPool();
+        engine = new Engine("test", executor);
+    }
+
+    @Override
+    protected void tearDown() {
+        executor.shutdownNow();
+    }
+
+    public void testRetry() throws Exception {
+        delays = i -> i < 2 ? -1 : 0;
+        assertEquals("France", call(null));
+        assertEquals(3, sent.get());
+    }
+
+    public void testRetriesAreBounded() throws Exception {
+        delays = i -> -1;
+        try {
+            call(null);
+            fail();
+        } catch (WebServiceException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(3, sent.get());
+    }
+
+    public void testHedge() throws Exception {
+        for (int i = 0; i < 64; i++) {
+            assertEquals("France", call(null));
+        }
+        // the first request gets stuck, the hedged one answers
+        sent.set(0);
+        delays = i -> i == 0 ? 10000 : 0;
+        long start = System.nanoTime();
+        assertEquals("France", call(null));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(2, sent.get());
+    }
+
+    public void testLosersAreAborted() throws Exception {
+        Tube tubeline = TubeCloner.clone(tube);
+        for (int i = 0; i < 64; i++) {
+            assertEquals("France", call(tubeline, null));
+        }
+        int made = copies.get();
+        for (int i = 0; i < 3; i++) {
+            sent.set(0);
+            delays = n -> n == 0 ? 10000 : 0;
+            assertEquals("France", call(tubeline, null));
+            // the slow attempt is aborted, and its tubes are used again
+            await(aborted, i + 1);
+        }
+        // the hedged attempts don't need a copy of the next tube each
+        assertTrue(copies.get() - made <= 1);
+    }
+
+    public void testLoserResponsesAreRead() throws Exception {
+        for (int i = 0; i < 64; i++) {
+            assertEquals("France", call(null));
+        }
+        abortable = false;
+        sent.set(0);
+        discarded.set(0);
+        delays = n -> n == 0 ? 300 : 0;
+        assertEquals("France", call(null));
+        // the slow attempt answers anyway
+        await(discarded, 1);
+        assertEquals(0, aborted.get());
+    }
+
+    public void testAttemptsHaveTheirOwnProperties() throws Exception {
+        for (int i = 0; i < 64; i++) {
+            assertEquals("France", call(null));
+        }
+        sent.set(0);
+        delays = n -> n == 0 ? 10000 : 0;
+        Packet request = request(null);
+        request.invocationProperties.put("attempt", "caller");
+        engine.createFiber().runSync(TubeCloner.clone(tube), request);
+        assertEquals("caller", request.invocationProperties.get("attempt"));
+    }
+
+    public void testDeadline() throws Exception {
+        delays = i -> 10000;
+        long start = System.nanoTime();
+        try {
+            call(200);
+            fail();
+        } catch (ClientTransportException e) {
+            // expected
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    private String call(Integer timeout) throws Exception {
+        return call(TubeCloner.clone(tube), timeout);
+    }
+
+    private String call(Tube tubeline, Integer timeout) throws Exception {
+        Packet response = engine.createFiber().runSync(tubeline, request(timeout));
+        return response.getMessage().readPayload().getElementText();
+    }
+
+    private Packet request(Integer timeout) {
+        Packet request = new Packet(Messages.createUsingPayload(new StreamSource(new StringReader(
+                "<getCountry xmlns='urn:test'><code>FR</code></getCountry>")), SOAPVersion.SOAP_11));
+        request.setWSDLOperation(OPERATION);
+        if (timeout != null) {
+            request.invocationProperties.put(BindingProviderProperties.REQUEST_TIMEOUT, timeout);
+        }
+        return request;
+    }
+
+    private static void await(AtomicInteger counter, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (counter.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, counter.get());
+    }
+
+    private class Terminal extends AbstractTubeImpl {
+        Terminal() {
+        }
+
+        Terminal(Terminal that, TubeCloner cloner) {
+            super(that, cloner);
+            copies.incrementAndGet();
+        }
+
+        @Override
+        public NextAction processRequest(Packet request) {
+            int delay = delays.applyAsInt(sent.getAndIncrement());
+            // tubes of other attempts see properties of their own
+            request.invocationProperties.put("attempt", sent.get());
+            if (delay < 0) {
+                return doThrow(new WebServiceException(new IOException("Connection refused")));
+            }
+            // the exchange is aborted by closing its connection, like the HTTP transport does
+            CountDownLatch connection = new CountDownLatch(1);
+            ExchangeCancellation cancellation = request.getSatellite(ExchangeCancellation.class);
+            if (abortable) {
+                cancellation.onCancel(connection::countDown);
+            }
+            try {
+                if (connection.await(delay, TimeUnit.MILLISECONDS)) {
+                    if (delay > 0) {
+                        aborted.incrementAndGet();
+                    }
+                    return doThrow(new WebServiceException(new IOException("Connection closed")));
+                }
+            } catch (InterruptedException e) {
+                return doThrow(new WebServiceException(e));
+            } finally {
+                cancellation.done();
+            }
+            return doReturnWith(request.createClientResponse(new FilterMessageImpl(Messages.createUsingPayload(
+                    new StreamSource(new StringReader("<getCountryResponse xmlns='urn:test'>France</getCountryResponse>")),
+                    SOAPVersion.SOAP_11)) {
+                @Override
+                public void consume() {
+                    discarded.incrementAndGet();
+                    super.consume();
+                }
+            }));
+        }
+
+        @Override
+        public NextAction processResponse(Packet response) {
+            return doReturnWith(response);
+        }
+
+        @Override
+        public NextAction processException(Throwable t) {
+            return doThrow(t);
+        }
+
+        @Override
+        public void preDestroy() {
+        }
+
+        @Override
+        public Terminal copy(TubeCloner cloner) {
+            return new Terminal(this, cloner);
+        }
+    }
+}
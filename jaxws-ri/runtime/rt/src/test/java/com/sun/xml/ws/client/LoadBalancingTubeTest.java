@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.xml.ws.api.EndpointAddress;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.developer.LoadBalancingFeature;
+
+import jakarta.xml.ws.WebServiceException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import junit.framework.TestCase;
+
+public class LoadBalancingTubeTest extends TestCase {
+
+    private static final String A = "http://a.example.com/service";
+    private static final String B = "http://b.example.com/service";
+
+    private LoadBalancingTube tube;
+
+    @Override
+    protected void setUp() {
+        tube = new LoadBalancingTube(new LoadBalancingFeature(new String[] {A, B},
+                LoadBalancingFeature.Policy.LEAST_OUTSTANDING, 2, 60), null);
+    }
+
+    public void testSpread() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            Packet request = new Packet();
+            tube.processRequest(request);
+            counts.merge(request.endpointAddress.toString(), 1, Integer::sum);
+            tube.processResponse(request.createClientResponse(null));
+        }
+        assertTrue(counts.get(A) > 10);
+        assertTrue(counts.get(B) > 10);
+    }
+
+    public void testLeastOutstanding() {
+        // a request to one address is on its way
+        LoadBalancingTube busy = (LoadBalancingTube) TubeCloner.clone(tube);
+        Packet pending = new Packet();
+        busy.processRequest(pending);
+        String other = A.equals(pending.endpointAddress.toString()) ? B : A;
+        for (int i = 0; i < 20; i++) {
+            Packet request = new Packet();
+            tube.processRequest(request);
+            assertEquals(other, request.endpointAddress.toString());
+            tube.processResponse(request.createClientResponse(null));
+        }
+    }
+
+    public void testEjection() {
+        int failures = 0;
+        for (int i = 0; i < 100; i++) {
+            Packet request = new Packet();
+            tube.processRequest(request);
+            if (B.equals(request.endpointAddress.toString())) {
+                failures++;
+                tube.processException(new WebServiceException(new IOException("Connection refused")));
+            } else {
+                tube.processResponse(request.createClientResponse(null));
+            }
+        }
+        assertEquals(2, failures);
+    }
+
+    public void testEwma() throws Exception {
+        LoadBalancingTube ewma = new LoadBalancingTube(new LoadBalancingFeature(new String[] {A, B},
+                LoadBalancingFeature.Policy.EWMA, 2, 60), null);
+        int slow = 0;
+        for (int i = 0; i < 20; i++) {
+            Packet request = new Packet();
+            ewma.processRequest(request);
+            if (A.equals(request.endpointAddress.toString())) {
+                slow++;
+                Thread.sleep(20);
+            }
+            ewma.processResponse(request.createClientResponse(null));
+        }
+        // the slow address only gets the request that told it apart
+        assertTrue(slow <= 1);
+    }
+
+    public void testRampUp() {
+        long t = 1000;
+        LoadBalancingTube.Instance instance = new LoadBalancingTube.Instance(EndpointAddress.create(A), 2, t);
+        assertEquals(1.0, instance.weight(0, t));
+        instance.failed(0);
+        instance.failed(0);
+        assertTrue(instance.isEjected(t - 1));
+        assertEquals(0.0, instance.weight(t - 1, t));
+        assertFalse(instance.isEjected(t));
+        assertEquals(0.0, instance.weight(t, t));
+        assertEquals(0.5, instance.weight(t + t / 2, t));
+        assertEquals(1.0, instance.weight(2 * t, t));
+    }
+
+    public void testEjectionTimeGrows() {
+        long t = 1000;
+        // back long ago for the success below
+        long now = System.nanoTime() - 1000 * t;
+        LoadBalancingTube.Instance instance = new LoadBalancingTube.Instance(EndpointAddress.create(A), 1, t);
+        for (int i = 1; i <= 12; i++) {
+            instance.failed(now);
+            // failing again while ramping up leaves it out for longer, up to 10 times
+            long ejection = Math.min(i, 10) * t;
+            assertTrue(instance.isEjected(now + ejection - 1));
+            assertFalse(instance.isEjected(now + ejection));
+            now += ejection;
+        }
+        // fully back, the next ejection is the first one again
+        instance.succeeded(1);
+        instance.failed(now);
+        assertTrue(instance.isEjected(now + t - 1));
+        assertFalse(instance.isEjected(now + t));
+    }
+}
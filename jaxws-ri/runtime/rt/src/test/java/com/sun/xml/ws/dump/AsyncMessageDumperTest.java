@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.dump;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.commons.xmlutil.Converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+import junit.framework.TestCase;
+
+public class AsyncMessageDumperTest extends TestCase {
+
+    public void testSample() {
+        int rate = AsyncMessageDumper.sampleRate;
+        try {
+            AsyncMessageDumper.setSampleRate(4);
+            int sampled = 0;
+            for (int i = 0; i < 40; i++) {
+                if (AsyncMessageDumper.sample()) {
+                    sampled++;
+                }
+            }
+            assertEquals(10, sampled);
+        } finally {
+            AsyncMessageDumper.setSampleRate(rate);
+        }
+    }
+
+    public void testSampleOncePerExchange() {
+        int rate = AsyncMessageDumper.sampleRate;
+        try {
+            AsyncMessageDumper.setSampleRate(2);
+            int sampled = 0;
+            for (int i = 0; i < 10; i++) {
+                Packet request = new Packet();
+                boolean dumped = AsyncMessageDumper.sample(request);
+                // the response gets the decision of its request
+                assertEquals(dumped, AsyncMessageDumper.sample(request.createClientResponse(null)));
+                // nor does it show in the message context
+                assertTrue(request.invocationProperties.isEmpty());
+                if (dumped) {
+                    sampled++;
+                }
+            }
+            assertEquals(5, sampled);
+        } finally {
+            AsyncMessageDumper.setSampleRate(rate);
+        }
+    }
+
+    public void testCaptureInput() throws Exception {
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        BlockingQueue<Object[]> dumps = new ArrayBlockingQueue<>(1);
+        InputStream in = AsyncMessageDumper.capture(new ByteArrayInputStream(data), 10,
+                (b, length, truncated) -> dumps.add(new Object[] {b, length, truncated}));
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        byte[] buf = new byte[7];
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            read.write(buf, 0, n);
+        }
+        in.close();
+        // the stream is passed through as is
+        assertEquals(100, read.size());
+
+        Object[] dump = dumps.poll(10, TimeUnit.SECONDS);
+        assertNotNull(dump);
+        assertEquals(10, dump[1]);
+        assertEquals(Boolean.TRUE, dump[2]);
+        assertEquals(9, ((byte[]) dump[0])[9]);
+        // dumped once only
+        assertNull(dumps.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    public void testCaptureOutput() throws Exception {
+        BlockingQueue<Object[]> dumps = new ArrayBlockingQueue<>(1);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream out = AsyncMessageDumper.capture(written, 10,
+                (b, length, truncated) -> dumps.add(new Object[] {new String(b, 0, length, "UTF-8"), truncated}));
+        out.write("<a>".getBytes("UTF-8"));
+        out.write('b');
+        out.write("</a>".getBytes("UTF-8"));
+        assertNull(dumps.poll(100, TimeUnit.MILLISECONDS));
+        out.close();
+
+        assertEquals("<a>b</a>", written.toString("UTF-8"));
+        Object[] dump = dumps.poll(10, TimeUnit.SECONDS);
+        assertNotNull(dump);
+        assertEquals("<a>b</a>", dump[0]);
+        assertEquals(Boolean.FALSE, dump[1]);
+    }
+
+    public void testDropWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        assertTrue(AsyncMessageDumper.submit(() -> {
+            running.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+            long dropped = AsyncMessageDumper.getDroppedCount();
+            for (int i = 0; i < AsyncMessageDumper.queueSize; i++) {
+                assertTrue(AsyncMessageDumper.submit(() -> { }));
+            }
+            assertFalse(AsyncMessageDumper.submit(() -> { }));
+            assertEquals(dropped + 1, AsyncMessageDumper.getDroppedCount());
+        } finally {
+            release.countDown();
+        }
+        // leave room in the queue for the dumps of the other tests
+        CountDownLatch drained = new CountDownLatch(1);
+        while (!AsyncMessageDumper.submit(drained::countDown)) {
+            Thread.sleep(10);
+        }
+        assertTrue(drained.await(10, TimeUnit.SECONDS));
+    }
+
+    public void testBoundedToString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("<item>").append(i).append("</item>");
+        }
+        Packet packet = new Packet(Messages.createUsingPayload(
+                new StreamSource(new StringReader("<list>" + sb + "</list>")),
+                SOAPVersion.SOAP_11));
+        String full = Converter.toString(packet);
+        String bounded = Converter.toString(packet, 200);
+        assertTrue(full.length() > 10000);
+        assertTrue(bounded.endsWith("..."));
+        assertTrue(bounded.length() < 220);
+        assertTrue(full.startsWith(bounded.substring(0, 200)));
+        // the message of the packet is still there
+        assertTrue(packet.getMessage().hasPayload());
+        assertEquals(new QName("", "list"), new QName(packet.getMessage().getPayloadNamespaceURI(), packet.getMessage().getPayloadLocalPart()));
+    }
+}
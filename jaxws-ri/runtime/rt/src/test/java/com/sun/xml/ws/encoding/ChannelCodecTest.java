@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.encoding;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codec;
+import com.sun.xml.ws.binding.WebServiceFeatureList;
+import com.sun.xml.ws.util.ChannelInputStream;
+import com.sun.xml.ws.util.ChannelOutputStream;
+
+import jakarta.activation.DataHandler;
+import jakarta.activation.FileDataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.Arrays;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import junit.framework.TestCase;
+
+/**
+ * Tests the {@link java.nio.channels.WritableByteChannel} and
+ * {@link java.nio.channels.ReadableByteChannel} paths of the codecs.
+ */
+public class ChannelCodecTest extends TestCase {
+
+    private static final String PAYLOAD = "<echo xmlns=\"http://example.org/\"><arg>hello</arg></echo>";
+
+    public void testStreamSOAPCodecRoundTrip() throws Exception {
+        Codec codec = StreamSOAPCodec.create(SOAPVersion.SOAP_11);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Packet packet = new Packet(createMessage());
+        codec.encode(packet, Channels.newChannel(baos));
+        assertTrue(baos.toString("UTF-8").contains("<arg>hello</arg>"));
+
+        Packet decoded = new Packet();
+        codec.decode(Channels.newChannel(new ByteArrayInputStream(baos.toByteArray())),
+                "text/xml; charset=utf-8", decoded);
+        Message msg = decoded.getMessage();
+        assertEquals("echo", msg.getPayloadLocalPart());
+        assertEquals("http://example.org/", msg.getPayloadNamespaceURI());
+    }
+
+    public void testSwACodecEncode() throws Exception {
+        Codec codec = new SwACodec(SOAPVersion.SOAP_11, new WebServiceFeatureList(),
+                StreamSOAPCodec.create(SOAPVersion.SOAP_11));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        codec.encode(new Packet(createMessage()), Channels.newChannel(baos));
+        assertTrue(baos.toString("UTF-8").contains("<arg>hello</arg>"));
+    }
+
+    public void testChannelStreams() throws Exception {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ChannelOutputStream out = new ChannelOutputStream(Channels.newChannel(baos))) {
+            out.write(data, 0, 10);
+            out.write(data[10]);
+            out.write(data, 11, 50000);
+            for (int i = 50011; i < 60000; i++) {
+                out.write(data[i]);
+            }
+            out.write(data, 60000, data.length - 60000);
+        }
+        assertTrue(Arrays.equals(data, baos.toByteArray()));
+
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (InputStream in = new ChannelInputStream(Channels.newChannel(new ByteArrayInputStream(data)))) {
+            byte[] buf = new byte[3000];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                read.write(buf, 0, len);
+            }
+            assertEquals(-1, in.read());
+        }
+        assertTrue(Arrays.equals(data, read.toByteArray()));
+    }
+
+    public void testMtomFileAttachment() throws Exception {
+        byte[] data = new byte[50000];
+        Arrays.fill(data, (byte) 'x');
+        File file = File.createTempFile("jaxws", ".bin");
+        try {
+            Files.write(file.toPath(), data);
+            MtomCodec.ByteArrayBuffer att = new MtomCodec.ByteArrayBuffer(
+                    new DataHandler(new FileDataSource(file)), "boundary");
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ChannelOutputStream out = new ChannelOutputStream(Channels.newChannel(baos))) {
+                att.write(out);
+            }
+            String written = baos.toString("UTF-8");
+            assertTrue(written.startsWith("--boundary\r\n"));
+            assertTrue(written.contains("\r\n\r\n" + new String(data, "UTF-8") + "\r\n"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static Message createMessage() throws Exception {
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(
+                new ByteArrayInputStream(PAYLOAD.getBytes("UTF-8")));
+        return Messages.createUsingPayload(reader, SOAPVersion.SOAP_11);
+    }
+}
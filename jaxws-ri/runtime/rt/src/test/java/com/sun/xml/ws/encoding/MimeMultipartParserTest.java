@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.encoding;
+
+import com.sun.xml.ws.api.message.Attachment;
+import com.sun.xml.ws.developer.StreamingAttachmentFeature;
+import com.sun.xml.ws.util.ChannelOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+/**
+ * Tests memory mapped attachment parts of {@link MimeMultipartParser}.
+ */
+public class MimeMultipartParserTest extends TestCase {
+
+    private static final String CONTENT_TYPE =
+            "multipart/related; type=\"text/xml\"; boundary=\"uuid:boundary\"";
+
+    public void testMemoryMappedAttachment() throws Exception {
+        byte[] data = new byte[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + i % 26);
+        }
+        StreamingAttachmentFeature feature = new StreamingAttachmentFeature(null, false, 1024L, true);
+        MimeMultipartParser parser = new MimeMultipartParser(
+                new ByteArrayInputStream(createMessage(data)), CONTENT_TYPE, feature);
+
+        Attachment att = parser.getAttachmentPart("att");
+        assertNotNull(att);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ChannelOutputStream out = new ChannelOutputStream(Channels.newChannel(baos))) {
+            att.writeTo(out);
+        }
+        assertTrue(Arrays.equals(data, baos.toByteArray()));
+
+        baos.reset();
+        try (InputStream in = att.asInputStream()) {
+            byte[] buf = new byte[4096];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                baos.write(buf, 0, len);
+            }
+        }
+        assertTrue(Arrays.equals(data, baos.toByteArray()));
+        assertTrue(Arrays.equals(data, att.asByteArray()));
+    }
+
+    private static byte[] createMessage(byte[] data) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(("--uuid:boundary\r\n"
+                + "Content-Type: text/xml\r\n"
+                + "Content-Id: <root>\r\n\r\n"
+                + "<Envelope/>\r\n"
+                + "--uuid:boundary\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "Content-Id: <att>\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        baos.write(data);
+        baos.write("\r\n--uuid:boundary--\r\n".getBytes(StandardCharsets.US_ASCII));
+        return baos.toByteArray();
+    }
+}
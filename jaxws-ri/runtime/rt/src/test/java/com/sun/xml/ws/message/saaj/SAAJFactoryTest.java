@@ -25,7 +25,9 @@ import jakarta.xml.soap.MimeHeader;
 import jakarta.xml.soap.SOAPElement;
 import jakarta.xml.soap.SOAPMessage;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -34,6 +36,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
 import com.oracle.webservices.api.message.MessageContextFactory;
+import com.sun.xml.messaging.saaj.soap.LazyEnvelope;
 
 import com.sun.xml.ws.api.BindingID;
 import com.sun.xml.ws.api.SOAPVersion;
@@ -285,6 +288,41 @@ public class SAAJFactoryTest extends TestCase {
         }
     }
 
+    public void testReadAsLazySOAPMessage() throws Exception {
+        SOAPMessage soapMessage = new SAAJFactory().readAsLazySOAPMessage(SOAPVersion.SOAP_11, lazyTestMessage());
+        assertEquals("abc", soapMessage.getSOAPHeader().getFirstChild().getTextContent());
+        assertTrue(((LazyEnvelope) soapMessage.getSOAPPart().getEnvelope()).isLazy());
+
+        // headers are read and the body is streamed without being parsed
+        SAAJMessage message = new SAAJMessage(soapMessage);
+        assertEquals(1, message.getHeaders().asList().size());
+        assertEquals("echo", message.getPayloadLocalPart());
+        assertEquals("http://sample.ex.org/", message.getPayloadNamespaceURI());
+        StringWriter out = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        message.writeTo(writer);
+        writer.close();
+        assertTrue(((LazyEnvelope) soapMessage.getSOAPPart().getEnvelope()).isLazy());
+        assertTrue(out.toString(), out.toString().contains(">abc</id></s:Header>"));
+        assertTrue(out.toString(), out.toString().contains("<arg>hello</arg></echo></s:Body></s:Envelope>"));
+
+        // the body is parsed once it is accessed
+        soapMessage = new SAAJFactory().readAsLazySOAPMessage(SOAPVersion.SOAP_11, lazyTestMessage());
+        SOAPElement echo = (SOAPElement) soapMessage.getSOAPBody().getFirstChild();
+        assertFalse(((LazyEnvelope) soapMessage.getSOAPPart().getEnvelope()).isLazy());
+        assertEquals("echo", echo.getLocalName());
+        assertEquals("hello", echo.getFirstChild().getTextContent());
+    }
+
+    private StreamMessage lazyTestMessage() throws Exception {
+        XMLStreamReader envelope = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(
+                "<s:Envelope xmlns:s=\"http://schemas.xmlsoap.org/soap/envelope/\">" +
+                "<s:Header><id xmlns=\"urn:test\">abc</id></s:Header>" +
+                "<s:Body><echo xmlns=\"http://sample.ex.org/\"><arg>hello</arg></echo></s:Body>" +
+                "</s:Envelope>"));
+        return new StreamMessage(SOAPVersion.SOAP_11, envelope, null);
+    }
+
     private XMLInputFactory getBuiltInJdkXmlInputFactory() {
         final String factoryId = "test.only.xml.input.factory.class.name";
         final String className = "com.sun.xml.internal.stream.XMLInputFactoryImpl";
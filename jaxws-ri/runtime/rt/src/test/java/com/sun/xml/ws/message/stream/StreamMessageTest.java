@@ -119,6 +119,29 @@ public class StreamMessageTest extends TestCase {
         message.copy();
     }
 
+    public void testRepeatedCopies() throws Exception {
+        String msg = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'> <S:Header> <a> </a> </S:Header> <S:Body> <p:c xmlns:p='urn:p'><d>text</d></p:c> </S:Body> </S:Envelope>";
+        Message message = useStreamCodec(msg);
+        Message copy1 = message.copy();
+        Message copy2 = message.copy();
+        Message copy3 = copy1.copy();
+        String expected = null;
+        for (Message m : new Message[] {copy3, copy2, copy1, message}) {
+            assertEquals("c", m.getPayloadLocalPart());
+            assertEquals(1, m.getHeaders().asList().size());
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            Transformer t = TransformerFactory.newInstance().newTransformer();
+            t.setOutputProperty("omit-xml-declaration", "yes");
+            t.transform(m.readPayloadAsSource(), new StreamResult(baos));
+            String payload = baos.toString("UTF-8");
+            assertTrue(payload, payload.endsWith("><d>text</d></p:c>"));
+            if (expected == null) {
+                expected = payload;
+            }
+            assertEquals(expected, payload);
+        }
+    }
+
     /*
      * Test for the following exception. Bug in StreamMessage.copy() code
      * java.lang.IllegalArgumentException: faultCode argument for createFault was passed NULL
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.server;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.developer.ResponseCacheFeature;
+import com.sun.xml.ws.util.ResponseCacheImpl;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import junit.framework.TestCase;
+
+public class ResponseCacheTubeTest extends TestCase {
+
+    private static final QName OPERATION = new QName("urn:test", "getCountry");
+
+    private WSBinding binding;
+    private ResponseCacheImpl cache;
+    private ResponseCacheTube tube;
+
+    @Override
+    protected void setUp() {
+        ResponseCacheFeature feature = new ResponseCacheFeature(
+                new String[] {"getCountry"}, 60, 2, 1024 * 1024, new String[0]);
+        binding = ((BindingID) BindingID.SOAP11_HTTP).createBinding(feature);
+        cache = new ResponseCacheImpl(feature);
+        tube = new ResponseCacheTube(cache, binding, null, null, null);
+    }
+
+    public void testReplay() throws Exception {
+        Packet request = request("<getCountry xmlns='urn:test'><code>FR</code></getCountry>");
+        NextAction action = tube.processRequest(request);
+        assertEquals("INVOKE", action.getKindString());
+        tube.processResponse(request.createServerResponse(
+                payload("<getCountryResponse xmlns='urn:test'>France</getCountryResponse>"), null, null, binding));
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(1, cache.getMissCount());
+
+        // formatted differently, but the same payload
+        request = request("<t:getCountry xmlns:t=\"urn:test\"><t:code>FR</t:code></t:getCountry>");
+        action = tube.processRequest(request);
+        assertEquals("RETURN", action.getKindString());
+        assertEquals(1, cache.getHitCount());
+        Message response = action.getPacket().getMessage();
+        assertEquals("getCountryResponse", response.getPayloadLocalPart());
+        assertEquals("France", response.readPayload().getElementText());
+
+        // and again, the cached response is not consumed
+        action = tube.processRequest(request("<getCountry xmlns='urn:test'><code>FR</code></getCountry>"));
+        assertEquals("RETURN", action.getKindString());
+
+        action = tube.processRequest(request("<getCountry xmlns='urn:test'><code>DE</code></getCountry>"));
+        assertEquals("INVOKE", action.getKindString());
+    }
+
+    public void testFaultsAreNotCached() {
+        Packet request = request("<getCountry xmlns='urn:test'><code>XX</code></getCountry>");
+        tube.processRequest(request);
+        Message fault = com.sun.xml.ws.fault.SOAPFaultBuilder.createSOAPFaultMessage(
+                SOAPVersion.SOAP_11, "unknown", new QName("http://schemas.xmlsoap.org/soap/envelope/", "Client"));
+        tube.processResponse(request.createServerResponse(fault, null, null, binding));
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    public void testEviction() {
+        for (String code : new String[] {"FR", "DE", "IT"}) {
+            Packet request = request("<getCountry xmlns='urn:test'><code>" + code + "</code></getCountry>");
+            tube.processRequest(request);
+            tube.processResponse(request.createServerResponse(
+                    payload("<getCountryResponse xmlns='urn:test'>" + code + "</getCountryResponse>"), null, null, binding));
+        }
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(1, cache.getEvictionCount());
+        NextAction action = tube.processRequest(request("<getCountry xmlns='urn:test'><code>FR</code></getCountry>"));
+        assertEquals("INVOKE", action.getKindString());
+    }
+
+    private static Packet request(String payload) {
+        Packet p = new Packet(payload(payload));
+        p.setWSDLOperation(OPERATION);
+        return p;
+    }
+
+    private static Message payload(String payload) {
+        return Messages.createUsingPayload(new StreamSource(new StringReader(payload)), SOAPVersion.SOAP_11);
+    }
+}
@@ -66,6 +66,72 @@ public class JAXBWrapperAccessorTest  extends TestCase {
             }
         }
     }
+
+    public void testPropertyAccessors() throws Exception {
+        JAXBWrapperAccessor accessor = new JAXBWrapperAccessor(Wrapper.class);
+        PropertyAccessor<Object, Object> count = property(accessor, "count");
+        PropertyAccessor<Object, Object> name = property(accessor, "name");
+        // getter and setter don't match the field's type, so the field is used
+        PropertyAccessor<Object, Object> total = property(accessor, "total");
+        PropertyAccessor<Object, Object> items = property(accessor, "items");
+        Wrapper w = new Wrapper();
+        // twice, as private fields switch to a handle after the first access
+        for (int i = 0; i < 2; i++) {
+            count.set(w, 3 + i);
+            name.set(w, "n" + i);
+            total.set(w, 7 + i);
+            assertEquals(3 + i, count.get(w));
+            assertEquals("n" + i, name.get(w));
+            assertEquals(7 + i, total.get(w));
+            assertEquals(Integer.valueOf(7 + i), w.total);
+        }
+        assertNotNull(((FieldGetter) accessor.getPropertyGetter(new QName("total"))).handle);
+        assertNotNull(((FieldSetter) accessor.getPropertySetter(new QName("total"))).handle);
+        count.set(w, null);
+        assertEquals(0, w.getCount());
+        assertTrue(((List<?>) items.get(w)).isEmpty());
+
+        MethodGetter getter = new MethodGetter(Wrapper.class.getMethod("getCount"));
+        assertEquals(0, getter.get(w));
+        try {
+            getter.get("not a wrapper");
+            fail();
+        } catch (WebServiceException e) {
+        }
+    }
+
+    // WrapperAccessor hands out raw accessors
+    @SuppressWarnings("unchecked")
+    private static PropertyAccessor<Object, Object> property(WrapperAccessor accessor, String name) {
+        return accessor.getPropertyAccessor("", name);
+    }
+
+    public static class Wrapper {
+        private int count;
+        public String name;
+        private Integer total;
+        private List<String> items;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public void setTotal(int total) {
+            this.total = total;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+    }
     
 @XmlAccessorType(XmlAccessType.FIELD)
 class HelloRequest {
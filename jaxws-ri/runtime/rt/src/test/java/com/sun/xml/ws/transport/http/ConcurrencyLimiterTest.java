@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import com.sun.xml.ws.developer.ConcurrencyLimitFeature;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import junit.framework.TestCase;
+
+public class ConcurrencyLimiterTest extends TestCase {
+
+    public void testRejectsOverLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 1, 10, Collections.emptyMap());
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(limiter.acquire(100));
+        }
+        assertNull(limiter.acquire(100));
+        assertEquals(1, limiter.getRejectedCount());
+
+        ConcurrencyLimiter.Permit p = permits.remove(0);
+        p.release();
+        p.release();
+        assertEquals(3, limiter.getInFlight());
+        assertNotNull(limiter.acquire(100));
+    }
+
+    public void testPriorities() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 10, Collections.emptyMap());
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.acquire(50));
+        }
+        assertNull(limiter.acquire(50));
+        assertNotNull(limiter.acquire(100));
+    }
+
+    public void testAdaptsToLatency() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 5, 100, Collections.emptyMap());
+        for (int i = 0; i < 50; i++) {
+            limiter.update(1_000_000, 20);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.update(10_000_000, grown);
+        }
+        assertTrue(limiter.getLimit() < grown);
+        assertTrue(limiter.getLimit() >= 5);
+
+        // an idle endpoint doesn't grow the limit
+        int limit = limiter.getLimit();
+        limiter.update(1, 0);
+        assertEquals(limit, limiter.getLimit());
+    }
+
+    public void testFeature() {
+        ConcurrencyLimitFeature f = new ConcurrencyLimitFeature(10, 2, 50, new String[] {"audit = 30"});
+        assertEquals(30, f.getPriority("audit"));
+        assertEquals(ConcurrencyLimitFeature.DEFAULT_PRIORITY, f.getPriority("quote"));
+        try {
+            new ConcurrencyLimitFeature(10, 2, 50, new String[] {"audit"});
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
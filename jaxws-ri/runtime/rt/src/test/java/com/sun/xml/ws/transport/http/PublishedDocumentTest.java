@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import junit.framework.TestCase;
+
+public class PublishedDocumentTest extends TestCase {
+
+    private static final byte[] WSDL = "<definitions/>".getBytes(StandardCharsets.UTF_8);
+
+    public void testConditionalRequests() {
+        PublishedDocument doc = new PublishedDocument(WSDL, 1_000_000_500L);
+        String etag = doc.getETag();
+        assertEquals("Mon, 12 Jan 1970 13:46:40 GMT", doc.getLastModified());
+
+        assertFalse(doc.isNotModified(null, null));
+        assertTrue(doc.isNotModified(etag, null));
+        assertTrue(doc.isNotModified("\"other\", W/" + etag, null));
+        assertTrue(doc.isNotModified("*", null));
+        assertFalse(doc.isNotModified("\"other\"", doc.getLastModified()));
+
+        assertTrue(doc.isNotModified(null, doc.getLastModified()));
+        assertTrue(doc.isNotModified(null, "Tue, 13 Jan 1970 00:00:00 GMT"));
+        assertFalse(doc.isNotModified(null, "Mon, 12 Jan 1970 13:46:39 GMT"));
+        assertFalse(doc.isNotModified(null, "yesterday"));
+
+        assertFalse(etag.equals(new PublishedDocument("<other/>".getBytes(StandardCharsets.UTF_8), 0).getETag()));
+    }
+
+    public void testGzip() throws Exception {
+        assertTrue(PublishedDocument.acceptsGzip("gzip, deflate"));
+        assertTrue(PublishedDocument.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertFalse(PublishedDocument.acceptsGzip("gzip;q=0"));
+        assertFalse(PublishedDocument.acceptsGzip("identity"));
+        assertFalse(PublishedDocument.acceptsGzip(null));
+
+        PublishedDocument doc = new PublishedDocument(WSDL, 0);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(doc.getGzipped()))) {
+            in.transferTo(baos);
+        }
+        assertEquals("<definitions/>", baos.toString("UTF-8"));
+        assertSame(doc.getGzipped(), doc.getGzipped());
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http.client;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import com.sun.istack.NotNull;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.EndpointAddress;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.Engine;
+import com.sun.xml.ws.api.pipe.Fiber;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.client.BindingProviderProperties;
+import com.sun.xml.ws.client.ClientTransportException;
+import com.sun.xml.ws.developer.AsyncHttpTransportFeature;
+import com.sun.xml.ws.developer.HttpConnectionPoolFeature;
+import com.sun.xml.ws.developer.WSBindingProvider;
+
+import jakarta.xml.ws.WebServiceFeature;
+import junit.framework.TestCase;
+
+public class AsyncHttpTransportPipeTest extends TestCase {
+
+    private static final String RESPONSE =
+            "<S:Envelope xmlns:S=\"http://schemas.xmlsoap.org/soap/envelope/\">" +
+            "<S:Body><echoResponse xmlns=\"urn:test\">hello</echoResponse></S:Body></S:Envelope>";
+
+    private HttpServer server;
+    private volatile String receivedSOAPAction;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService executor;
+
+    @Override
+    protected void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            receivedSOAPAction = exchange.getRequestHeaders().getFirst("SOAPAction");
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/xml; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        release.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public void testAsyncExchange() throws Exception {
+        SimpleCompletionCallback callback = invoke("/echo");
+
+        assertNull(callback.error);
+        assertNotNull(callback.response);
+        assertEquals("echoResponse", callback.response.getMessage().getPayloadLocalPart());
+        assertEquals("\"\"", receivedSOAPAction);
+    }
+
+    public void testStatusCodeIsReported() throws Exception {
+        SimpleCompletionCallback callback = invoke("/missing");
+
+        assertNull(callback.response);
+        assertTrue(callback.error instanceof ClientTransportException);
+    }
+
+    public void testConnectionPool() throws Exception {
+        HttpConnectionPoolFeature feature = new HttpConnectionPoolFeature(HttpClient.Version.HTTP_1_1, 1, 5000);
+        HttpConnectionPool pool = feature.getConnectionPool();
+        assertSame(pool, new HttpConnectionPoolFeature(HttpClient.Version.HTTP_1_1, 1, 5000).getConnectionPool());
+        long sent = pool.getRequestCount();
+
+        SimpleCompletionCallback[] callbacks = new SimpleCompletionCallback[5];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = start("/echo", feature);
+        }
+        for (SimpleCompletionCallback callback : callbacks) {
+            assertTrue(callback.done.await(10, TimeUnit.SECONDS));
+            assertNull(callback.error);
+            assertEquals("echoResponse", callback.response.getMessage().getPayloadLocalPart());
+        }
+
+        assertEquals(sent + callbacks.length, pool.getRequestCount());
+        for (Integer active : pool.getActiveRequests().values()) {
+            assertEquals(0, active.intValue());
+        }
+        for (Integer queued : pool.getQueuedRequests().values()) {
+            assertEquals(0, queued.intValue());
+        }
+    }
+
+    public void testFactory() throws Exception {
+        HttpClientTransportTubeFactory factory = new HttpClientTransportTubeFactory();
+        EndpointAddress address = new EndpointAddress("http://localhost/echo");
+
+        WSBinding binding = BindingImpl.create(BindingID.SOAP11_HTTP);
+        assertNull(factory.doCreate(context(address, binding)));
+
+        binding = BindingImpl.create(BindingID.SOAP11_HTTP, new WebServiceFeature[] {new HttpConnectionPoolFeature()});
+        assertTrue(factory.doCreate(context(address, binding)) instanceof AsyncHttpTransportPipe);
+    }
+
+    public void testWaitingRequestsAreBounded() throws Exception {
+        HttpConnectionPoolFeature feature = new HttpConnectionPoolFeature(HttpClient.Version.HTTP_1_1, 1, 5000, 1);
+        HttpConnectionPool pool = feature.getConnectionPool();
+        try {
+            SimpleCompletionCallback first = start("/slow", feature, null);
+            waitFor(() -> pool.getActiveRequests().containsValue(1));
+            // the second one waits for the slot of the first one, the third one can't
+            SimpleCompletionCallback second = start("/slow", feature, 500);
+            waitFor(() -> pool.getQueuedRequests().containsValue(1));
+            SimpleCompletionCallback third = start("/slow", feature, null);
+
+            assertTrue(third.done.await(10, TimeUnit.SECONDS));
+            assertTrue(third.error instanceof ClientTransportException);
+            assertTrue(second.done.await(10, TimeUnit.SECONDS));
+            assertTrue(second.error instanceof ClientTransportException);
+            assertEquals(1, first.done.getCount());
+        } finally {
+            release.countDown();
+        }
+        for (Integer queued : pool.getQueuedRequests().values()) {
+            assertEquals(0, queued.intValue());
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static ClientTubeAssemblerContext context(EndpointAddress address, WSBinding binding) {
+        return new ClientTubeAssemblerContext(address, null, (WSBindingProvider) null, binding,
+                Container.NONE, ((BindingImpl) binding).createCodec(), null, null);
+    }
+
+    private SimpleCompletionCallback invoke(String path) throws Exception {
+        SimpleCompletionCallback callback = start(path, new AsyncHttpTransportFeature());
+        assertTrue(callback.done.await(10, TimeUnit.SECONDS));
+        return callback;
+    }
+
+    private SimpleCompletionCallback start(String path, WebServiceFeature feature) throws Exception {
+        return start(path, feature, null);
+    }
+
+    private SimpleCompletionCallback start(String path, WebServiceFeature feature, Integer timeout) throws Exception {
+        WSBinding binding = BindingImpl.create(BindingID.SOAP11_HTTP, new WebServiceFeature[] {feature});
+        AsyncHttpTransportPipe pipe = new AsyncHttpTransportPipe(((BindingImpl) binding).createCodec(), binding);
+
+        Packet request = new Packet(Messages.createEmpty(SOAPVersion.SOAP_11));
+        request.endpointAddress = new EndpointAddress("http://localhost:" + server.getAddress().getPort() + path);
+        if (timeout != null) {
+            request.invocationProperties.put(BindingProviderProperties.REQUEST_TIMEOUT, timeout);
+        }
+
+        SimpleCompletionCallback callback = new SimpleCompletionCallback();
+        Fiber fiber = new Engine("async-http").createFiber();
+        fiber.start(pipe, request, callback);
+        return callback;
+    }
+
+    static class SimpleCompletionCallback implements Fiber.CompletionCallback {
+        volatile Packet response;
+        volatile Throwable error;
+        final CountDownLatch done = new CountDownLatch(1);
+
+        @Override
+        public void onCompletion(@NotNull Packet response) {
+            this.response = response;
+            done.countDown();
+        }
+
+        @Override
+        public void onCompletion(@NotNull Throwable error) {
+            this.error = error;
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import junit.framework.TestCase;
+
+public class CompiledMethodTest extends TestCase {
+
+    public void testInstanceMethod() throws Exception {
+        CompiledMethod cm = CompiledMethod.of(Endpoint.class.getMethod("add", int.class, Integer.class));
+        assertTrue(cm.isCompiled());
+        assertEquals(5, cm.invoke(new Endpoint(), new Object[] {2, 3}));
+        assertSame(cm, CompiledMethod.of(Endpoint.class.getMethod("add", int.class, Integer.class)));
+    }
+
+    public void testStaticAndVoidMethods() throws Exception {
+        CompiledMethod echo = CompiledMethod.of(Endpoint.class.getMethod("echo", String.class));
+        assertTrue(echo.isCompiled());
+        assertEquals("a", echo.invoke(null, new Object[] {"a"}));
+
+        Endpoint e = new Endpoint();
+        CompiledMethod ping = CompiledMethod.of(Endpoint.class.getMethod("ping"));
+        assertNull(ping.invoke(e, null));
+        assertEquals(1, e.pings);
+    }
+
+    public void testException() throws Exception {
+        CompiledMethod cm = CompiledMethod.of(Endpoint.class.getMethod("fail"));
+        try {
+            cm.invoke(new Endpoint(), new Object[0]);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertEquals("failed", e.getCause().getMessage());
+        }
+    }
+
+    public void testRuntimeExceptionOfTheMethod() throws Exception {
+        CompiledMethod cm = CompiledMethod.of(Endpoint.class.getMethod("add", int.class, Integer.class));
+        try {
+            // the method unboxes a null argument itself
+            cm.invoke(new Endpoint(), new Object[] {1, null});
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+        }
+    }
+
+    public void testWrongArguments() throws Exception {
+        CompiledMethod cm = CompiledMethod.of(Endpoint.class.getMethod("add", int.class, Integer.class));
+        assertWrongArguments(cm, new Endpoint(), new Object[] {null, 1}, IllegalArgumentException.class);
+        assertWrongArguments(cm, new Endpoint(), new Object[] {"1", 1}, IllegalArgumentException.class);
+        assertWrongArguments(cm, new Endpoint(), new Object[] {1L, 1}, IllegalArgumentException.class);
+        assertWrongArguments(cm, "endpoint", new Object[] {1, 1}, IllegalArgumentException.class);
+        assertWrongArguments(cm, null, new Object[] {1, 1}, NullPointerException.class);
+        // widened as Method.invoke does
+        assertEquals(5, cm.invoke(new Endpoint(), new Object[] {(short) 2, 3}));
+        assertEquals(5, cm.invoke(new Endpoint(), new Object[] {(char) 2, 3}));
+    }
+
+    private static void assertWrongArguments(CompiledMethod cm, Object target, Object[] args,
+                                             Class<? extends Exception> expected) throws Exception {
+        try {
+            cm.invoke(target, args);
+            fail();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            assertEquals(expected, e.getClass());
+        }
+    }
+
+    public void testNonPublicMethodUsesReflection() throws Exception {
+        Method m = Endpoint.class.getDeclaredMethod("hidden");
+        m.setAccessible(true);
+        CompiledMethod cm = CompiledMethod.of(m);
+        assertFalse(cm.isCompiled());
+        assertEquals("hidden", cm.invoke(new Endpoint(), null));
+    }
+
+    public static class Endpoint {
+        int pings;
+
+        public int add(int a, Integer b) {
+            return a + b;
+        }
+
+        public static String echo(String s) {
+            return s;
+        }
+
+        public void ping() {
+            pings++;
+        }
+
+        public void fail() throws Exception {
+            throw new Exception("failed");
+        }
+
+        private String hidden() {
+            return "hidden";
+        }
+    }
+}
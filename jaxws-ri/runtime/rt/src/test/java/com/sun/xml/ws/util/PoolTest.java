@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import junit.framework.TestCase;
+
+public class PoolTest extends TestCase {
+
+    public void testBoundedPool() {
+        CountingPool pool = new CountingPool(2, false);
+        Object a = pool.take();
+        Object b = pool.take();
+        Object c = pool.take();
+        assertEquals(3, pool.getCreateCount());
+
+        pool.recycle(a);
+        pool.recycle(b);
+        pool.recycle(c);
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(1, pool.getDiscardCount());
+
+        assertSame(a, pool.take());
+        assertSame(b, pool.take());
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(5, pool.getTakeCount());
+        assertEquals(3, pool.getRecycleCount());
+    }
+
+    public void testFill() {
+        CountingPool pool = new CountingPool(4, false);
+        pool.fill(3);
+        assertEquals(3, pool.getIdleCount());
+        assertEquals(3, pool.getCreateCount());
+        pool.fill(10);
+        assertEquals(4, pool.getIdleCount());
+        pool.take();
+        assertEquals(4, pool.getCreateCount());
+    }
+
+    public void testFillInBackground() throws Exception {
+        CountingPool pool = new CountingPool(4, false);
+        pool.fillInBackground(3, null);
+        for (int i = 0; i < 100 && pool.getIdleCount() < 3; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(3, pool.getIdleCount());
+        assertEquals(3, pool.getCreateCount());
+    }
+
+    public void testThreadAffine() throws Exception {
+        final CountingPool pool = new CountingPool(4, true);
+        Object a = pool.take();
+        pool.recycle(a);
+        assertEquals(0, pool.getIdleCount());
+        assertSame(a, pool.take());
+        pool.recycle(a);
+
+        final Object[] other = new Object[1];
+        Thread t = new Thread(() -> other[0] = pool.take());
+        t.start();
+        t.join();
+        assertNotSame(a, other[0]);
+        assertEquals(2, pool.getCreateCount());
+    }
+
+    private static final class CountingPool extends Pool<Object> {
+        CountingPool(int maxIdle, boolean threadAffine) {
+            super(maxIdle, threadAffine);
+        }
+
+        @Override
+        protected Object create() {
+            return new Object();
+        }
+    }
+}
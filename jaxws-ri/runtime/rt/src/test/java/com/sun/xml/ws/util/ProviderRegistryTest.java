@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.util;
+
+import com.sun.xml.ws.api.pipe.TransportTubeFactory;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import junit.framework.TestCase;
+
+public class ProviderRegistryTest extends TestCase {
+
+    public void testProvidersAreCached() {
+        ClassLoader cl = getClass().getClassLoader();
+        ProviderRegistry.invalidate(cl);
+        long lookups = ProviderRegistry.getLookups();
+        long avoided = ProviderRegistry.getLookupsAvoided();
+
+        List<TransportTubeFactory> first = ProviderRegistry.getProviders(TransportTubeFactory.class, cl);
+        assertFalse(first.isEmpty());
+        List<TransportTubeFactory> second = ProviderRegistry.getProviders(TransportTubeFactory.class, cl);
+        assertSame(first, second);
+        assertEquals(lookups + 1, ProviderRegistry.getLookups());
+        assertEquals(avoided + 1, ProviderRegistry.getLookupsAvoided());
+
+        ProviderRegistry.invalidate(cl);
+        List<TransportTubeFactory> third = ProviderRegistry.getProviders(TransportTubeFactory.class, cl);
+        assertNotSame(first, third);
+        assertEquals(first.size(), third.size());
+    }
+
+    public void testServiceFinder() {
+        int found = 0;
+        for (TransportTubeFactory f : ServiceFinder.findCached(TransportTubeFactory.class, (ClassLoader) null, null)) {
+            assertNotNull(f);
+            found++;
+        }
+        assertEquals(ServiceFinder.find(TransportTubeFactory.class, (ClassLoader) null, null).toArray().length, found);
+    }
+
+    public void testServiceFinderUsesContextClassLoader() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader old = thread.getContextClassLoader();
+        // sees none of the providers of the runtime
+        try (URLClassLoader empty = new URLClassLoader(new URL[0], null)) {
+            thread.setContextClassLoader(empty);
+            assertEquals(0, ServiceFinder.find(TransportTubeFactory.class, (ClassLoader) null, null).toArray().length);
+            assertEquals(0, ServiceFinder.findCached(TransportTubeFactory.class, (ClassLoader) null, null).toArray().length);
+        } finally {
+            thread.setContextClassLoader(old);
+        }
+    }
+}
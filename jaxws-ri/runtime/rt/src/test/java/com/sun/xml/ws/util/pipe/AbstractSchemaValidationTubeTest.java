@@ -10,13 +10,20 @@
 
 package com.sun.xml.ws.util.pipe;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
@@ -24,20 +31,36 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
 import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 
+import com.sun.xml.stream.buffer.XMLStreamBuffer;
 import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
 import com.sun.xml.ws.api.pipe.NextAction;
 import com.sun.xml.ws.api.pipe.Tube;
 import com.sun.xml.ws.api.pipe.TubeCloner;
 import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import com.sun.xml.ws.api.server.SDDocument;
+import com.sun.xml.ws.api.server.SDDocumentSource;
+import com.sun.xml.ws.developer.SchemaValidationFeature;
+import com.sun.xml.ws.server.SDDocumentImpl;
 
+import jakarta.xml.ws.WebServiceException;
 import junit.framework.TestCase;
 
 public class AbstractSchemaValidationTubeTest extends TestCase {
 
+	private static final String WSDL =
+			"<definitions xmlns='http://schemas.xmlsoap.org/wsdl/' targetNamespace='urn:test'>"
+			+ "<types><xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' targetNamespace='urn:test'>"
+			+ "<xs:element name='%s' type='xs:string'/>"
+			+ "</xs:schema></types></definitions>";
+
 	protected void setUp() throws Exception {
 		super.setUp();
 	}
@@ -72,7 +95,7 @@ public class AbstractSchemaValidationTubeTest extends TestCase {
 		
 		Class<AbstractSchemaValidationTube> clazz = AbstractSchemaValidationTube.class;
 		Object instance = new StractSchemaValidationTubeMock(binding, new TubeMock());
-		Method method = clazz.getDeclaredMethod("createSameTnsPseudoSchema", new Class[]{String.class,Collection.class,String.class});
+		Method method = clazz.getDeclaredMethod("createSameTnsPseudoSchema", new Class<?>[]{String.class,Collection.class,String.class});
 		method.setAccessible(true);  
 		
 		List<String> docs = new ArrayList<>();
@@ -150,4 +173,120 @@ public class AbstractSchemaValidationTubeTest extends TestCase {
 		}
 	}
 
+	public void testSchemaIsShared() throws Exception {
+		BindingID bindingId = BindingID.SOAP11_HTTP;
+		WSBinding binding = bindingId.createBinding();
+		Schema a = new SharingTube(binding).getSchema(wsdl("a"));
+		Schema b = new SharingTube(binding).getSchema(wsdl("a"));
+		Schema c = new SharingTube(binding).getSchema(wsdl("c"));
+		assertNotNull(a);
+		assertSame(a, b);
+		assertNotSame(a, c);
+
+		// copies of a tube validate against the same schema
+		SharingTube tube = new SharingTube(binding);
+		tube.getSchema(wsdl("a"));
+		assertSame(a, ((SharingTube) TubeCloner.clone(tube)).schema);
+	}
+
+	public void testValidateWhileReading() throws Exception {
+		SharingTube tube = new SharingTube(((BindingID) BindingID.SOAP11_HTTP).createBinding(new SchemaValidationFeature()));
+		tube.getSchema(wsdl("a"));
+
+		Packet packet = request("<t:a>France</t:a>");
+		assertTrue(tube.validateWhileReading(packet));
+		XMLStreamReader reader = packet.getMessage().readPayload();
+		assertEquals("France", reader.getElementText());
+		reader.close();
+		assertNull(tube.takeStreamingError());
+
+		packet = request("<t:b>France</t:b>");
+		assertTrue(tube.validateWhileReading(packet));
+		try {
+			packet.getMessage().readPayload().getElementText();
+			fail();
+		} catch (WebServiceException e) {
+			// expected
+		}
+		assertNotNull(tube.takeStreamingError());
+		assertNull(tube.takeStreamingError());
+	}
+
+	public void testValidateCopyWhenReadOtherwise() throws Exception {
+		SharingTube tube = new SharingTube(((BindingID) BindingID.SOAP11_HTTP).createBinding(new SchemaValidationFeature()));
+		tube.getSchema(wsdl("a"));
+
+		Packet packet = request("<t:b>France</t:b>");
+		assertTrue(tube.validateWhileReading(packet));
+		try {
+			packet.getMessage().readPayloadAsSource();
+			fail();
+		} catch (WebServiceException e) {
+			// expected
+		}
+		assertNotNull(tube.takeStreamingError());
+
+		// a valid message is still read in full
+		packet = request("<t:a>France</t:a>");
+		assertTrue(tube.validateWhileReading(packet));
+		assertEquals("France", packet.getMessage().copy().readPayload().getElementText());
+		assertEquals("France", packet.getMessage().readPayload().getElementText());
+		assertNull(tube.takeStreamingError());
+	}
+
+	private static Packet request(String payload) throws Exception {
+		String envelope = "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/' xmlns:t='urn:test'>"
+				+ "<S:Body>" + payload + "</S:Body></S:Envelope>";
+		Packet packet = new Packet();
+		Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11).decode(
+				new ByteArrayInputStream(envelope.getBytes(StandardCharsets.UTF_8)), "text/xml", packet);
+		return packet;
+	}
+
+	private static List<SDDocument> wsdl(String element) throws Exception {
+		byte[] data = String.format(WSDL, element).getBytes(StandardCharsets.UTF_8);
+		URL url = new URL("file:/test/" + AbstractSchemaValidationTubeTest.class.getName() + ".wsdl");
+		SDDocumentSource source = SDDocumentSource.create(url, XMLStreamBuffer.createNewBufferFromXMLStreamReader(
+				XMLInputFactory.newInstance().createXMLStreamReader(new ByteArrayInputStream(data))));
+		return Collections.singletonList(SDDocumentImpl.create(source, new QName(""), new QName("")));
+	}
+
+	static class SharingTube extends AbstractSchemaValidationTube {
+		Schema schema;
+
+		SharingTube(WSBinding binding) {
+			super(binding, null);
+		}
+
+		SharingTube(SharingTube that, TubeCloner cloner) {
+			super(that, cloner);
+			this.schema = that.schema;
+		}
+
+		Schema getSchema(List<SDDocument> docs) {
+			schema = getSchema(docs, new MetadataResolverImpl(docs));
+			return schema;
+		}
+
+		@Override
+		protected Validator getValidator() {
+			return schema != null ? schema.newValidator() : null;
+		}
+
+		@Override
+		protected ValidatorHandler getValidatorHandler() {
+			return schema != null ? schema.newValidatorHandler() : null;
+		}
+
+		@Override
+		protected boolean isNoValidation() {
+			return schema == null;
+		}
+
+		@Override
+		public SharingTube copy(TubeCloner cloner) {
+			return new SharingTube(this, cloner);
+		}
+	}
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.wsdl;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.model.WSDLOperationMapping;
+import com.sun.xml.ws.api.server.WSEndpoint;
+
+import java.io.StringReader;
+import jakarta.jws.WebService;
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+import junit.framework.TestCase;
+
+public class OperationDispatcherTest extends TestCase {
+
+    private static final String NS = "http://wsdl.ws.xml.sun.com/";
+
+    public void testDispatch() throws Exception {
+        WSEndpoint<Greeter> endpoint = WSEndpoint.create(Greeter.class, false, null, null, null, null,
+                ((BindingID) BindingID.SOAP11_HTTP).createBinding(), null, null, null, true);
+        try {
+            OperationDispatcher dispatcher = endpoint.getOperationDispatcher();
+            assertNotNull(dispatcher);
+
+            WSDLOperationMapping m = dispatcher.getWSDLOperationMapping(request("<greet xmlns='" + NS + "'/>"));
+            assertEquals(new QName(NS, "greet"), m.getOperationName());
+            assertEquals(1, dispatcher.getHitCount());
+
+            try {
+                dispatcher.getWSDLOperationMapping(request("<unknown xmlns='" + NS + "'/>"));
+                fail();
+            } catch (DispatchException e) {
+            }
+            assertEquals(1, dispatcher.getMissCount());
+        } finally {
+            endpoint.dispose();
+        }
+    }
+
+    private static Packet request(String payload) throws Exception {
+        return new Packet(Messages.createUsingPayload(
+                new StreamSource(new StringReader(payload)), SOAPVersion.SOAP_11));
+    }
+
+    @WebService
+    public static class Greeter {
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+}
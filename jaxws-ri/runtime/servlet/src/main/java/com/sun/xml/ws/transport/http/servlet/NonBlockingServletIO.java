@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http.servlet;
+
+import com.sun.xml.ws.transport.http.HttpAdapter;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet 3.1 non-blocking I/O support for {@link ServletAdapter}.
+ *
+ * <p>
+ * The request body is gathered with a {@link ReadListener} before the codec
+ * gets to see it, and the encoded response is drained with a {@link WriteListener}.
+ * Neither side ever blocks a container thread on the client's network speed;
+ * decoding and encoding work on fully buffered data.
+ *
+ * @see ServletAdapter#setNonBlockingIO(boolean)
+ */
+final class NonBlockingServletIO {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private NonBlockingServletIO() {}
+
+    /**
+     * Work to be done once the request body is available.
+     */
+    interface RequestTask {
+        void run() throws IOException;
+    }
+
+    /**
+     * Reads the whole request body of the connection without blocking and
+     * then runs the given task.
+     *
+     * @param con connection whose request is to be read
+     * @param task invoked on a container thread after all the data has been read
+     * @param failure invoked if the container reports a read error, after
+     *                a {@code 400} status has been set on the response
+     * @throws IOException if the request stream cannot be obtained
+     */
+    static void readRequest(final ServletConnectionImpl con, final RequestTask task,
+                            final HttpAdapter.CompletionCallback failure) throws IOException {
+        final ServletInputStream in = con.getRequest().getInputStream();
+        int length = con.getRequest().getContentLength();
+        final ByteArrayBuffer buf = length > 0 ? new ByteArrayBuffer(length) : new ByteArrayBuffer();
+        in.setReadListener(new ReadListener() {
+            private final byte[] chunk = new byte[CHUNK_SIZE];
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                int len;
+                while (in.isReady() && (len = in.read(chunk)) != -1) {
+                    buf.write(chunk, 0, len);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                con.setBufferedInput(buf.newInputStream());
+                task.run();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                LOGGER.log(Level.FINE, "Error reading request: " + con.getRequestURL(), t);
+                // tell the client its request was not taken, if it can still be told
+                HttpServletResponse response = con.getResponse();
+                if (!response.isCommitted()) {
+                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                }
+                con.close();
+                failure.onCompletion();
+            }
+        });
+    }
+
+    /**
+     * Writes the buffered response of the connection without blocking and
+     * then invokes the callback.
+     *
+     * @param con connection whose buffered response is to be written
+     * @param done invoked once all the data has been handed to the container,
+     *             or when writing failed
+     */
+    static void writeResponse(final ServletConnectionImpl con, final HttpAdapter.CompletionCallback done) {
+        final ByteArrayBuffer buf = con.getBufferedOutput();
+        if (buf == null || buf.size() == 0) {
+            done.onCompletion();
+            return;
+        }
+        final ServletOutputStream out;
+        try {
+            if (!con.getResponse().isCommitted()) {
+                con.getResponse().setContentLength(buf.size());
+            }
+            out = con.getResponse().getOutputStream();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Error writing response: " + con.getRequestURL(), e);
+            done.onCompletion();
+            return;
+        }
+        final byte[] data = buf.getRawData();
+        final int size = buf.size();
+        final AtomicBoolean finished = new AtomicBoolean();
+        out.setWriteListener(new WriteListener() {
+            private int pos;
+
+            @Override
+            public void onWritePossible() throws IOException {
+                while (out.isReady()) {
+                    if (pos == size) {
+                        finish();
+                        return;
+                    }
+                    int len = Math.min(CHUNK_SIZE, size - pos);
+                    out.write(data, pos, len);
+                    pos += len;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                LOGGER.log(Level.FINE, "Error writing response: " + con.getRequestURL(), t);
+                finish();
+            }
+
+            private void finish() {
+                if (finished.compareAndSet(false, true)) {
+                    done.onCompletion();
+                }
+            }
+        });
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(NonBlockingServletIO.class.getName());
+}
@@ -160,7 +160,7 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
     public void invokeAsync(ServletContext context, HttpServletRequest request, HttpServletResponse response, final CompletionCallback callback) throws IOException {
         boolean asyncStarted = false;
         try {
-            WSHTTPConnection connection = new ServletConnectionImpl(this, context, request, response);
+            final ServletConnectionImpl connection = new ServletConnectionImpl(this, context, request, response);
             if (handleGet(connection)) {
                 return;
             }
@@ -180,7 +180,7 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
                 final AsyncCompletionCheck completionCheck = new AsyncCompletionCheck();
                 new WSAsyncListener(connection, callback).addListenerTo(asyncContext,completionCheck);
                 //asyncContext.setTimeout(10000L);// TODO get it from @ or config file
-                super.invokeAsync(connection, new CompletionCallback() {
+                final CompletionCallback complete = new CompletionCallback() {
                     @Override
                     public void onCompletion() {
                         synchronized (completionCheck) {
@@ -190,7 +190,15 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
                             }
                         }
                     }
-                });
+                };
+                if (nonBlockingIO) {
+                    connection.bufferResponse();
+                    NonBlockingServletIO.readRequest(connection, () ->
+                        super.invokeAsync(connection, () -> NonBlockingServletIO.writeResponse(connection, complete)),
+                        complete);
+                } else {
+                    super.invokeAsync(connection, complete);
+                }
                 asyncStarted = true;
             } else {
                 super.handle(connection);
@@ -202,6 +210,35 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
         }
     }
 
+    /**
+     * Enables or disables non-blocking I/O for asynchronously processed requests.
+     *
+     * <p>
+     * When enabled, {@link #invokeAsync(ServletContext, HttpServletRequest, HttpServletResponse, CompletionCallback)}
+     * gathers the request with a {@link jakarta.servlet.ReadListener} before decoding it and writes
+     * the encoded response with a {@link jakarta.servlet.WriteListener}, so that slow clients
+     * don't hold container threads. Both messages are buffered in memory.
+     *
+     * <p>
+     * The default value comes from the
+     * {@code com.sun.xml.ws.transport.http.servlet.ServletAdapter.nonBlockingIO} system property,
+     * and can also be set by the {@link WSServlet#JAXWS_RI_PROPERTY_NON_BLOCKING_IO}
+     * context parameter.
+     *
+     * @param enabled true to use non-blocking I/O
+     */
+    public static void setNonBlockingIO(boolean enabled) {
+        nonBlockingIO = enabled;
+    }
+
+    /**
+     * @return true if asynchronously processed requests use non-blocking I/O
+     * @see #setNonBlockingIO(boolean)
+     */
+    public static boolean isNonBlockingIO() {
+        return nonBlockingIO;
+    }
+
     /**
      * Synchronizes the CompletionHandler action and Container's timeout action.
      */
@@ -239,4 +276,6 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
 
     private boolean isServlet30Based = ServletUtil.isServlet30Based();
 
+    private static volatile boolean nonBlockingIO = Boolean.getBoolean(ServletAdapter.class.getName() + ".nonBlockingIO");
+
 }
@@ -20,6 +20,7 @@ import com.sun.xml.ws.resources.WsservletMessages;
 import com.sun.xml.ws.transport.Headers;
 import com.sun.xml.ws.transport.http.WSHTTPConnection;
 import com.sun.xml.ws.developer.JAXWSProperties;
+import com.sun.xml.ws.util.ByteArrayBuffer;
 import com.sun.xml.ws.util.ReadAllStream;
 
 import jakarta.servlet.ServletContext;
@@ -59,6 +60,8 @@ public class ServletConnectionImpl extends WSHTTPConnection implements WebServic
     private HaInfo haInfo;
     private ServerInputStream in;
     private OutputStream out;
+    private boolean bufferResponse;
+    private ByteArrayBuffer bufferedOutput;
 
     public ServletConnectionImpl(@NotNull ServletAdapter adapter, ServletContext context, HttpServletRequest request, HttpServletResponse response) {
         this.adapter = adapter;
@@ -169,6 +172,30 @@ public class ServletConnectionImpl extends WSHTTPConnection implements WebServic
         return in;
     }
 
+    /**
+     * Uses an already fully read request body instead of the servlet input stream.
+     */
+    void setBufferedInput(InputStream buffered) {
+        in = new ServerInputStream(buffered);
+        in.readAll = true;
+    }
+
+    /**
+     * Makes {@link #getOutput()} collect the response in memory so that
+     * it can be written out later without blocking.
+     */
+    void bufferResponse() {
+        bufferResponse = true;
+    }
+
+    /**
+     * @return the response collected since {@link #bufferResponse()},
+     *         or null if nothing has been written
+     */
+    ByteArrayBuffer getBufferedOutput() {
+        return bufferedOutput;
+    }
+
     @Override
     public @NotNull OutputStream getOutput() throws IOException {
         response.setStatus(status);
@@ -187,7 +214,13 @@ public class ServletConnectionImpl extends WSHTTPConnection implements WebServic
             }
         }
         if (out == null) {
-            out = new FilterOutputStream(response.getOutputStream()) {
+            OutputStream target;
+            if (bufferResponse) {
+                target = bufferedOutput = new ByteArrayBuffer();
+            } else {
+                target = response.getOutputStream();
+            }
+            out = new FilterOutputStream(target) {
                 boolean closed;
 
                 @Override
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.xml.ws.transport.http.servlet;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+public class NonBlockingServletIOTest extends TestCase {
+
+    private final MockInputStream in = new MockInputStream();
+    private final MockOutputStream out = new MockOutputStream();
+    private final AtomicInteger completions = new AtomicInteger();
+    private ServletConnectionImpl con;
+    private int status;
+    private int contentLength = -1;
+    private boolean committed;
+
+    @Override
+    protected void setUp() {
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInputStream": return in;
+                        case "getContentLength": return -1;
+                        case "getRequestURL": return new StringBuffer("http://localhost/test");
+                        default: throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {HttpServletResponse.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getOutputStream": return out;
+                        case "isCommitted": return committed;
+                        case "setStatus": status = (Integer) args[0]; return null;
+                        case "setContentLength": contentLength = (Integer) args[0]; return null;
+                        default: throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        con = new ServletConnectionImpl(null, null, request, response);
+    }
+
+    public void testReadRequest() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        NonBlockingServletIO.readRequest(con, runs::incrementAndGet, completions::incrementAndGet);
+
+        in.offer("<S:Envelope>");
+        in.listener.onDataAvailable();
+        // nothing more to read for now
+        assertEquals(0, runs.get());
+        in.offer("</S:Envelope>");
+        in.listener.onDataAvailable();
+        in.listener.onAllDataRead();
+
+        assertEquals(1, runs.get());
+        assertEquals(0, completions.get());
+        assertEquals("<S:Envelope></S:Envelope>", read(con.getInput()));
+    }
+
+    public void testReadErrorSetsStatus() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        NonBlockingServletIO.readRequest(con, runs::incrementAndGet, completions::incrementAndGet);
+
+        in.offer("<S:Env");
+        in.listener.onDataAvailable();
+        in.listener.onError(new IOException("Connection reset"));
+
+        assertEquals(0, runs.get());
+        assertEquals(1, completions.get());
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, status);
+        assertTrue(con.isClosed());
+    }
+
+    public void testReadErrorAfterCommit() throws Exception {
+        committed = true;
+        NonBlockingServletIO.readRequest(con, () -> fail(), completions::incrementAndGet);
+
+        in.listener.onError(new IOException("Connection reset"));
+
+        assertEquals(1, completions.get());
+        assertEquals(0, status);
+    }
+
+    public void testWriteResponse() throws Exception {
+        byte[] body = new byte[20000];
+        Arrays.fill(body, (byte) 'x');
+        con.bufferResponse();
+        con.setStatus(HttpServletResponse.SC_OK);
+        try (OutputStream os = con.getOutput()) {
+            os.write(body);
+        }
+
+        // the container takes one chunk at a time
+        out.capacity = 8192;
+        NonBlockingServletIO.writeResponse(con, completions::incrementAndGet);
+        out.listener.onWritePossible();
+        assertEquals(0, completions.get());
+        while (out.data.size() < body.length) {
+            out.capacity = 8192;
+            out.listener.onWritePossible();
+        }
+        out.capacity = 8192;
+        out.listener.onWritePossible();
+
+        assertEquals(1, completions.get());
+        assertEquals(body.length, contentLength);
+        assertTrue(Arrays.equals(body, out.data.toByteArray()));
+    }
+
+    public void testWriteError() throws Exception {
+        con.bufferResponse();
+        try (OutputStream os = con.getOutput()) {
+            os.write("<S:Envelope/>".getBytes(StandardCharsets.UTF_8));
+        }
+
+        NonBlockingServletIO.writeResponse(con, completions::incrementAndGet);
+        out.listener.onError(new IOException("Broken pipe"));
+        out.listener.onError(new IOException("Broken pipe"));
+
+        assertEquals(1, completions.get());
+    }
+
+    public void testNothingToWrite() {
+        NonBlockingServletIO.writeResponse(con, completions::incrementAndGet);
+
+        assertEquals(1, completions.get());
+        assertNull(out.listener);
+    }
+
+    private static String read(InputStream is) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buf = new byte[256];
+        int len;
+        while ((len = is.read(buf)) != -1) {
+            baos.write(buf, 0, len);
+        }
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the offered data, and is not ready once it has all been read.
+     */
+    private static final class MockInputStream extends ServletInputStream {
+        private final Deque<Byte> data = new ArrayDeque<>();
+        ReadListener listener;
+
+        void offer(String s) {
+            for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+                data.add(b);
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return false;
+        }
+
+        @Override
+        public boolean isReady() {
+            return !data.isEmpty();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            this.listener = readListener;
+        }
+
+        @Override
+        public int read() {
+            if (data.isEmpty()) {
+                throw new IllegalStateException("read while not ready");
+            }
+            return data.poll() & 0xff;
+        }
+
+        // only what is available, as the container does
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int n = Math.min(len, data.size());
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) read();
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Takes as many bytes as its capacity, and is not ready once it is full.
+     */
+    private static final class MockOutputStream extends ServletOutputStream {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        int capacity;
+        WriteListener listener;
+
+        @Override
+        public boolean isReady() {
+            return capacity > 0;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.listener = writeListener;
+        }
+
+        @Override
+        public void write(int b) {
+            if (capacity <= 0) {
+                throw new IllegalStateException("write while not ready");
+            }
+            capacity--;
+            data.write(b);
+        }
+    }
+}